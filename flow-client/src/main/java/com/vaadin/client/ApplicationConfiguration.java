@@ -37,6 +37,8 @@ public class ApplicationConfiguration {
 
     private boolean productionMode;
     private boolean requestTiming;
+    private boolean pipelinedRpc;
+    private boolean frameBatchedDomUpdates;
     private boolean webComponentMode;
     private boolean clientRouting;
 
@@ -340,6 +342,52 @@ public class ApplicationConfiguration {
         this.requestTiming = requestTiming;
     }
 
+    /**
+     * Checks whether messages may be sent to the server while the responses
+     * to previous messages have not yet arrived.
+     *
+     * @return {@code true} if messages to the server are pipelined,
+     *         {@code false} if each message waits for the previous response
+     */
+    public boolean isPipelinedRpc() {
+        return pipelinedRpc;
+    }
+
+    /**
+     * Sets whether messages may be sent to the server while the responses to
+     * previous messages have not yet arrived.
+     *
+     * @param pipelinedRpc
+     *            {@code true} to pipeline messages to the server, {@code false}
+     *            to wait for the response to each message
+     */
+    public void setPipelinedRpc(boolean pipelinedRpc) {
+        this.pipelinedRpc = pipelinedRpc;
+    }
+
+    /**
+     * Checks whether DOM updates from the server are applied in chunks
+     * aligned with animation frames.
+     *
+     * @return {@code true} if DOM updates are batched per animation frame,
+     *         {@code false} if they are applied immediately
+     */
+    public boolean isFrameBatchedDomUpdates() {
+        return frameBatchedDomUpdates;
+    }
+
+    /**
+     * Sets whether DOM updates from the server are applied in chunks aligned
+     * with animation frames.
+     *
+     * @param frameBatchedDomUpdates
+     *            {@code true} to batch DOM updates per animation frame,
+     *            {@code false} to apply them immediately
+     */
+    public void setFrameBatchedDomUpdates(boolean frameBatchedDomUpdates) {
+        this.frameBatchedDomUpdates = frameBatchedDomUpdates;
+    }
+
     /**
      * Sets the exported web components.
      *
@@ -49,6 +49,15 @@ public class Profiler {
 
     private static ProfilerResultConsumer consumer;
 
+    /**
+     * The duration in milliseconds after which a task is considered to block
+     * the main thread noticeably, the same threshold as used by the browser
+     * Long Tasks API.
+     */
+    public static final int LONG_TASK_THRESHOLD = 50;
+
+    private static int longTaskCount;
+
     /**
      * Enables the profiling via deferred binding.
      *
@@ -387,6 +396,43 @@ public class Profiler {
         return relativeTimeSupplier.getRelativeTime();
     }
 
+    /**
+     * Records the duration of a task run on the main thread, counting it as a
+     * long task if it took longer than {@value #LONG_TASK_THRESHOLD} ms. Long
+     * tasks are counted even if profiling is not enabled, but only logged if
+     * it is.
+     *
+     * @param name
+     *            the name of the task
+     * @param duration
+     *            the duration of the task in milliseconds
+     */
+    public static void recordTaskDuration(String name, double duration) {
+        if (duration > LONG_TASK_THRESHOLD) {
+            longTaskCount++;
+            if (isEnabled()) {
+                Console.log("Long task " + name + ": " + duration + " ms");
+            }
+        }
+    }
+
+    /**
+     * Gets the number of long tasks recorded using
+     * {@link #recordTaskDuration(String, double)}.
+     *
+     * @return the number of long tasks
+     */
+    public static int getLongTaskCount() {
+        return longTaskCount;
+    }
+
+    /**
+     * Resets the number of recorded long tasks.
+     */
+    public static void resetLongTaskCount() {
+        longTaskCount = 0;
+    }
+
     private static final native void logGwtEvent(String name, String type)
     /*-{
         $wnd.__gwtStatsEvent({
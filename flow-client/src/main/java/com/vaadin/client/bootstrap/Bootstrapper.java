@@ -163,6 +163,10 @@ public class Bootstrapper implements EntryPoint {
         conf.setProductionMode(!jsoConfiguration.getConfigBoolean("debug"));
         conf.setRequestTiming(
                 jsoConfiguration.getConfigBoolean("requestTiming"));
+        conf.setPipelinedRpc(
+                jsoConfiguration.getConfigBoolean("pipelinedRpc"));
+        conf.setFrameBatchedDomUpdates(
+                jsoConfiguration.getConfigBoolean("frameBatchedDomUpdates"));
         conf.setExportedWebComponents(
                 jsoConfiguration.getConfigStringArray("webcomponents"));
 
@@ -37,6 +37,7 @@ import com.vaadin.client.flow.collection.JsCollections;
 import com.vaadin.client.flow.collection.JsMap;
 import com.vaadin.client.flow.collection.JsSet;
 import com.vaadin.client.flow.dom.DomApi;
+import com.vaadin.client.flow.reactive.DomUpdateScheduler;
 import com.vaadin.client.flow.reactive.Reactive;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
@@ -399,6 +400,10 @@ public class MessageHandler {
         try {
             double processUidlStart = Duration.currentTimeMillis();
 
+            // Changes from this message must not be applied to the DOM before
+            // the ones from the previous message
+            DomUpdateScheduler.flush();
+
             JsonObject json = valueMap.cast();
 
             if (json.hasKey("constants")) {
@@ -407,7 +412,8 @@ public class MessageHandler {
                 constantPool.importFromJson(constants);
             }
 
-            if (json.hasKey("changes")) {
+            if (json.hasKey("changes")
+                    || json.hasKey(JsonConstants.UIDL_KEY_COMPACT_CHANGES)) {
                 processChanges(json);
             }
 
@@ -415,12 +421,16 @@ public class MessageHandler {
                 // Invoke JS only after all tree changes have been
                 // propagated and after post flush listeners added during
                 // message processing (so add one more post flush listener which
-                // is called after all added post listeners).
-                Reactive.addPostFlushListener(
-                        () -> Reactive.addPostFlushListener(() -> registry
-                                .getExecuteJavaScriptProcessor()
-                                .execute(json.getArray(
-                                        JsonConstants.UIDL_KEY_EXECUTE))));
+                // is called after all added post listeners). If DOM updates are
+                // batched, wait also until they have been applied and flush
+                // any reactive changes made by the JS afterwards.
+                Reactive.addPostFlushListener(() -> Reactive
+                        .addPostFlushListener(() -> runAfterDomUpdates(() -> {
+                            registry.getExecuteJavaScriptProcessor()
+                                    .execute(json.getArray(
+                                            JsonConstants.UIDL_KEY_EXECUTE));
+                            Reactive.flush();
+                        })));
             }
 
             Console.log("handleUIDLMessage: "
@@ -429,6 +439,9 @@ public class MessageHandler {
 
             Reactive.flush();
 
+            Profiler.recordTaskDuration("Handling UIDL message",
+                    Duration.currentTimeMillis() - processUidlStart);
+
             ValueMap meta = valueMap.getValueMap("meta");
 
             if (meta != null) {
@@ -496,8 +509,14 @@ public class MessageHandler {
 
     private void processChanges(JsonObject json) {
         StateTree tree = registry.getStateTree();
-        JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
-                json.getArray("changes"));
+        JsSet<StateNode> updatedNodes;
+        if (json.hasKey(JsonConstants.UIDL_KEY_COMPACT_CHANGES)) {
+            updatedNodes = TreeChangeProcessor.processCompactChanges(tree,
+                    json.getArray(JsonConstants.UIDL_KEY_COMPACT_CHANGES));
+        } else {
+            updatedNodes = TreeChangeProcessor.processChanges(tree,
+                    json.getArray("changes"));
+        }
 
         if (!registry.getApplicationConfiguration().isProductionMode()) {
             try {
@@ -510,8 +529,23 @@ public class MessageHandler {
             }
         }
 
-        Reactive.addPostFlushListener(() -> Scheduler.get().scheduleDeferred(
-                () -> updatedNodes.forEach(this::afterServerUpdates)));
+        Reactive.addPostFlushListener(
+                () -> runAfterDomUpdates(() -> Scheduler.get().scheduleDeferred(
+                        () -> updatedNodes.forEach(this::afterServerUpdates))));
+    }
+
+    /**
+     * Runs the command once the DOM updates scheduled so far have been
+     * applied, or right away if DOM updates are not batched for this
+     * application.
+     */
+    private void runAfterDomUpdates(Command command) {
+        if (registry.getApplicationConfiguration()
+                .isFrameBatchedDomUpdates()) {
+            DomUpdateScheduler.schedule(command);
+        } else {
+            command.execute();
+        }
     }
 
     private void afterServerUpdates(StateNode node) {
@@ -603,9 +637,9 @@ public class MessageHandler {
             // since endRequest may already send out a next request
             registry.getMessageSender().requestResynchronize();
 
-            // Clear previous request if it exists.
+            // Clear previous requests if they exist.
             if (registry.getRequestResponseTracker().hasActiveRequest()) {
-                registry.getRequestResponseTracker().endRequest();
+                registry.getRequestResponseTracker().endAllRequests();
             }
 
             // Call resynchronize to make sure a resynchronize request is sent
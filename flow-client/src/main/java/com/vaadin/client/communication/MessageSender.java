@@ -19,6 +19,7 @@ import com.google.gwt.core.client.GWT;
 import com.vaadin.client.Console;
 import com.vaadin.client.ConnectionIndicator;
 import com.vaadin.client.Registry;
+import com.vaadin.client.flow.reactive.DomUpdateScheduler;
 import com.vaadin.flow.shared.ApplicationConstants;
 
 import elemental.json.Json;
@@ -65,10 +66,12 @@ public class MessageSender {
 
     /**
      * Sends any pending invocations to the server if there is no request in
-     * progress and the application is running.
+     * progress and the application is running. When messages are pipelined,
+     * the invocations are sent also while there are requests in progress, as
+     * long as the number of active requests is below the limit.
      * <p>
-     * If a request is in progress, this method does nothing and assumes that it
-     * is called again when the request completes.
+     * If a request cannot be started, this method does nothing and assumes
+     * that it is called again when a request completes.
      */
     public void sendInvocationsToServer() {
         if (!registry.getUILifecycle().isRunning()) {
@@ -77,10 +80,16 @@ public class MessageSender {
             return;
         }
 
-        if (registry.getRequestResponseTracker().hasActiveRequest()
-                || (push != null && !push.isActive())) {
-            // There is an active request or push is enabled but not active
-            // -> send when current request completes or push becomes active
+        RequestResponseTracker tracker = registry.getRequestResponseTracker();
+        if (!tracker.canStartRequest() || (push != null && !push.isActive())) {
+            // There are too many active requests or push is enabled but not
+            // active -> send when a request completes or push becomes active
+        } else if (tracker.hasActiveRequest()
+                && resynchronizationState != ResynchronizationState.NOT_ACTIVE) {
+            // A resynchronization must be the only request in flight, since
+            // the responses to earlier requests are ignored until the
+            // resynchronization response arrives -> send when the pipelined
+            // requests have completed
         } else {
             doSendInvocationsToServer();
         }
@@ -92,6 +101,9 @@ public class MessageSender {
      *
      */
     private void doSendInvocationsToServer() {
+        // The invocations must be based on a DOM which has all the changes
+        // from the server applied. Pending updates may also add invocations.
+        DomUpdateScheduler.flush();
 
         ServerRpcQueue serverRpcQueue = registry.getServerRpcQueue();
         if (serverRpcQueue.isEmpty()
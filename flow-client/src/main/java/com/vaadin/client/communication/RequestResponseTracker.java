@@ -29,7 +29,9 @@ import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
  * Tracks active server UIDL requests.
  * <p>
  * Ensures that there is only one outgoing server request active at a given
- * time.
+ * time, unless messages are pipelined (see
+ * {@link com.vaadin.client.ApplicationConfiguration#isPipelinedRpc()}), in
+ * which case up to {@value #MAX_PIPELINED_REQUESTS} requests can be active.
  * <p>
  * Fires events when a requests starts, response handling starts and when
  * response handling ends.
@@ -39,7 +41,13 @@ import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
  */
 public class RequestResponseTracker {
 
-    private boolean hasActiveRequest = false;
+    /**
+     * The maximum number of requests which can be active at the same time when
+     * messages are pipelined.
+     */
+    public static final int MAX_PIPELINED_REQUESTS = 8;
+
+    private int activeRequests = 0;
     private final Registry registry;
     private EventBus eventBus = new SimpleEventBus();
 
@@ -56,20 +64,38 @@ public class RequestResponseTracker {
     /**
      * Marks that a new request has started.
      * <p>
-     * Should not be called when a request is in progress, i.e.
-     * {@link #startRequest()} has been called but not {@link #endRequest()}.
+     * Should not be called unless {@link #canStartRequest()} returns
+     * <code>true</code>.
      * <p>
      * Fires a {@link RequestStartingEvent}.
      */
     public void startRequest() {
-        if (hasActiveRequest) {
+        if (!canStartRequest()) {
             throw new IllegalStateException(
                     "Trying to start a new request while another is active");
         }
-        hasActiveRequest = true;
+        activeRequests++;
         fireEvent(new RequestStartingEvent());
     }
 
+    /**
+     * Checks whether a new request can be started. Without pipelining this is
+     * the case only when there is no active request.
+     *
+     * @return true if a new request can be started, false otherwise
+     */
+    public boolean canStartRequest() {
+        if (activeRequests == 0) {
+            return true;
+        }
+        return isPipelined() && activeRequests < MAX_PIPELINED_REQUESTS;
+    }
+
+    private boolean isPipelined() {
+        return registry.getApplicationConfiguration() != null
+                && registry.getApplicationConfiguration().isPipelinedRpc();
+    }
+
     /**
      * Fires the given event using the event bus for this class.
      *
@@ -86,11 +112,12 @@ public class RequestResponseTracker {
      * @return true if there is an active request, false otherwise
      */
     public boolean hasActiveRequest() {
-        return hasActiveRequest;
+        return activeRequests > 0;
     }
 
     /**
-     * Marks that the current request has ended.
+     * Marks that the current request has ended. With pipelining, marks that
+     * the oldest active request has ended.
      * <p>
      * Should not be called unless a request is in progress, i.e.
      * {@link #startRequest()} has been called but not {@link #endRequest()}.
@@ -100,15 +127,36 @@ public class RequestResponseTracker {
      * Fires a {@link ResponseHandlingEndedEvent}.
      */
     public void endRequest() {
-        if (!hasActiveRequest) {
+        if (!hasActiveRequest()) {
             throw new IllegalStateException(
                     "endRequest called when no request is active");
         }
         // After sendInvocationsToServer() there may be a new active
-        // request, so we must set hasActiveRequest to false before, not after,
-        // the call.
-        hasActiveRequest = false;
+        // request, so we must update the count before, not after, the call.
+        activeRequests--;
+        requestEnded();
+    }
+
+    /**
+     * Marks that all active requests have ended, e.g. because their responses
+     * will not be handled.
+     * <p>
+     * Should not be called unless a request is in progress.
+     * <p>
+     * Will trigger sending of any pending invocations to the server.
+     * <p>
+     * Fires a {@link ResponseHandlingEndedEvent}.
+     */
+    public void endAllRequests() {
+        if (!hasActiveRequest()) {
+            throw new IllegalStateException(
+                    "endAllRequests called when no request is active");
+        }
+        activeRequests = 0;
+        requestEnded();
+    }
 
+    private void requestEnded() {
         if ((registry.getUILifecycle().isRunning()
                 && registry.getServerRpcQueue().isFlushPending())
                 || registry.getMessageSender()
@@ -27,6 +27,7 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -73,6 +74,132 @@ public class TreeChangeProcessor {
         }
     }
 
+    /**
+     * Update a state tree based on a JSON array of changes in the compact
+     * format, where each change is a positional array instead of an object.
+     * Changes which have no compact representation are included as JSON
+     * objects in the same format as for {@link #processChanges(StateTree,
+     * JsonArray)}.
+     *
+     * @param tree
+     *            the tree to update
+     * @param changes
+     *            the JSON array of compact changes
+     * @return a set of updated nodes addressed by the {@code changes}
+     */
+    public static JsSet<StateNode> processCompactChanges(StateTree tree,
+            JsonArray changes) {
+        assert !tree.isUpdateInProgress()
+                : "Previous tree change processing has not completed";
+        try {
+            tree.setUpdateInProgress(true);
+
+            // Attach all nodes before doing anything else
+            JsSet<StateNode> nodes = JsCollections.set();
+            int length = changes.length();
+            for (int i = 0; i < length; i++) {
+                JsonValue change = changes.get(i);
+                if (isCompact(change)) {
+                    JsonArray compactChange = (JsonArray) change;
+                    if (isCompactAttach(compactChange)) {
+                        attachNode(tree, (int) compactChange.getNumber(1),
+                                nodes);
+                    }
+                } else if (isAttach((JsonObject) change)) {
+                    attachNode(tree, (int) ((JsonObject) change)
+                            .getNumber(JsonConstants.CHANGE_NODE), nodes);
+                }
+            }
+
+            // Then process all non-attach changes
+            for (int i = 0; i < length; i++) {
+                JsonValue change = changes.get(i);
+                if (isCompact(change)) {
+                    JsonArray compactChange = (JsonArray) change;
+                    if (!isCompactAttach(compactChange)) {
+                        nodes.add(processCompactChange(tree, compactChange));
+                    }
+                } else if (!isAttach((JsonObject) change)) {
+                    nodes.add(processChange(tree, (JsonObject) change));
+                }
+            }
+            return nodes;
+        } finally {
+            tree.setUpdateInProgress(false);
+        }
+    }
+
+    private static boolean isCompact(JsonValue change) {
+        return change.getType() == JsonType.ARRAY;
+    }
+
+    private static boolean isCompactAttach(JsonArray change) {
+        return (int) change
+                .getNumber(0) == JsonConstants.COMPACT_CHANGE_TYPE_ATTACH;
+    }
+
+    /**
+     * Update a state tree based on a change in the compact format. This method
+     * is public for testing purposes.
+     *
+     * @param tree
+     *            the tree to update
+     * @param change
+     *            the compact change array
+     * @return the updated node addressed by the provided {@code change}
+     */
+    public static StateNode processCompactChange(StateTree tree,
+            JsonArray change) {
+        int type = (int) change.getNumber(0);
+        int nodeId = (int) change.getNumber(1);
+
+        StateNode node = tree.getNode(nodeId);
+        assert node != null;
+
+        switch (type) {
+        case JsonConstants.COMPACT_CHANGE_TYPE_NOOP:
+            populateFeature(node, (int) change.getNumber(2),
+                    change.getBoolean(3));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE:
+            splice(node, (int) change.getNumber(2), (int) change.getNumber(3),
+                    (int) change.getNumber(4),
+                    change.length() > 5 ? change.getArray(5) : null, null);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES:
+            splice(node, (int) change.getNumber(2), (int) change.getNumber(3),
+                    (int) change.getNumber(4), null,
+                    change.length() > 5 ? change.getArray(5) : null);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_MOVE:
+            move(node, (int) change.getNumber(2), (int) change.getNumber(3),
+                    (int) change.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_PUT:
+            putValue(node.getMap((int) change.getNumber(2))
+                    .getProperty(change.getString(3)), change.get(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE:
+            putNode(node, node.getMap((int) change.getNumber(2))
+                    .getProperty(change.getString(3)),
+                    (int) change.getNumber(4));
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_REMOVE:
+            node.getMap((int) change.getNumber(2))
+                    .getProperty(change.getString(3)).removeValue();
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_DETACH:
+            processDetachChange(node);
+            break;
+        case JsonConstants.COMPACT_CHANGE_TYPE_CLEAR:
+            node.getList((int) change.getNumber(2)).clear();
+            break;
+        default:
+            assert false : "Unsupported compact change type: " + type;
+        }
+        return node;
+    }
+
     private static JsSet<StateNode> processAttachChanges(StateTree tree,
             JsonArray changes) {
         JsSet<StateNode> nodes = JsCollections.set();
@@ -80,18 +207,23 @@ public class TreeChangeProcessor {
         for (int i = 0; i < length; i++) {
             JsonObject change = changes.getObject(i);
             if (isAttach(change)) {
-                int nodeId = (int) change.getNumber(JsonConstants.CHANGE_NODE);
-
-                if (nodeId != tree.getRootNode().getId()) {
-                    StateNode node = new StateNode(nodeId, tree);
-                    tree.registerNode(node);
-                    nodes.add(node);
-                }
+                attachNode(tree,
+                        (int) change.getNumber(JsonConstants.CHANGE_NODE),
+                        nodes);
             }
         }
         return nodes;
     }
 
+    private static void attachNode(StateTree tree, int nodeId,
+            JsSet<StateNode> nodes) {
+        if (nodeId != tree.getRootNode().getId()) {
+            StateNode node = new StateNode(nodeId, tree);
+            tree.registerNode(node);
+            nodes.add(node);
+        }
+    }
+
     private static boolean isAttach(JsonObject change) {
         return JsonConstants.CHANGE_TYPE_ATTACH
                 .equals(change.getString(JsonConstants.CHANGE_TYPE));
@@ -121,6 +253,9 @@ public class TreeChangeProcessor {
         case JsonConstants.CHANGE_TYPE_SPLICE:
             processSpliceChange(change, node);
             break;
+        case JsonConstants.CHANGE_TYPE_MOVE:
+            processMoveChange(change, node);
+            break;
         case JsonConstants.CHANGE_TYPE_PUT:
             processPutChange(change, node);
             break;
@@ -147,9 +282,14 @@ public class TreeChangeProcessor {
     private static void populateFeature(JsonObject change, StateNode node) {
         assert change.hasKey(JsonConstants.CHANGE_FEATURE_TYPE)
                 : "Change doesn't contain feature type. Don't know how to populate feature";
-        int featureId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
-        if (change.getBoolean(JsonConstants.CHANGE_FEATURE_TYPE)) {
-            // list feature
+        populateFeature(node,
+                (int) change.getNumber(JsonConstants.CHANGE_FEATURE),
+                change.getBoolean(JsonConstants.CHANGE_FEATURE_TYPE));
+    }
+
+    private static void populateFeature(StateNode node, int featureId,
+            boolean list) {
+        if (list) {
             node.getList(featureId);
         } else {
             node.getMap(featureId);
@@ -160,17 +300,10 @@ public class TreeChangeProcessor {
         MapProperty property = findProperty(change, node);
 
         if (change.hasKey(JsonConstants.CHANGE_PUT_VALUE)) {
-            JsonValue jsonValue = change.get(JsonConstants.CHANGE_PUT_VALUE);
-            Object value = ClientJsonCodec.decodeWithoutTypeInfo(jsonValue);
-            property.setValue(value);
+            putValue(property, change.get(JsonConstants.CHANGE_PUT_VALUE));
         } else if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
-            int childId = (int) change
-                    .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE);
-            StateNode child = node.getTree().getNode(childId);
-            assert child != null;
-            child.setParent(node);
-
-            property.setValue(child);
+            putNode(node, property, (int) change
+                    .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE));
         } else {
             assert false
                     : "Change should have either value or nodeValue property: "
@@ -178,6 +311,20 @@ public class TreeChangeProcessor {
         }
     }
 
+    private static void putValue(MapProperty property, JsonValue jsonValue) {
+        Object value = ClientJsonCodec.decodeWithoutTypeInfo(jsonValue);
+        property.setValue(value);
+    }
+
+    private static void putNode(StateNode node, MapProperty property,
+            int childId) {
+        StateNode child = node.getTree().getNode(childId);
+        assert child != null;
+        child.setParent(node);
+
+        property.setValue(child);
+    }
+
     private static void processRemoveChange(JsonObject change, StateNode node) {
         MapProperty property = findProperty(change, node);
 
@@ -195,8 +342,6 @@ public class TreeChangeProcessor {
     private static void processSpliceChange(JsonObject change, StateNode node) {
         int nsId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
 
-        NodeList list = node.getList(nsId);
-
         int index = (int) change.getNumber(JsonConstants.CHANGE_SPLICE_INDEX);
         int remove;
         if (change.hasKey(JsonConstants.CHANGE_SPLICE_REMOVE)) {
@@ -205,16 +350,27 @@ public class TreeChangeProcessor {
             remove = 0;
         }
 
+        JsonArray addJson = null;
         if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD)) {
-            JsonArray addJson = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD);
+            addJson = change.getArray(JsonConstants.CHANGE_SPLICE_ADD);
+        }
+        JsonArray addNodes = null;
+        if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+            addNodes = change.getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
+        }
+
+        splice(node, nsId, index, remove, addJson, addNodes);
+    }
 
+    private static void splice(StateNode node, int nsId, int index,
+            int remove, JsonArray addJson, JsonArray addNodes) {
+        NodeList list = node.getList(nsId);
+
+        if (addJson != null) {
             JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
 
             list.splice(index, remove, add);
-        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
-            JsonArray addNodes = change
-                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
+        } else if (addNodes != null) {
             int length = addNodes.length();
 
             JsArray<StateNode> add = JsCollections.array();
@@ -235,6 +391,22 @@ public class TreeChangeProcessor {
         }
     }
 
+    private static void processMoveChange(JsonObject change, StateNode node) {
+        int nsId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
+        int from = (int) change.getNumber(JsonConstants.CHANGE_MOVE_FROM);
+        int index = (int) change.getNumber(JsonConstants.CHANGE_SPLICE_INDEX);
+
+        move(node, nsId, from, index);
+    }
+
+    private static void move(StateNode node, int nsId, int from, int index) {
+        NodeList list = node.getList(nsId);
+
+        Object item = list.get(from);
+        list.splice(from, 1);
+        list.splice(index, 0, JsCollections.array(item));
+    }
+
     private static void processClearChange(JsonObject change, StateNode node) {
         int nsId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
         NodeList list = node.getList(nsId);
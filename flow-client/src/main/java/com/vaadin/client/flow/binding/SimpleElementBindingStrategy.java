@@ -50,6 +50,7 @@ import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.client.flow.nodefeature.NodeMap;
 import com.vaadin.client.flow.reactive.Computation;
+import com.vaadin.client.flow.reactive.DomUpdateScheduler;
 import com.vaadin.client.flow.reactive.Reactive;
 import com.vaadin.client.flow.util.NativeFunction;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
@@ -225,17 +226,21 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
 
             // Styling might be looked at by observers, but will typically not
             // trigger any observers synchronously
-            listeners.push(bindClassList(htmlNode, stateNode));
+            boolean batched = isFrameBatched(stateNode);
+            listeners.push(bindClassList(htmlNode, stateNode, batched));
             listeners.push(bindMap(NodeFeatures.ELEMENT_STYLE_PROPERTIES,
-                    property -> updateStyleProperty(property, htmlNode),
+                    scheduled(property -> updateStyleProperty(property,
+                            htmlNode), batched, true),
                     createComputations(computationsCollection), stateNode));
 
             // The things that might actually be observed
             listeners.push(bindMap(NodeFeatures.ELEMENT_ATTRIBUTES,
-                    property -> updateAttribute(property, htmlNode),
+                    scheduled(property -> updateAttribute(property, htmlNode),
+                            batched, false),
                     createComputations(computationsCollection), stateNode));
             listeners.push(bindMap(NodeFeatures.ELEMENT_PROPERTIES,
-                    property -> updateProperty(property, htmlNode),
+                    scheduled(property -> updateProperty(property, htmlNode),
+                            batched, false),
                     createComputations(computationsCollection), stateNode));
             bindPolymerModelProperties(stateNode, htmlNode);
 
@@ -724,6 +729,41 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
         return computation;
     }
 
+    private static boolean isFrameBatched(StateNode node) {
+        return node.getTree().getRegistry().getApplicationConfiguration()
+                .isFrameBatchedDomUpdates();
+    }
+
+    /**
+     * Wraps a property user so that changes to an already applied property
+     * are written to the DOM through the {@link DomUpdateScheduler} if DOM
+     * updates are batched. The first value of each property is applied right
+     * away so that a newly bound element is complete when it is attached. The
+     * property value is always read right away so that the binding
+     * computation depends on it.
+     */
+    private static PropertyUser scheduled(PropertyUser user, boolean batched,
+            boolean priority) {
+        if (!batched) {
+            return user;
+        }
+        JsSet<MapProperty> applied = JsCollections.set();
+        return property -> {
+            if (!applied.has(property)) {
+                applied.add(property);
+                user.use(property);
+                return;
+            }
+            property.getValue();
+            Command update = () -> user.use(property);
+            if (priority) {
+                DomUpdateScheduler.schedulePriority(update);
+            } else {
+                DomUpdateScheduler.schedule(update);
+            }
+        };
+    }
+
     private void updateProperty(MapProperty mapProperty, Element element) {
         String name = mapProperty.getName();
         if (mapProperty.hasValue()) {
@@ -1233,6 +1273,10 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
         assert element instanceof Element
                 : "Cannot handle DOM event for a Node";
 
+        // Event data expressions and synchronized properties must see the
+        // DOM with all the changes from the server applied
+        DomUpdateScheduler.flush();
+
         String type = event.getType();
 
         NodeMap listenerMap = getDomEventListenerMap(node);
@@ -1397,7 +1441,8 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
         return atLeastOneEager;
     }
 
-    private EventRemover bindClassList(Element element, StateNode node) {
+    private EventRemover bindClassList(Element element, StateNode node,
+            boolean batched) {
         NodeList classNodeList = node.getList(NodeFeatures.CLASS_LIST);
 
         for (int i = 0; i < classNodeList.length(); i++) {
@@ -1406,16 +1451,23 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
         }
 
         return classNodeList.addSpliceListener(e -> {
-            DomTokenList classList = DomApi.wrap(element).getClassList();
+            Command update = () -> {
+                DomTokenList classList = DomApi.wrap(element).getClassList();
 
-            JsArray<?> remove = e.getRemove();
-            for (int i = 0; i < remove.length(); i++) {
-                classList.remove((String) remove.get(i));
-            }
+                JsArray<?> remove = e.getRemove();
+                for (int i = 0; i < remove.length(); i++) {
+                    classList.remove((String) remove.get(i));
+                }
 
-            JsArray<?> add = e.getAdd();
-            for (int i = 0; i < add.length(); i++) {
-                classList.add((String) add.get(i));
+                JsArray<?> add = e.getAdd();
+                for (int i = 0; i < add.length(); i++) {
+                    classList.add((String) add.get(i));
+                }
+            };
+            if (batched) {
+                DomUpdateScheduler.schedulePriority(update);
+            } else {
+                update.execute();
             }
         });
     }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.flow.reactive;
+
+import com.google.gwt.core.client.Duration;
+
+import com.vaadin.client.Command;
+import com.vaadin.client.Profiler;
+import com.vaadin.client.flow.collection.JsArray;
+import com.vaadin.client.flow.collection.JsCollections;
+
+/**
+ * Applies DOM updates in time-sliced chunks aligned with
+ * <code>requestAnimationFrame</code>, so that applying a large server response
+ * doesn't block the browser in one long task.
+ * <p>
+ * Updates are applied in the order they were scheduled, except that priority
+ * updates, e.g. style and class name changes, are applied before any regular
+ * updates. Each animation frame applies all priority updates and then as many
+ * regular updates as fit within {@value #FRAME_BUDGET} ms. The remaining
+ * updates are left for the following frames. A timeout is used as a fallback
+ * for background tabs where animation frames are not run.
+ * <p>
+ * The scheduler itself is shared by all applications on the page. Each caller
+ * decides whether to schedule an update or apply it immediately based on the
+ * {@link com.vaadin.client.ApplicationConfiguration#isFrameBatchedDomUpdates()}
+ * setting of its own application, so embedded applications and exported web
+ * components keep their own behavior.
+ *
+ * @author Vaadin Ltd
+ * @since 23.2
+ */
+public class DomUpdateScheduler {
+
+    /**
+     * The time in milliseconds that regular updates may take in one animation
+     * frame, leaving the rest of the frame for style recalculation, layout and
+     * painting.
+     */
+    public static final int FRAME_BUDGET = 8;
+
+    /**
+     * The time in milliseconds after which pending updates are applied even if
+     * no animation frame has been run, e.g. because the tab is in the
+     * background.
+     */
+    public static final int FRAME_TIMEOUT = 100;
+
+    // Initializing static fields would cause nasty $clinit in the generated JS
+    private static JsArray<Command> priorityUpdates;
+
+    private static JsArray<Command> updates;
+
+    private static boolean frameRequested = false;
+
+    private DomUpdateScheduler() {
+        // Only static stuff in this class
+    }
+
+    /**
+     * Schedules a DOM update to be applied in an upcoming animation frame,
+     * after the updates scheduled before it.
+     * <p>
+     * The same method can be used for running any command that must see the
+     * DOM with all previously scheduled updates applied.
+     *
+     * @param update
+     *            the update to apply
+     */
+    public static void schedule(Command update) {
+        if (updates == null) {
+            updates = JsCollections.array();
+        }
+        updates.push(update);
+        requestFrame();
+    }
+
+    /**
+     * Schedules a DOM update to be applied in the next animation frame, before
+     * any regular updates. This should be used for cheap updates which affect
+     * the rendering of the page, such as style and class name changes.
+     *
+     * @param update
+     *            the update to apply
+     */
+    public static void schedulePriority(Command update) {
+        if (priorityUpdates == null) {
+            priorityUpdates = JsCollections.array();
+        }
+        priorityUpdates.push(update);
+        requestFrame();
+    }
+
+    /**
+     * Checks whether there are scheduled updates which have not yet been
+     * applied.
+     *
+     * @return <code>true</code> if there are pending updates,
+     *         <code>false</code> otherwise
+     */
+    public static boolean hasPendingUpdates() {
+        return hasPriorityUpdates() || hasRegularUpdates();
+    }
+
+    /**
+     * Applies all pending updates immediately, without waiting for an
+     * animation frame.
+     */
+    public static void flush() {
+        applyUpdates(Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Applies all pending priority updates and as many regular updates as can
+     * be applied before the given deadline.
+     *
+     * @param deadline
+     *            the time, as returned by {@link Duration#currentTimeMillis()},
+     *            after which no more regular updates are applied
+     */
+    static void applyUpdates(double deadline) {
+        while (hasPriorityUpdates()) {
+            applyAll(priorityUpdates);
+        }
+        if (!hasRegularUpdates()) {
+            return;
+        }
+        int applied = 0;
+        try {
+            while (applied < updates.length()) {
+                // Priority updates scheduled by a regular update are applied
+                // right away
+                Command update = updates.get(applied++);
+                update.execute();
+                while (hasPriorityUpdates()) {
+                    applyAll(priorityUpdates);
+                }
+                if (Duration.currentTimeMillis() >= deadline) {
+                    break;
+                }
+            }
+        } finally {
+            updates.splice(0, applied);
+        }
+    }
+
+    private static void applyAll(JsArray<Command> queue) {
+        int applied = 0;
+        try {
+            while (applied < queue.length()) {
+                queue.get(applied++).execute();
+            }
+        } finally {
+            queue.splice(0, applied);
+        }
+    }
+
+    private static boolean hasPriorityUpdates() {
+        return priorityUpdates != null && !priorityUpdates.isEmpty();
+    }
+
+    private static boolean hasRegularUpdates() {
+        return updates != null && !updates.isEmpty();
+    }
+
+    private static void requestFrame() {
+        if (!frameRequested) {
+            frameRequested = true;
+            requestAnimationFrameOrTimeout(
+                    DomUpdateScheduler::onAnimationFrame, FRAME_TIMEOUT);
+        }
+    }
+
+    private static void onAnimationFrame() {
+        frameRequested = false;
+        Profiler.enter("DomUpdateScheduler.onAnimationFrame");
+        double start = Duration.currentTimeMillis();
+        try {
+            applyUpdates(start + FRAME_BUDGET);
+        } finally {
+            Profiler.recordTaskDuration("DomUpdateScheduler.onAnimationFrame",
+                    Duration.currentTimeMillis() - start);
+            Profiler.leave("DomUpdateScheduler.onAnimationFrame");
+            if (hasPendingUpdates()) {
+                requestFrame();
+            }
+        }
+    }
+
+    private static native void requestAnimationFrameOrTimeout(
+            Command callback, int timeout)
+    /*-{
+        var done = false;
+        var run = $entry(function() {
+            if (!done) {
+                done = true;
+                callback.@com.vaadin.client.Command::execute()();
+            }
+        });
+        // Animation frames are not run for background tabs
+        $wnd.requestAnimationFrame(run);
+        $wnd.setTimeout(run, timeout);
+    }-*/;
+
+    /**
+     * Resets the scheduler to the initial state, discarding any pending
+     * updates.
+     * <p>
+     * Intended for test cases to call in setup to avoid having tests affect
+     * each other as the scheduler state is static and shared.
+     * <p>
+     * Should never be called from non-test code!
+     */
+    public static void reset() {
+        priorityUpdates = null;
+        updates = null;
+        frameRequested = false;
+    }
+}
@@ -7,6 +7,7 @@ import com.google.gwt.junit.tools.GWTTestSuite;
 
 import com.vaadin.client.communication.GwtAtmoshperePushConnectionTest;
 import com.vaadin.client.communication.GwtDefaultConnectionStateHandlerTest;
+import com.vaadin.client.communication.GwtMessageSenderTest;
 import com.vaadin.client.flow.GwtBasicElementBinderTest;
 import com.vaadin.client.flow.GwtErrotHandlerTest;
 import com.vaadin.client.flow.GwtEventHandlerTest;
@@ -22,6 +23,7 @@ import com.vaadin.client.flow.collection.GwtJsSetTest;
 import com.vaadin.client.flow.collection.GwtJsWeakMapTest;
 import com.vaadin.client.flow.dom.GwtDomApiTest;
 import com.vaadin.client.flow.dom.GwtPolymerApiImplTest;
+import com.vaadin.client.flow.reactive.GwtDomUpdateSchedulerTest;
 import com.vaadin.client.flow.util.GwtNativeFunctionTest;
 
 public class GwtSuite extends GWTTestSuite {
@@ -54,6 +56,8 @@ public class GwtSuite extends GWTTestSuite {
         suite.addTestSuite(GwtMessageHandlerTest.class);
         suite.addTestSuite(GwtMultipleBindingTest.class);
         suite.addTestSuite(GwtDefaultConnectionStateHandlerTest.class);
+        suite.addTestSuite(GwtMessageSenderTest.class);
+        suite.addTestSuite(GwtDomUpdateSchedulerTest.class);
         suite.addTestSuite(GwtErrotHandlerTest.class);
         return suite;
     }
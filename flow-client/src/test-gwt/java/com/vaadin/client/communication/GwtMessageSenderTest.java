@@ -0,0 +1,152 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class GwtMessageSenderTest extends ClientEngineTestBase {
+
+    private Registry registry;
+    private ApplicationConfiguration configuration;
+    private List<JsonObject> sent;
+
+    private static class TestMessageSender extends MessageSender {
+
+        private final List<JsonObject> sent;
+
+        public TestMessageSender(Registry registry, List<JsonObject> sent) {
+            super(registry);
+            this.sent = sent;
+        }
+
+        @Override
+        public void send(JsonObject payload) {
+            sent.add(payload);
+        }
+    }
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+        createDummyConnectionState();
+
+        sent = new ArrayList<>();
+        configuration = new ApplicationConfiguration();
+        registry = new Registry() {
+            {
+                UILifecycle uiLifecycle = new UILifecycle();
+                uiLifecycle.setState(UILifecycle.UIState.RUNNING);
+                set(UILifecycle.class, uiLifecycle);
+                set(ApplicationConfiguration.class, configuration);
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(MessageHandler.class, new MessageHandler(this));
+                set(RequestResponseTracker.class,
+                        new RequestResponseTracker(this));
+                set(MessageSender.class, new TestMessageSender(this, sent));
+            }
+        };
+    }
+
+    public void test_notPipelined_nextMessageWaitsForResponse() {
+        sendInvocation();
+        sendInvocation();
+        assertEquals(1, sent.size());
+
+        registry.getRequestResponseTracker().endRequest();
+        registry.getMessageSender().sendInvocationsToServer();
+
+        assertEquals(2, sent.size());
+        assertClientIds(0, 1);
+    }
+
+    public void test_pipelined_messagesSentWithoutWaitingForResponses() {
+        configuration.setPipelinedRpc(true);
+
+        sendInvocation();
+        sendInvocation();
+        sendInvocation();
+
+        assertEquals(3, sent.size());
+        assertClientIds(0, 1, 2);
+        assertTrue(registry.getRequestResponseTracker().hasActiveRequest());
+    }
+
+    public void test_pipelined_tooManyActiveRequests_nextMessageWaitsForResponse() {
+        configuration.setPipelinedRpc(true);
+
+        int max = RequestResponseTracker.MAX_PIPELINED_REQUESTS;
+        for (int i = 0; i <= max; i++) {
+            sendInvocation();
+        }
+        assertEquals(max, sent.size());
+
+        registry.getRequestResponseTracker().endRequest();
+        registry.getMessageSender().sendInvocationsToServer();
+
+        assertEquals(max + 1, sent.size());
+    }
+
+    public void test_pipelined_resynchronize_waitsForActiveRequests() {
+        configuration.setPipelinedRpc(true);
+
+        sendInvocation();
+        sendInvocation();
+        registry.getMessageSender().resynchronize();
+        assertEquals(2, sent.size());
+
+        registry.getRequestResponseTracker().endRequest();
+        assertEquals(2, sent.size());
+
+        // Sent when the last active request ends
+        registry.getRequestResponseTracker().endRequest();
+        assertEquals(3, sent.size());
+        assertTrue(sent.get(2)
+                .getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+    }
+
+    private void sendInvocation() {
+        registry.getServerRpcQueue().add(Json.createObject());
+        registry.getMessageSender().sendInvocationsToServer();
+    }
+
+    private void assertClientIds(int... ids) {
+        assertEquals(ids.length, sent.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], (int) sent.get(i)
+                    .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID));
+        }
+    }
+
+    private static native void createDummyConnectionState()
+    /*-{
+      if (!$wnd.Vaadin) {
+        $wnd.Vaadin = {};
+      }
+      if (!$wnd.Vaadin.connectionState) {
+        $wnd.Vaadin.connectionState = { state: 'connected' };
+      }
+    }-*/;
+}
@@ -28,6 +28,7 @@ import com.vaadin.client.flow.collection.JsCollections;
 import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.client.flow.nodefeature.NodeMap;
+import com.vaadin.client.flow.reactive.DomUpdateScheduler;
 import com.vaadin.client.flow.reactive.Reactive;
 import com.vaadin.client.flow.util.NativeFunction;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
@@ -881,6 +882,60 @@ public class GwtBasicElementBinderTest extends GwtPropertyElementBinderTest {
         assertEquals("", element.getStyle().getColor());
     }
 
+    public void testFrameBatchedDomUpdates_initialBindAppliedImmediately() {
+        tree.getRegistry().getApplicationConfiguration()
+                .setFrameBatchedDomUpdates(true);
+        idAttribute.setValue("foo");
+        titleProperty.setValue("bar");
+        node.getList(NodeFeatures.CLASS_LIST).add(0, "baz");
+
+        Binder.bind(node, element);
+        Reactive.flush();
+
+        assertEquals("foo", element.getId());
+        assertEquals("bar", element.getTitle());
+        assertEquals("baz", element.getClassName());
+        assertFalse(DomUpdateScheduler.hasPendingUpdates());
+    }
+
+    public void testFrameBatchedDomUpdates_changesAppliedWhenSchedulerFlushed() {
+        tree.getRegistry().getApplicationConfiguration()
+                .setFrameBatchedDomUpdates(true);
+        idAttribute.setValue("foo");
+        titleProperty.setValue("bar");
+        Binder.bind(node, element);
+        Reactive.flush();
+
+        idAttribute.setValue("foo2");
+        titleProperty.setValue("bar2");
+        node.getList(NodeFeatures.CLASS_LIST).add(0, "baz");
+        Reactive.flush();
+
+        assertEquals("foo", element.getId());
+        assertEquals("bar", element.getTitle());
+        assertEquals("", element.getClassName());
+        assertTrue(DomUpdateScheduler.hasPendingUpdates());
+
+        DomUpdateScheduler.flush();
+
+        assertEquals("foo2", element.getId());
+        assertEquals("bar2", element.getTitle());
+        assertEquals("baz", element.getClassName());
+    }
+
+    public void testFrameBatchedDomUpdatesNotEnabled_changesAppliedImmediately() {
+        Binder.bind(node, element);
+        Reactive.flush();
+
+        idAttribute.setValue("foo");
+        node.getList(NodeFeatures.CLASS_LIST).add(0, "baz");
+        Reactive.flush();
+
+        assertEquals("foo", element.getId());
+        assertEquals("baz", element.getClassName());
+        assertFalse(DomUpdateScheduler.hasPendingUpdates());
+    }
+
     private native void polyfillStyleSetProperty(Element element)
     /*-{
          // This polyfills just enough to make the tests pass and nothing else
@@ -30,6 +30,7 @@ import com.vaadin.client.flow.collection.JsMap;
 import com.vaadin.client.flow.nodefeature.MapProperty;
 import com.vaadin.client.flow.nodefeature.NodeList;
 import com.vaadin.client.flow.nodefeature.NodeMap;
+import com.vaadin.client.flow.reactive.DomUpdateScheduler;
 import com.vaadin.client.flow.reactive.Reactive;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
 import com.vaadin.flow.shared.JsonConstants;
@@ -145,6 +146,7 @@ public abstract class GwtPropertyElementBinderTest
     protected void gwtSetUp() throws Exception {
         super.gwtSetUp();
         Reactive.reset();
+        DomUpdateScheduler.reset();
         constantPool = new ConstantPool();
         tree = new CollectingStateTree(constantPool, new ExistingElementMap());
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.flow.reactive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gwt.core.client.Duration;
+
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.Profiler;
+
+public class GwtDomUpdateSchedulerTest extends ClientEngineTestBase {
+
+    private List<String> applied;
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+        DomUpdateScheduler.reset();
+        applied = new ArrayList<>();
+    }
+
+    @Override
+    protected void gwtTearDown() throws Exception {
+        DomUpdateScheduler.reset();
+        super.gwtTearDown();
+    }
+
+    public void testFlush_priorityUpdatesAppliedFirst() {
+        DomUpdateScheduler.schedule(() -> applied.add("regular1"));
+        DomUpdateScheduler.schedulePriority(() -> applied.add("priority1"));
+        DomUpdateScheduler.schedule(() -> applied.add("regular2"));
+        DomUpdateScheduler.schedulePriority(() -> applied.add("priority2"));
+
+        assertTrue(applied.isEmpty());
+        assertTrue(DomUpdateScheduler.hasPendingUpdates());
+
+        DomUpdateScheduler.flush();
+
+        assertEquals(Arrays.asList("priority1", "priority2", "regular1",
+                "regular2"), applied);
+        assertFalse(DomUpdateScheduler.hasPendingUpdates());
+    }
+
+    public void testDeadlinePassed_onlyOneRegularUpdateApplied() {
+        DomUpdateScheduler.schedule(() -> applied.add("regular1"));
+        DomUpdateScheduler.schedule(() -> applied.add("regular2"));
+        DomUpdateScheduler.schedulePriority(() -> applied.add("priority"));
+
+        DomUpdateScheduler.applyUpdates(Duration.currentTimeMillis() - 1);
+
+        assertEquals(Arrays.asList("priority", "regular1"), applied);
+        assertTrue(DomUpdateScheduler.hasPendingUpdates());
+
+        DomUpdateScheduler.applyUpdates(Duration.currentTimeMillis() - 1);
+
+        assertEquals(Arrays.asList("priority", "regular1", "regular2"),
+                applied);
+        assertFalse(DomUpdateScheduler.hasPendingUpdates());
+    }
+
+    public void testPriorityUpdateScheduledByRegularUpdate_appliedBeforeNextRegularUpdate() {
+        DomUpdateScheduler.schedule(() -> {
+            applied.add("regular1");
+            DomUpdateScheduler.schedulePriority(() -> applied.add("priority"));
+        });
+        DomUpdateScheduler.schedule(() -> applied.add("regular2"));
+
+        DomUpdateScheduler.flush();
+
+        assertEquals(Arrays.asList("regular1", "priority", "regular2"),
+                applied);
+    }
+
+    public void testUpdatesAppliedInAnimationFrame() {
+        Profiler.resetLongTaskCount();
+
+        DomUpdateScheduler.schedule(() -> {
+            // Busy wait to make the frame a long task
+            double start = Duration.currentTimeMillis();
+            while (Duration.currentTimeMillis()
+                    - start <= Profiler.LONG_TASK_THRESHOLD) {
+                applied.size();
+            }
+            applied.add("long");
+        });
+        DomUpdateScheduler.schedule(() -> {
+            assertEquals(Arrays.asList("long"), applied);
+            assertEquals(1, Profiler.getLongTaskCount());
+            finishTest();
+        });
+
+        assertTrue(applied.isEmpty());
+        delayTestFinish(1000);
+    }
+}
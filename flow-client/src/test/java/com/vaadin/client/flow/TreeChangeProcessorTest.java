@@ -166,6 +166,30 @@ public class TreeChangeProcessorTest {
         Assert.assertEquals(tree.getRootNode(), node);
     }
 
+    @Test
+    public void testMoveChange() {
+        TreeChangeProcessor.processChange(tree,
+                spliceChange(rootId, ns, 0, 0, Json.create("a"),
+                        Json.create("b"), Json.create("c")));
+
+        StateNode node = TreeChangeProcessor.processChange(tree,
+                moveChange(rootId, ns, 0, 2));
+
+        NodeList list = tree.getRootNode().getList(ns);
+        Assert.assertEquals(3, list.length());
+        Assert.assertEquals("b", list.get(0));
+        Assert.assertEquals("c", list.get(1));
+        Assert.assertEquals("a", list.get(2));
+
+        TreeChangeProcessor.processChange(tree, moveChange(rootId, ns, 1, 0));
+
+        Assert.assertEquals("c", list.get(0));
+        Assert.assertEquals("b", list.get(1));
+        Assert.assertEquals("a", list.get(2));
+
+        Assert.assertEquals(tree.getRootNode(), node);
+    }
+
     @Test
     public void testAttachNodeBeforePut() {
         int nodeId = 2;
@@ -312,6 +336,142 @@ public class TreeChangeProcessorTest {
         Assert.assertNull(child.getParent());
     }
 
+    @Test
+    public void processCompactChange_putAndRemove() {
+        MapProperty property = tree.getRootNode().getMap(ns)
+                .getProperty(myKey);
+
+        StateNode node = TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                        Json.create(rootId), Json.create(ns),
+                        Json.create(myKey), Json.create(myValue)));
+        Assert.assertEquals(tree.getRootNode(), node);
+        Assert.assertEquals(myValue, property.getValue());
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_REMOVE,
+                        Json.create(rootId), Json.create(ns),
+                        Json.create(myKey)));
+        Assert.assertFalse(property.hasValue());
+    }
+
+    @Test
+    public void processCompactChange_spliceMoveAndClear() {
+        NodeList list = tree.getRootNode().getList(ns);
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE,
+                        Json.create(rootId), Json.create(ns), Json.create(0),
+                        Json.create(0), toArray(Json.create("a"),
+                                Json.create("b"), Json.create("c"))));
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE,
+                        Json.create(rootId), Json.create(ns), Json.create(0),
+                        Json.create(1)));
+        Assert.assertEquals(2, list.length());
+        Assert.assertEquals("b", list.get(0));
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_MOVE,
+                        Json.create(rootId), Json.create(ns), Json.create(1),
+                        Json.create(0)));
+        Assert.assertEquals("c", list.get(0));
+        Assert.assertEquals("b", list.get(1));
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_CLEAR,
+                        Json.create(rootId), Json.create(ns)));
+        Assert.assertEquals(0, list.length());
+    }
+
+    @Test
+    public void processCompactChange_putNodeAndDetach() {
+        StateNode child = new StateNode(2, tree);
+        tree.registerNode(child);
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE,
+                        Json.create(rootId), Json.create(ns),
+                        Json.create(myKey), Json.create(2)));
+        Assert.assertSame(child, tree.getRootNode().getMap(ns)
+                .getProperty(myKey).getValue());
+        Assert.assertSame(tree.getRootNode(), child.getParent());
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_DETACH,
+                        Json.create(2)));
+        Assert.assertNull(child.getParent());
+        Assert.assertNull(tree.getNode(2));
+    }
+
+    @Test
+    public void processCompactChange_populateListFeature() {
+        StateNode node = new StateNode(3, tree);
+        tree.registerNode(node);
+        int featureId = 12;
+
+        TreeChangeProcessor.processCompactChange(tree,
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_NOOP,
+                        Json.create(node.getId()), Json.create(featureId),
+                        Json.create(true)));
+
+        Assert.assertTrue(node.hasFeature(featureId));
+        // No assertion error because of wrong feature instance
+        node.getList(featureId);
+    }
+
+    @Test
+    public void processCompactChanges_objectChangesIncluded() {
+        JsonArray changes = toArray(attachChange(2),
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES,
+                        Json.create(rootId), Json.create(ns), Json.create(0),
+                        Json.create(0), toArray(Json.create(2))),
+                putChange(2, ns, myKey, Json.create(myValue)));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor
+                .processCompactChanges(tree, changes);
+
+        StateNode child = tree.getNode(2);
+        Assert.assertNotNull(child);
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertSame(child, tree.getRootNode().getList(ns).get(0));
+        Assert.assertEquals(myValue,
+                child.getMap(ns).getProperty(myKey).getValue());
+    }
+
+    @Test
+    public void processCompactChanges_nodesAttachedAndUpdated() {
+        JsonArray changes = toArray(
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_ATTACH,
+                        Json.create(2)),
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES,
+                        Json.create(rootId), Json.create(ns), Json.create(0),
+                        Json.create(0), toArray(Json.create(2))),
+                compact(JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                        Json.create(2), Json.create(ns), Json.create(myKey),
+                        Json.create("value")));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor
+                .processCompactChanges(tree, changes);
+
+        StateNode child = tree.getNode(2);
+        Assert.assertNotNull(child);
+        Assert.assertEquals(2, updatedNodes.size());
+        Assert.assertSame(child, tree.getRootNode().getList(ns).get(0));
+        Assert.assertEquals("value",
+                child.getMap(ns).getProperty(myKey).getValue());
+    }
+
+    private static JsonArray compact(int type, JsonValue... values) {
+        JsonArray json = toArray(values);
+        JsonArray compact = Json.createArray();
+        compact.set(0, type);
+        for (int i = 0; i < json.length(); i++) {
+            compact.set(i + 1, json.<JsonValue> get(i));
+        }
+        return compact;
+    }
+
     private static JsonArray toArray(JsonValue... changes) {
         return Arrays.stream(changes).collect(JsonUtils.asArray());
     }
@@ -394,6 +554,15 @@ public class TreeChangeProcessorTest {
         return json;
     }
 
+    private static JsonObject moveChange(int node, int ns, int from,
+            int index) {
+        JsonObject json = baseChange(node, JsonConstants.CHANGE_TYPE_MOVE);
+        json.put(JsonConstants.CHANGE_FEATURE, ns);
+        json.put(JsonConstants.CHANGE_MOVE_FROM, from);
+        json.put(JsonConstants.CHANGE_SPLICE_INDEX, index);
+        return json;
+    }
+
     private static JsonObject nodeSpliceChange(int node, int ns, int index,
             int remove, int... children) {
         JsonObject json = spliceBaseChange(node, ns, index, remove);
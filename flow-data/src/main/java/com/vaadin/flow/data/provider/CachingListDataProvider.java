@@ -0,0 +1,175 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.function.SerializablePredicate;
+
+/**
+ * A {@link ListDataProvider} which caches the filtered and sorted items for
+ * the most recently used combinations of query filter and in-memory sorting.
+ * <p>
+ * Fetching a page from a cached view only touches the items of the page and
+ * counting the items of a cached view is a constant time operation, which
+ * makes scrolling through large in-memory collections considerably cheaper.
+ * <p>
+ * The cached views are discarded whenever {@link #refreshAll()} or any of the
+ * <code>refreshItem</code> methods is called. Unlike with
+ * {@link ListDataProvider}, changes to the backing collection are thus only
+ * visible after one of these methods has been called.
+ * <p>
+ * The cache may be used by concurrent queries. A view is computed outside of
+ * the lock guarding the cache, so a slow query does not block queries for
+ * views which are already cached.
+ *
+ * @param <T>
+ *            data type
+ * @since
+ */
+public class CachingListDataProvider<T> extends ListDataProvider<T> {
+
+    private static final int MAX_CACHED_VIEWS = 4;
+
+    // Guarded by this
+    private transient Map<ViewKey<T>, List<T>> views;
+
+    // Guarded by this, incremented whenever the views are discarded
+    private transient int generation;
+
+    private static class ViewKey<T> implements Serializable {
+        private final SerializablePredicate<T> filter;
+        private final Comparator<T> inMemorySorting;
+
+        private ViewKey(SerializablePredicate<T> filter,
+                Comparator<T> inMemorySorting) {
+            this.filter = filter;
+            this.inMemorySorting = inMemorySorting;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey<?> other = (ViewKey<?>) obj;
+            return Objects.equals(filter, other.filter)
+                    && Objects.equals(inMemorySorting, other.inMemorySorting);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filter, inMemorySorting);
+        }
+    }
+
+    /**
+     * Constructs a new caching list data provider.
+     * <p>
+     * No protective copy is made of the list. Changes in the provided backing
+     * Collection become visible via this data provider after calling
+     * {@link #refreshAll()}.
+     *
+     * @param items
+     *            the initial data, not null
+     */
+    public CachingListDataProvider(Collection<T> items) {
+        super(items);
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        List<T> view = getView(query);
+        int from = Math.min(query.getOffset(), view.size());
+        int to = (int) Math.min((long) from + query.getLimit(), view.size());
+        return view.subList(from, to).stream();
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        return getView(query).size();
+    }
+
+    @Override
+    public void refreshAll() {
+        clearViews();
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        clearViews();
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        clearViews();
+        super.refreshItem(item, refreshChildren);
+    }
+
+    private List<T> getView(Query<T, SerializablePredicate<T>> query) {
+        ViewKey<T> key = new ViewKey<>(query.getFilter().orElse(null),
+                query.getInMemorySorting());
+        int viewGeneration;
+        synchronized (this) {
+            if (views == null) {
+                views = new LinkedHashMap<ViewKey<T>, List<T>>(16, 0.75f,
+                        true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<ViewKey<T>, List<T>> eldest) {
+                        return size() > MAX_CACHED_VIEWS;
+                    }
+                };
+            }
+            // A get also updates the access order
+            List<T> view = views.get(key);
+            if (view != null) {
+                return view;
+            }
+            viewGeneration = generation;
+        }
+        List<T> view = Collections.unmodifiableList(
+                getSortedFilteredStream(query).collect(Collectors.toList()));
+        synchronized (this) {
+            // A view computed before the views were discarded may be stale
+            if (viewGeneration == generation) {
+                List<T> existing = views.putIfAbsent(key, view);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+        }
+        return view;
+    }
+
+    private synchronized void clearViews() {
+        generation++;
+        if (views != null) {
+            views.clear();
+        }
+    }
+}
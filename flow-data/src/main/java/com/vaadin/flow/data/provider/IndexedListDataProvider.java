@@ -0,0 +1,675 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link ListDataProvider} which can index item property values for
+ * filtering and sorting large in-memory collections.
+ * <p>
+ * A text index added with {@link #addTextIndex(ValueProvider, Locale)} is used
+ * by the data providers returned by {@link #filteringByPrefix(ValueProvider)}
+ * and {@link #filteringBySubstring(ValueProvider)} and their overloads for the
+ * same value provider instance, as long as the filter converts strings to
+ * lower case using the locale of the index. A prefix is looked up from the
+ * sorted lower case values and a substring of at least three characters from
+ * the positions of its trigrams, instead of converting the value of every
+ * item to lower case for every query.
+ * <p>
+ * A sort index added with {@link #addSortIndex(ValueProvider)} is used when
+ * the in-memory sorting of the query or the default sorting of this provider,
+ * but not both, is the comparator returned by that method or its reversed
+ * comparator, or when the default sorting is set with
+ * {@link #setSortOrder(ValueProvider, SortDirection)} for the same value
+ * provider instance. The items are then taken in their presorted order and
+ * fetching a page only needs to filter the items up to the end of the page.
+ * <p>
+ * The indexes are built when a query first needs them and discarded whenever
+ * {@link #refreshAll()} is called. The <code>refreshItem</code> methods move
+ * the refreshed item to its new position in the indexes which have already
+ * been built, in linear time, instead of discarding them. Like with
+ * {@link CachingListDataProvider}, changes to the backing collection are thus
+ * only visible after one of these methods has been called, and items added to
+ * or removed from the collection require {@link #refreshAll()}. The indexes
+ * may be built and used by concurrent queries, but the indexes and sort
+ * orders must not be changed while queries are running.
+ *
+ * @param <T>
+ *            data type
+ * @since
+ */
+public class IndexedListDataProvider<T> extends ListDataProvider<T> {
+
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private final Map<ValueProvider<T, String>, Locale> textIndexLocales = new IdentityHashMap<>();
+
+    private final Map<ValueProvider<T, ?>, IndexedComparator<T, ?>> sortIndexComparators = new IdentityHashMap<>();
+
+    // Guarded by this
+    private transient Indexes<T> indexes;
+
+    /**
+     * A snapshot of the items and the indexes built for them so far. A query
+     * uses the same snapshot throughout even if the indexes are discarded
+     * while it runs. The value providers and comparators used as keys do not
+     * override equals, so the maps compare them by identity.
+     */
+    private static class Indexes<T> implements Serializable {
+        private final List<T> items;
+        private final Map<ValueProvider<T, String>, TextIndex> textIndexes = new ConcurrentHashMap<>();
+        private final Map<Comparator<T>, int[]> sortIndexes = new ConcurrentHashMap<>();
+
+        private Indexes(List<T> items) {
+            this.items = items;
+        }
+
+        /**
+         * Creates a copy of these indexes with the item at the given position
+         * replaced and moved to its new place in each index.
+         */
+        private Indexes<T> withItem(int position, T item,
+                Map<ValueProvider<T, String>, Locale> locales) {
+            List<T> newItems = new ArrayList<>(items);
+            newItems.set(position, item);
+            Indexes<T> result = new Indexes<>(newItems);
+            textIndexes.forEach((valueProvider, index) -> {
+                Locale locale = locales.get(valueProvider);
+                if (locale != null) {
+                    String value = valueProvider.apply(item);
+                    result.textIndexes.put(valueProvider,
+                            index.withValue(position, value == null ? null
+                                    : value.toLowerCase(locale)));
+                }
+            });
+            sortIndexes.forEach((comparator, sortIndex) -> result.sortIndexes
+                    .put(comparator, insert(remove(sortIndex, position),
+                            position, other -> {
+                                int order = comparator
+                                        .compare(newItems.get(other), item);
+                                return order < 0
+                                        || order == 0 && other < position;
+                            })));
+            return result;
+        }
+    }
+
+    /**
+     * The lower case values of an item property for all the items, in the
+     * order of the items, and the positions of the items with a non-null
+     * value sorted by that value.
+     */
+    private static class TextIndex implements Serializable {
+        private final String[] values;
+        private final int[] sorted;
+        private volatile Map<String, int[]> trigrams;
+
+        private TextIndex(String[] values) {
+            this.values = values;
+            sorted = IntStream.range(0, values.length)
+                    .filter(i -> values[i] != null).boxed()
+                    .sorted(Comparator.comparing(i -> values[i]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+
+        private TextIndex(String[] values, int[] sorted,
+                Map<String, int[]> trigrams) {
+            this.values = values;
+            this.sorted = sorted;
+            this.trigrams = trigrams;
+        }
+
+        /**
+         * Creates a copy of this index with the value at the given position
+         * replaced.
+         */
+        private TextIndex withValue(int position, String value) {
+            String oldValue = values[position];
+            String[] newValues = values.clone();
+            newValues[position] = value;
+
+            int[] newSorted = remove(sorted, position);
+            if (value != null) {
+                newSorted = insert(newSorted, position, other -> {
+                    int order = newValues[other].compareTo(value);
+                    return order < 0 || order == 0 && other < position;
+                });
+            }
+
+            Map<String, int[]> oldTrigrams = trigrams;
+            Map<String, int[]> newTrigrams = null;
+            if (oldTrigrams != null) {
+                newTrigrams = new HashMap<>(oldTrigrams);
+                for (String trigram : trigramsOf(oldValue)) {
+                    int[] positions = remove(newTrigrams.get(trigram),
+                            position);
+                    if (positions.length == 0) {
+                        newTrigrams.remove(trigram);
+                    } else {
+                        newTrigrams.put(trigram, positions);
+                    }
+                }
+                for (String trigram : trigramsOf(value)) {
+                    newTrigrams.put(trigram,
+                            insert(newTrigrams.getOrDefault(trigram,
+                                    new int[0]), position,
+                                    other -> other < position));
+                }
+            }
+            return new TextIndex(newValues, newSorted, newTrigrams);
+        }
+
+        private static Set<String> trigramsOf(String value) {
+            Set<String> result = new HashSet<>();
+            for (int i = 0; value != null
+                    && i + TRIGRAM_LENGTH <= value.length(); i++) {
+                result.add(value.substring(i, i + TRIGRAM_LENGTH));
+            }
+            return result;
+        }
+
+        private BitSet findPrefix(String prefix) {
+            BitSet matches = new BitSet(values.length);
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[sorted[middle]].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            for (int i = low; i < sorted.length
+                    && values[sorted[i]].startsWith(prefix); i++) {
+                matches.set(sorted[i]);
+            }
+            return matches;
+        }
+
+        private BitSet findSubstring(String substring) {
+            BitSet matches = new BitSet(values.length);
+            if (substring.length() < TRIGRAM_LENGTH) {
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null && values[i].contains(substring)) {
+                        matches.set(i);
+                    }
+                }
+                return matches;
+            }
+            // Only check the items having the least common trigram
+            int[] candidates = null;
+            for (int i = 0; i + TRIGRAM_LENGTH <= substring.length(); i++) {
+                int[] positions = getTrigrams().get(
+                        substring.substring(i, i + TRIGRAM_LENGTH));
+                if (positions == null) {
+                    return matches;
+                }
+                if (candidates == null || positions.length < candidates.length) {
+                    candidates = positions;
+                }
+            }
+            for (int position : candidates) {
+                if (values[position].contains(substring)) {
+                    matches.set(position);
+                }
+            }
+            return matches;
+        }
+
+        private Map<String, int[]> getTrigrams() {
+            Map<String, int[]> result = trigrams;
+            if (result == null) {
+                Map<String, PositionList> positions = new HashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    String value = values[i];
+                    for (int j = 0; value != null
+                            && j + TRIGRAM_LENGTH <= value.length(); j++) {
+                        positions.computeIfAbsent(
+                                value.substring(j, j + TRIGRAM_LENGTH),
+                                trigram -> new PositionList()).add(i);
+                    }
+                }
+                Map<String, int[]> built = new HashMap<>(
+                        positions.size() * 4 / 3 + 1);
+                positions.forEach((trigram, list) -> built.put(trigram,
+                        Arrays.copyOf(list.positions, list.size)));
+                // Only published when complete, concurrent queries may build
+                // the same map in the meantime
+                trigrams = built;
+                result = built;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Growable list of ascending item positions without duplicates.
+     */
+    private static class PositionList implements Serializable {
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+
+    /**
+     * Gets a copy of the given positions without the given position.
+     */
+    private static int[] remove(int[] positions, int position) {
+        int[] result = new int[positions.length];
+        int size = 0;
+        for (int other : positions) {
+            if (other != position) {
+                result[size++] = other;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Gets a copy of the given ordered positions with the given position
+     * inserted after the positions for which the predicate is
+     * <code>true</code>.
+     */
+    private static int[] insert(int[] positions, int position,
+            IntPredicate before) {
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before.test(positions[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int[] result = new int[positions.length + 1];
+        System.arraycopy(positions, 0, result, 0, low);
+        result[low] = position;
+        System.arraycopy(positions, low, result, low + 1,
+                positions.length - low);
+        return result;
+    }
+
+    /**
+     * A filter recognized by the text indexes.
+     */
+    private static class TextFilter<T> implements SerializablePredicate<T> {
+        private final ValueProvider<T, String> valueProvider;
+        private final String filterString;
+        private final boolean prefix;
+        private final SerializableSupplier<Locale> localeSupplier;
+
+        private TextFilter(ValueProvider<T, String> valueProvider,
+                String filterString, boolean prefix,
+                SerializableSupplier<Locale> localeSupplier) {
+            this.valueProvider = valueProvider;
+            this.filterString = filterString;
+            this.prefix = prefix;
+            this.localeSupplier = localeSupplier;
+        }
+
+        @Override
+        public boolean test(T item) {
+            String value = valueProvider.apply(item);
+            if (value == null) {
+                return false;
+            }
+            Locale locale = localeSupplier.get();
+            assert locale != null;
+            return matches(value.toLowerCase(locale),
+                    filterString.toLowerCase(locale));
+        }
+
+        private boolean matches(String value, String filter) {
+            return prefix ? value.startsWith(filter) : value.contains(filter);
+        }
+    }
+
+    /**
+     * A comparator recognized by the sort indexes.
+     */
+    private static class IndexedComparator<T, V extends Comparable<? super V>>
+            implements SerializableComparator<T> {
+        private final ValueProvider<T, V> valueProvider;
+        private final boolean descending;
+        private IndexedComparator<T, V> reversed;
+
+        private IndexedComparator(ValueProvider<T, V> valueProvider,
+                boolean descending) {
+            this.valueProvider = valueProvider;
+            this.descending = descending;
+        }
+
+        @Override
+        public int compare(T item1, T item2) {
+            return descending
+                    ? valueProvider.apply(item2)
+                            .compareTo(valueProvider.apply(item1))
+                    : valueProvider.apply(item1)
+                            .compareTo(valueProvider.apply(item2));
+        }
+
+        @Override
+        public IndexedComparator<T, V> reversed() {
+            if (reversed == null) {
+                reversed = new IndexedComparator<>(valueProvider, !descending);
+                reversed.reversed = this;
+            }
+            return reversed;
+        }
+    }
+
+    /**
+     * Constructs a new indexed list data provider.
+     * <p>
+     * No protective copy is made of the list. Changes in the provided backing
+     * Collection become visible via this data provider after calling
+     * {@link #refreshAll()}.
+     *
+     * @param items
+     *            the initial data, not null
+     */
+    public IndexedListDataProvider(Collection<T> items) {
+        super(items);
+    }
+
+    /**
+     * Adds an index for filtering by the lower case representation of the
+     * given string property using the given locale.
+     * <p>
+     * The index is used by the data providers returned by the
+     * <code>filteringByPrefix</code> and <code>filteringBySubstring</code>
+     * methods of this provider when they are created with the same value
+     * provider instance and convert strings to lower case using the same
+     * locale.
+     *
+     * @param valueProvider
+     *            a value provider that gets the string property value, not
+     *            <code>null</code>
+     * @param locale
+     *            the locale to use for converting the strings to lower case,
+     *            not <code>null</code>
+     */
+    public void addTextIndex(ValueProvider<T, String> valueProvider,
+            Locale locale) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        Objects.requireNonNull(locale, "Locale cannot be null");
+        textIndexLocales.put(valueProvider, locale);
+        clearIndexes();
+    }
+
+    /**
+     * Adds an index for sorting by the given property and gets the ascending
+     * comparator which uses the index. The comparator can for instance be
+     * used as the comparator of a grid column. Its
+     * {@link Comparator#reversed() reversed} comparator uses the index as
+     * well.
+     * <p>
+     * The index is also used when the default sorting of this provider is set
+     * using {@link #setSortOrder(ValueProvider, SortDirection)} with the same
+     * value provider instance.
+     *
+     * @param valueProvider
+     *            a value provider that gets the property value, not
+     *            <code>null</code>
+     * @param <V>
+     *            the provided value type
+     * @return an ascending comparator using the index, not <code>null</code>
+     */
+    public <V extends Comparable<? super V>> SerializableComparator<T> addSortIndex(
+            ValueProvider<T, V> valueProvider) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        IndexedComparator<T, V> comparator = new IndexedComparator<>(
+                valueProvider, false);
+        sortIndexComparators.put(valueProvider, comparator);
+        clearIndexes();
+        return comparator;
+    }
+
+    @Override
+    public <V extends Comparable<? super V>> void setSortOrder(
+            ValueProvider<T, V> valueProvider, SortDirection sortDirection) {
+        Objects.requireNonNull(sortDirection, "Sort direction cannot be null");
+        @SuppressWarnings("unchecked")
+        IndexedComparator<T, V> comparator = (IndexedComparator<T, V>) sortIndexComparators
+                .get(valueProvider);
+        if (comparator == null) {
+            super.setSortOrder(valueProvider, sortDirection);
+        } else {
+            setSortComparator(sortDirection == SortDirection.DESCENDING
+                    ? comparator.reversed()
+                    : comparator);
+        }
+    }
+
+    @Override
+    public DataProvider<T, String> filteringBySubstring(
+            ValueProvider<T, String> valueProvider, Locale locale) {
+        Objects.requireNonNull(locale, "Locale cannot be null");
+        return filteringByText(valueProvider, false, () -> locale);
+    }
+
+    @Override
+    public DataProvider<T, String> filteringBySubstring(
+            ValueProvider<T, String> valueProvider) {
+        return filteringByText(valueProvider, false,
+                InMemoryDataProviderHelpers.CURRENT_LOCALE_SUPPLIER);
+    }
+
+    @Override
+    public DataProvider<T, String> filteringByPrefix(
+            ValueProvider<T, String> valueProvider, Locale locale) {
+        Objects.requireNonNull(locale, "Locale cannot be null");
+        return filteringByText(valueProvider, true, () -> locale);
+    }
+
+    @Override
+    public DataProvider<T, String> filteringByPrefix(
+            ValueProvider<T, String> valueProvider) {
+        return filteringByText(valueProvider, true,
+                InMemoryDataProviderHelpers.CURRENT_LOCALE_SUPPLIER);
+    }
+
+    private DataProvider<T, String> filteringByText(
+            ValueProvider<T, String> valueProvider, boolean prefix,
+            SerializableSupplier<Locale> localeSupplier) {
+        Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+        return withConvertedFilter(filterString -> new TextFilter<>(
+                valueProvider, filterString, prefix, localeSupplier));
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        return getIndexedStream(query, true).skip(query.getOffset())
+                .limit(query.getLimit());
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        return (int) getIndexedStream(query, false).count();
+    }
+
+    @Override
+    public void refreshAll() {
+        clearIndexes();
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        updateIndexes(item);
+        super.refreshItem(item);
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        updateIndexes(item);
+        super.refreshItem(item, refreshChildren);
+    }
+
+    private Stream<T> getIndexedStream(
+            Query<T, SerializablePredicate<T>> query, boolean sorted) {
+        Indexes<T> current = getIndexes();
+        List<T> allItems = current.items;
+
+        Predicate<T> filter = getFilter();
+        SerializablePredicate<T> queryFilter = query.getFilter().orElse(null);
+        BitSet matches = queryFilter instanceof TextFilter
+                ? findMatches(current, (TextFilter<T>) queryFilter)
+                : null;
+        if (matches == null && queryFilter != null) {
+            filter = filter == null ? queryFilter : filter.and(queryFilter);
+        }
+
+        IntStream positions;
+        Comparator<T> sorting = null;
+        int[] sortIndex = null;
+        if (sorted) {
+            Comparator<T> querySorting = query.getInMemorySorting();
+            sorting = querySorting == null ? getSortComparator()
+                    : getSortComparator() == null ? querySorting
+                            : querySorting.thenComparing(getSortComparator());
+            sortIndex = getSortIndex(current, sorting);
+        }
+        if (sortIndex != null) {
+            positions = Arrays.stream(sortIndex);
+            if (matches != null) {
+                positions = positions.filter(matches::get);
+            }
+            sorting = null;
+        } else if (matches != null) {
+            positions = matches.stream();
+        } else {
+            positions = IntStream.range(0, allItems.size());
+        }
+
+        Stream<T> stream = positions.mapToObj(allItems::get);
+        if (filter != null) {
+            stream = stream.filter(filter);
+        }
+        if (sorting != null) {
+            stream = stream.sorted(sorting);
+        }
+        return stream;
+    }
+
+    private BitSet findMatches(Indexes<T> current, TextFilter<T> filter) {
+        Locale locale = textIndexLocales.get(filter.valueProvider);
+        if (locale == null || !locale.equals(filter.localeSupplier.get())) {
+            return null;
+        }
+        TextIndex index = current.textIndexes.computeIfAbsent(
+                filter.valueProvider,
+                valueProvider -> new TextIndex(current.items.stream()
+                        .map(valueProvider)
+                        .map(value -> value == null ? null
+                                : value.toLowerCase(locale))
+                        .toArray(String[]::new)));
+        String filterString = filter.filterString.toLowerCase(locale);
+        return filter.prefix ? index.findPrefix(filterString)
+                : index.findSubstring(filterString);
+    }
+
+    private int[] getSortIndex(Indexes<T> current, Comparator<T> sorting) {
+        if (!(sorting instanceof IndexedComparator)) {
+            return null;
+        }
+        IndexedComparator<T, ?> comparator = (IndexedComparator<T, ?>) sorting;
+        IndexedComparator<T, ?> ascending = sortIndexComparators
+                .get(comparator.valueProvider);
+        if (ascending != comparator && ascending != comparator.reversed) {
+            return null;
+        }
+        // Both directions have an index of their own since the items with
+        // equal values keep their order in both
+        return current.sortIndexes.computeIfAbsent(comparator,
+                key -> sort(current.items, key));
+    }
+
+    private static <T> int[] sort(List<T> allItems,
+            Comparator<T> comparator) {
+        return IntStream.range(0, allItems.size()).boxed()
+                .sorted((i1, i2) -> comparator.compare(allItems.get(i1),
+                        allItems.get(i2)))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    private synchronized Indexes<T> getIndexes() {
+        if (indexes == null) {
+            indexes = new Indexes<>(new ArrayList<>(getItems()));
+        }
+        return indexes;
+    }
+
+    private synchronized void updateIndexes(T item) {
+        if (indexes == null) {
+            return;
+        }
+        Object id = getId(item);
+        List<T> items = indexes.items;
+        int position = -1;
+        for (int i = 0; i < items.size(); i++) {
+            if (Objects.equals(id, getId(items.get(i)))) {
+                if (position >= 0) {
+                    // Ambiguous, index everything again
+                    position = -1;
+                    break;
+                }
+                position = i;
+            }
+        }
+        indexes = position < 0 ? null
+                : indexes.withItem(position, item, textIndexLocales);
+    }
+
+    private synchronized void clearIndexes() {
+        indexes = null;
+    }
+}
@@ -68,6 +68,27 @@ public class ListDataProvider<T>
 
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        return getSortedFilteredStream(query).skip(query.getOffset())
+                .limit(query.getLimit());
+    }
+
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        return (int) getFilteredStream(query).count();
+    }
+
+    /**
+     * Gets all the items matching the filters of this provider and the given
+     * query, sorted by the in-memory sorting of the query and the sort
+     * comparator of this provider. The offset and limit of the query are
+     * ignored.
+     *
+     * @param query
+     *            the query to get the filter and in-memory sorting from
+     * @return a stream of the matching items
+     */
+    Stream<T> getSortedFilteredStream(
+            Query<T, SerializablePredicate<T>> query) {
         Stream<T> stream = getFilteredStream(query);
 
         Optional<Comparator<T>> comparing = Stream
@@ -78,13 +99,7 @@ public class ListDataProvider<T>
         if (comparing.isPresent()) {
             stream = stream.sorted(comparing.get());
         }
-
-        return stream.skip(query.getOffset()).limit(query.getLimit());
-    }
-
-    @Override
-    public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+        return stream;
     }
 
     private Stream<T> getFilteredStream(
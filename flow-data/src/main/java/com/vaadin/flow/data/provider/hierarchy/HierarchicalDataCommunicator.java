@@ -133,6 +133,8 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().invalidateIndex();
+
             HierarchicalUpdate update = arrayUpdater
                     .startUpdate(getHierarchyMapper().getRootSize());
             update.enqueue("$connector.ensureHierarchy");
@@ -155,6 +157,9 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
     @Override
     protected void handleDataRefreshEvent(
             DataChangeEvent.DataRefreshEvent<T> event) {
+        if (mapper != null) {
+            mapper.refreshIndex(event.getItem(), event.isRefreshChildren());
+        }
         if (event.isRefreshChildren()) {
             T item = event.getItem();
             if (isExpanded(item)) {
@@ -16,6 +16,7 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -40,6 +41,16 @@ import com.vaadin.flow.internal.Range;
  * Keeps track of the expanded nodes, and size of of the subtrees for each
  * expanded node.
  * <p>
+ * The visible part of the hierarchy is indexed when the tree size or the
+ * index of an item is needed for the first time. The index keeps the subtree
+ * sizes of the children of each expanded node in a binary indexed tree, so
+ * the size of the tree, the index of an item and the item at an index are
+ * found in logarithmic time for each level of the hierarchy. Expanding and
+ * collapsing items updates the index incrementally, whereas changing the
+ * filter or the sorting discards it. {@link #invalidateIndex()} should be
+ * called when the data of the data provider has changed, and
+ * {@link #refreshIndex(Object, boolean)} when a single item has changed.
+ * <p>
  * This class is framework internal implementation details, and can be changed /
  * moved at any point. This means that you should not directly use this for
  * anything.
@@ -66,6 +77,97 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Map<Object, T> expandedItems = new HashMap<>();
 
+    // The index of the visible hierarchy, built lazily
+    private transient IndexNode<T> indexRoot;
+    private transient Map<Object, IndexNode<T>> indexNodes;
+
+    /**
+     * A visible item in the index of the hierarchy. The root node represents
+     * the invisible <code>null</code> parent of the root items.
+     */
+    private static final class IndexNode<T> implements Serializable {
+        // Replaced when the item is refreshed with a new instance
+        private T item;
+        private final IndexNode<T> parent;
+        private final int position;
+
+        // null unless the node is expanded and has children
+        private List<IndexNode<T>> children;
+
+        // Binary indexed tree of the sizes of the children
+        private int[] childSizes;
+
+        // The number of visible rows of the node including the node itself
+        private int size;
+
+        private IndexNode(T item, IndexNode<T> parent, int position) {
+            this.item = item;
+            this.parent = parent;
+            this.position = position;
+            size = item == null ? 0 : 1;
+        }
+
+        private void setChildren(List<IndexNode<T>> children) {
+            this.children = children;
+            int count = children.size();
+            childSizes = new int[count + 1];
+            int total = 0;
+            for (int i = 1; i <= count; i++) {
+                int childSize = children.get(i - 1).size;
+                total += childSize;
+                childSizes[i] += childSize;
+                int next = i + (i & -i);
+                if (next <= count) {
+                    childSizes[next] += childSizes[i];
+                }
+            }
+            size += total;
+        }
+
+        private void clearChildren() {
+            size = item == null ? 0 : 1;
+            children = null;
+            childSizes = null;
+        }
+
+        /**
+         * Gets the total size of the children before the given position.
+         */
+        private int getSizeBefore(int childPosition) {
+            int sum = 0;
+            for (int i = childPosition; i > 0; i -= i & -i) {
+                sum += childSizes[i];
+            }
+            return sum;
+        }
+
+        private void addChildSize(int childPosition, int delta) {
+            for (int i = childPosition + 1; i < childSizes.length; i += i
+                    & -i) {
+                childSizes[i] += delta;
+            }
+        }
+
+        /**
+         * Finds the position of the child containing the row with the given
+         * offset among the rows of the children.
+         */
+        private int findChild(int offset) {
+            int position = 0;
+            int remaining = offset;
+            for (int step = Integer.highestOneBit(
+                    children.size()); step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < childSizes.length
+                        && childSizes[next] <= remaining) {
+                    position = next;
+                    remaining -= childSizes[next];
+                }
+            }
+            return position;
+        }
+    }
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -82,7 +184,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getIndexRoot().size;
     }
 
     /**
@@ -104,8 +206,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        getIndexRoot();
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : indexOf(parent);
     }
 
     /**
@@ -117,8 +220,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        getIndexRoot();
+        return item == null ? -1 : indexOf(item);
     }
 
     /**
@@ -159,8 +262,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+            return Range.withLength(position + 1, getDescendantCount(item));
         }
 
         return Range.withLength(0, 0);
@@ -178,8 +280,17 @@ public class HierarchyMapper<T, F> implements Serializable {
     private boolean doExpand(T item) {
         boolean expanded = false;
         if (!isExpanded(item) && hasChildren(item)) {
-            expandedItems.put(getDataProvider().getId(item), item);
+            Object id = getDataProvider().getId(item);
+            expandedItems.put(id, item);
             expanded = true;
+            if (indexRoot != null) {
+                IndexNode<T> node = indexNodes.get(id);
+                if (node != null) {
+                    int oldSize = node.size;
+                    indexChildren(node);
+                    updateAncestorSizes(node, node.size - oldSize);
+                }
+            }
         }
         return expanded;
     }
@@ -197,7 +308,9 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItems.remove(getDataProvider().getId(item));
+            Object id = getDataProvider().getId(item);
+            expandedItems.remove(id);
+            collapseIndexNode(id);
             return true;
         }
         return false;
@@ -218,9 +331,11 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (isExpanded(item)) {
             if (position != null) {
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        getDescendantCount(item));
             }
-            expandedItems.remove(getDataProvider().getId(item));
+            Object id = getDataProvider().getId(item);
+            expandedItems.remove(id);
+            collapseIndexNode(id);
         }
         return removedRows;
     }
@@ -243,6 +358,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        invalidateIndex();
     }
 
     /**
@@ -263,6 +379,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        invalidateIndex();
     }
 
     /**
@@ -283,6 +400,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        invalidateIndex();
     }
 
     /**
@@ -317,7 +435,13 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        IndexNode<T> root = getIndexRoot();
+        int end = Math.min(range.getEnd(), root.size);
+        List<T> items = new ArrayList<>(Math.max(0, end - range.getStart()));
+        for (int index = range.getStart(); index < end; index++) {
+            items.add(getItemAt(root, index));
+        }
+        return items.stream();
     }
 
     /**
@@ -442,6 +566,11 @@ public class HierarchyMapper<T, F> implements Serializable {
             }
         }
         expandedItems.remove(id);
+        if (id != null) {
+            collapseIndexNode(id);
+        } else if (indexRoot != null) {
+            invalidateIndex();
+        }
         invalidatedChildren.stream().map(getDataProvider()::getId)
                 .forEach(x -> {
                     removeChildren(x);
@@ -462,21 +591,174 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        getIndexRoot();
+        int index = indexOf(target);
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
     /**
-     * Gets the full hierarchy tree starting from given node.
+     * Discards the index of the visible hierarchy. The index is built again
+     * from the data provider when it is needed the next time.
+     * <p>
+     * Should be called when the items of the data provider have changed.
+     */
+    public void invalidateIndex() {
+        indexRoot = null;
+        indexNodes = null;
+    }
+
+    /**
+     * Updates the given item in the index of the visible hierarchy, keeping
+     * the rest of the index. The indexed instance is replaced with the given
+     * one and, if requested, the descendants of the item are indexed again
+     * from the data provider. Does nothing if the index has not been built or
+     * the item is not visible.
      *
-     * @param parent
-     *            the parent node to start from
-     * @return the flattened hierarchy as a stream
+     * @param item
+     *            the item that has changed, not <code>null</code>
+     * @param refreshChildren
+     *            {@code true} if the children of the item have changed,
+     *            {@code false} if only the item itself has changed
+     */
+    public void refreshIndex(T item, boolean refreshChildren) {
+        if (indexRoot == null) {
+            return;
+        }
+        IndexNode<T> node = indexNodes.get(getDataProvider().getId(item));
+        if (node == null) {
+            return;
+        }
+        node.item = item;
+        if (refreshChildren) {
+            int oldSize = node.size;
+            if (node.children != null) {
+                removeIndexNodes(node.children);
+                node.clearChildren();
+            }
+            indexChildren(node);
+            updateAncestorSizes(node, node.size - oldSize);
+        }
+    }
+
+    private IndexNode<T> getIndexRoot() {
+        if (indexRoot == null) {
+            indexNodes = new HashMap<>();
+            IndexNode<T> root = new IndexNode<>(null, null, 0);
+            indexChildren(root);
+            indexRoot = root;
+        }
+        return indexRoot;
+    }
+
+    /**
+     * Fetches the children of an expanded node and indexes them recursively.
      */
-    private Stream<T> getHierarchy(T parent) {
-        return getHierarchy(parent, true);
+    private void indexChildren(IndexNode<T> node) {
+        if (!isExpanded(node.item)) {
+            return;
+        }
+        List<T> childList = doFetchDirectChildren(node.item)
+                .collect(Collectors.toList());
+        if (childList.isEmpty()) {
+            removeChildren(node.item == null ? null
+                    : getDataProvider().getId(node.item));
+            return;
+        }
+        registerChildren(node.item, childList);
+        List<IndexNode<T>> children = new ArrayList<>(childList.size());
+        for (T child : childList) {
+            IndexNode<T> childNode = new IndexNode<>(child, node,
+                    children.size());
+            indexNodes.put(getDataProvider().getId(child), childNode);
+            indexChildren(childNode);
+            children.add(childNode);
+        }
+        node.setChildren(children);
+    }
+
+    private void collapseIndexNode(Object id) {
+        if (indexRoot == null) {
+            return;
+        }
+        IndexNode<T> node = indexNodes.get(id);
+        if (node != null && node.children != null) {
+            removeIndexNodes(node.children);
+            int oldSize = node.size;
+            node.clearChildren();
+            updateAncestorSizes(node, node.size - oldSize);
+        }
+    }
+
+    private void removeIndexNodes(List<IndexNode<T>> nodes) {
+        for (IndexNode<T> node : nodes) {
+            indexNodes.remove(getDataProvider().getId(node.item));
+            if (node.children != null) {
+                removeIndexNodes(node.children);
+            }
+        }
+    }
+
+    private void updateAncestorSizes(IndexNode<T> node, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        IndexNode<T> child = node;
+        while (child.parent != null) {
+            child.parent.addChildSize(child.position, delta);
+            child.parent.size += delta;
+            child = child.parent;
+        }
+    }
+
+    /**
+     * Gets the index of the given item in the visible hierarchy using the
+     * current index.
+     */
+    private int indexOf(T item) {
+        IndexNode<T> node = indexNodes.get(getDataProvider().getId(item));
+        if (node == null) {
+            return -1;
+        }
+        int index = 0;
+        IndexNode<T> child = node;
+        while (child.parent != null) {
+            IndexNode<T> parent = child.parent;
+            index += parent.getSizeBefore(child.position);
+            if (parent.item != null) {
+                index++;
+            }
+            child = parent;
+        }
+        return index;
+    }
+
+    private T getItemAt(IndexNode<T> root, int index) {
+        IndexNode<T> node = root;
+        int offset = index;
+        while (true) {
+            if (node.item != null) {
+                if (offset == 0) {
+                    return node.item;
+                }
+                offset--;
+            }
+            int position = node.findChild(offset);
+            offset -= node.getSizeBefore(position);
+            node = node.children.get(position);
+        }
+    }
+
+    /**
+     * Gets the number of visible descendants of an expanded item.
+     */
+    private int getDescendantCount(T item) {
+        if (indexRoot != null) {
+            IndexNode<T> node = indexNodes.get(getDataProvider().getId(item));
+            if (node != null) {
+                return node.size - 1;
+            }
+        }
+        return (int) getHierarchy(item, false).count();
     }
 
     /**
@@ -617,6 +899,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItems.clear();
+        invalidateIndex();
     }
 
     /**
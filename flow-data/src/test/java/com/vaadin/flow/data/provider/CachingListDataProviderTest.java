@@ -0,0 +1,139 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
+
+public class CachingListDataProviderTest extends ListDataProviderTest {
+
+    @Override
+    protected ListDataProvider<StrBean> createDataProvider() {
+        return new CachingListDataProvider<>(data);
+    }
+
+    @Test
+    public void fetch_sameQueryTwice_filterAndSortEvaluatedOnce() {
+        AtomicInteger filterCalls = new AtomicInteger();
+        SerializablePredicate<StrBean> filter = bean -> {
+            filterCalls.incrementAndGet();
+            return bean.getId() % 2 == 0;
+        };
+        SerializableComparator<StrBean> sorting = (a, b) -> Integer
+                .compare(b.getId(), a.getId());
+
+        ListDataProvider<StrBean> provider = getDataProvider();
+        List<StrBean> firstPage = provider
+                .fetch(new Query<>(0, 10, Collections.emptyList(), sorting,
+                        filter))
+                .collect(Collectors.toList());
+        int callsAfterFirstFetch = filterCalls.get();
+
+        List<StrBean> secondPage = provider
+                .fetch(new Query<>(10, 10, Collections.emptyList(), sorting,
+                        filter))
+                .collect(Collectors.toList());
+        int size = provider.size(new Query<>(0, Integer.MAX_VALUE,
+                Collections.emptyList(), sorting, filter));
+
+        Assert.assertEquals(data.size(), callsAfterFirstFetch);
+        Assert.assertEquals(callsAfterFirstFetch, filterCalls.get());
+        Assert.assertEquals(
+                data.stream().filter(bean -> bean.getId() % 2 == 0).count(),
+                size);
+        Assert.assertEquals(10, firstPage.size());
+        Assert.assertEquals(10, secondPage.size());
+        Assert.assertTrue(firstPage.get(9).getId() > secondPage.get(0).getId());
+    }
+
+    @Test
+    public void fetch_offsetBeyondSize_empty() {
+        Assert.assertEquals(0, getDataProvider()
+                .fetch(new Query<>(1000, 10, Collections.emptyList(), null,
+                        null))
+                .count());
+    }
+
+    @Test
+    public void backendChanged_visibleOnlyAfterRefresh() {
+        List<StrBean> items = new ArrayList<>(data);
+        ListDataProvider<StrBean> provider = new CachingListDataProvider<>(
+                items);
+        Assert.assertEquals(items.size(), provider.size(new Query<>()));
+
+        items.add(new StrBean("New", 1000, 0));
+        Assert.assertEquals(data.size(), provider.size(new Query<>()));
+
+        provider.refreshAll();
+        Assert.assertEquals(data.size() + 1, provider.size(new Query<>()));
+
+        items.remove(0);
+        provider.refreshItem(items.get(0));
+        Assert.assertEquals(data.size(), provider.size(new Query<>()));
+    }
+
+    @Test
+    public void concurrentQueries_moreViewsThanCached_sameResultsAsSequentialQueries()
+            throws Exception {
+        ListDataProvider<StrBean> plain = new ListDataProvider<>(data);
+        ListDataProvider<StrBean> provider = getDataProvider();
+        List<SerializablePredicate<StrBean>> filters = new ArrayList<>();
+        List<List<StrBean>> expected = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            int divisor = i + 2;
+            SerializablePredicate<StrBean> filter = bean -> bean.getId()
+                    % divisor == 0;
+            filters.add(filter);
+            expected.add(plain.fetch(new Query<>(0, 10,
+                    Collections.emptyList(), null, filter))
+                    .collect(Collectors.toList()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int index = i % filters.size();
+                futures.add(executor.submit(() -> {
+                    Assert.assertEquals(expected.get(index), provider
+                            .fetch(new Query<>(0, 10, Collections.emptyList(),
+                                    null, filters.get(index)))
+                            .collect(Collectors.toList()));
+                }));
+                if (i % 50 == 0) {
+                    provider.refreshAll();
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
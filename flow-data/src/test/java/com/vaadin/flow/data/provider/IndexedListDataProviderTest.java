@@ -0,0 +1,262 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.ValueProvider;
+
+public class IndexedListDataProviderTest extends ListDataProviderTest {
+
+    private static final String[] FILTERS = { "", "f", "Fo", "oo", "foo",
+            "BAR", "a", "ar", "xyz", "o" };
+
+    private final ValueProvider<StrBean, String> value = StrBean::getValue;
+
+    @Override
+    protected ListDataProvider<StrBean> createDataProvider() {
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                data);
+        provider.addTextIndex(value, Locale.ENGLISH);
+        return provider;
+    }
+
+    @Test
+    public void textIndex_sameItemsAsWithoutIndex() {
+        ListDataProvider<StrBean> plain = new ListDataProvider<>(data);
+        IndexedListDataProvider<StrBean> indexed = (IndexedListDataProvider<StrBean>) getDataProvider();
+
+        for (String filter : FILTERS) {
+            Assert.assertEquals(
+                    fetch(plain.filteringBySubstring(value, Locale.ENGLISH),
+                            filter),
+                    fetch(indexed.filteringBySubstring(value, Locale.ENGLISH),
+                            filter));
+            Assert.assertEquals(
+                    fetch(plain.filteringByPrefix(value, Locale.ENGLISH),
+                            filter),
+                    fetch(indexed.filteringByPrefix(value, Locale.ENGLISH),
+                            filter));
+            // Not indexed for another locale
+            Assert.assertEquals(
+                    fetch(plain.filteringBySubstring(value, Locale.GERMAN),
+                            filter),
+                    fetch(indexed.filteringBySubstring(value, Locale.GERMAN),
+                            filter));
+        }
+    }
+
+    @Test
+    public void textIndex_valuesReadOnlyOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        ValueProvider<StrBean, String> countingValue = bean -> {
+            calls.incrementAndGet();
+            return bean.getValue();
+        };
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                data);
+        provider.addTextIndex(countingValue, Locale.ENGLISH);
+        DataProvider<StrBean, String> filtering = provider
+                .filteringBySubstring(countingValue, Locale.ENGLISH);
+
+        for (String filter : FILTERS) {
+            fetch(filtering, filter);
+        }
+        Assert.assertEquals(data.size(), calls.get());
+
+        provider.refreshAll();
+        fetch(filtering, "foo");
+        Assert.assertEquals(data.size() * 2, calls.get());
+    }
+
+    @Test
+    public void sortIndex_sameOrderAsWithoutIndex() {
+        ListDataProvider<StrBean> plain = new ListDataProvider<>(data);
+        IndexedListDataProvider<StrBean> indexed = (IndexedListDataProvider<StrBean>) getDataProvider();
+        SerializableComparator<StrBean> ascending = indexed
+                .addSortIndex(StrBean::getRandomNumber);
+        SerializableComparator<StrBean> plainAscending = InMemoryDataProviderHelpers
+                .propertyComparator(StrBean::getRandomNumber,
+                        SortDirection.ASCENDING);
+
+        for (int offset : new int[] { 0, 10, 95 }) {
+            Assert.assertEquals(fetch(plain, offset, plainAscending),
+                    fetch(indexed, offset, ascending));
+            Assert.assertEquals(
+                    fetch(plain, offset, plainAscending.reversed()::compare),
+                    fetch(indexed, offset, reversed(ascending)));
+        }
+
+        plain.setFilter(bean -> bean.getId() % 3 == 0);
+        indexed.setFilter(bean -> bean.getId() % 3 == 0);
+        Assert.assertEquals(fetch(plain, 5, plainAscending.reversed()::compare),
+                fetch(indexed, 5, reversed(ascending)));
+    }
+
+    @Test
+    public void sortIndex_defaultSortOrder_sameOrderAsWithoutIndex() {
+        ListDataProvider<StrBean> plain = new ListDataProvider<>(data);
+        IndexedListDataProvider<StrBean> indexed = (IndexedListDataProvider<StrBean>) getDataProvider();
+        ValueProvider<StrBean, Integer> randomNumber = StrBean::getRandomNumber;
+        indexed.addSortIndex(randomNumber);
+
+        plain.setSortOrder(randomNumber, SortDirection.DESCENDING);
+        indexed.setSortOrder(randomNumber, SortDirection.DESCENDING);
+
+        Assert.assertEquals(fetch(plain, 0, null), fetch(indexed, 0, null));
+    }
+
+    @Test
+    public void itemChanged_visibleAfterRefresh() {
+        IndexedListDataProvider<StrBean> provider = (IndexedListDataProvider<StrBean>) getDataProvider();
+        DataProvider<StrBean, String> filtering = provider
+                .filteringByPrefix(value, Locale.ENGLISH);
+        Assert.assertEquals(0, fetch(filtering, "quu").size());
+
+        StrBean item = data.get(0);
+        item.setValue("Quux");
+        provider.refreshItem(item);
+
+        Assert.assertEquals(Collections.singletonList(item),
+                fetch(filtering, "quu"));
+    }
+
+    @Test
+    public void refreshItem_indexesUpdatedWithoutReadingOtherItems() {
+        AtomicInteger calls = new AtomicInteger();
+        ValueProvider<StrBean, String> countingValue = bean -> {
+            calls.incrementAndGet();
+            return bean.getValue();
+        };
+        IndexedListDataProvider<StrBean> provider = new IndexedListDataProvider<>(
+                data);
+        provider.addTextIndex(countingValue, Locale.ENGLISH);
+        SerializableComparator<StrBean> ascending = provider
+                .addSortIndex(countingValue);
+        DataProvider<StrBean, String> prefix = provider
+                .filteringByPrefix(countingValue, Locale.ENGLISH);
+        DataProvider<StrBean, String> substring = provider
+                .filteringBySubstring(countingValue, Locale.ENGLISH);
+        // Build all the indexes
+        fetch(prefix, "f");
+        fetch(substring, "foo");
+        fetch(provider, 0, ascending);
+        fetch(provider, 0, reversed(ascending));
+
+        StrBean item = data.get(data.size() / 2);
+        item.setValue("Quux");
+        calls.set(0);
+        provider.refreshItem(item);
+        Assert.assertTrue("Only the refreshed item should be read again",
+                calls.get() < data.size());
+
+        ListDataProvider<StrBean> plain = new ListDataProvider<>(data);
+        SerializableComparator<StrBean> plainAscending = InMemoryDataProviderHelpers
+                .propertyComparator(StrBean::getValue,
+                        SortDirection.ASCENDING);
+        for (String filter : new String[] { "quu", "uux", "foo", "f" }) {
+            Assert.assertEquals(
+                    fetch(plain.filteringByPrefix(value, Locale.ENGLISH),
+                            filter),
+                    fetch(prefix, filter));
+            Assert.assertEquals(
+                    fetch(plain.filteringBySubstring(value, Locale.ENGLISH),
+                            filter),
+                    fetch(substring, filter));
+        }
+        for (int offset = 0; offset < data.size(); offset += 10) {
+            Assert.assertEquals(fetch(plain, offset, plainAscending),
+                    fetch(provider, offset, ascending));
+            Assert.assertEquals(
+                    fetch(plain, offset, plainAscending.reversed()::compare),
+                    fetch(provider, offset, reversed(ascending)));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void filteringByPrefix_nullLocale_throws() {
+        ((IndexedListDataProvider<StrBean>) getDataProvider())
+                .filteringByPrefix(value, null);
+    }
+
+    @Test
+    public void concurrentQueries_sameResultsAsSequentialQueries()
+            throws Exception {
+        ListDataProvider<StrBean> plain = new ListDataProvider<>(data);
+        IndexedListDataProvider<StrBean> indexed = (IndexedListDataProvider<StrBean>) getDataProvider();
+        SerializableComparator<StrBean> ascending = indexed
+                .addSortIndex(StrBean::getRandomNumber);
+        List<StrBean> expectedSorted = fetch(plain, 0,
+                InMemoryDataProviderHelpers.propertyComparator(
+                        StrBean::getRandomNumber, SortDirection.ASCENDING));
+        List<StrBean> expectedFiltered = fetch(
+                plain.filteringBySubstring(value, Locale.ENGLISH), "foo");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 20; round++) {
+                indexed.refreshAll();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    futures.add(executor.submit(() -> {
+                        Assert.assertEquals(expectedFiltered,
+                                fetch(indexed.filteringBySubstring(value,
+                                        Locale.ENGLISH), "foo"));
+                        Assert.assertEquals(expectedSorted,
+                                fetch(indexed, 0, ascending));
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SerializableComparator<StrBean> reversed(
+            SerializableComparator<StrBean> comparator) {
+        // The reversed comparator of an indexed comparator is serializable
+        return (SerializableComparator<StrBean>) comparator.reversed();
+    }
+
+    private static List<StrBean> fetch(DataProvider<StrBean, String> provider,
+            String filter) {
+        return provider
+                .fetch(new Query<>(0, Integer.MAX_VALUE,
+                        Collections.emptyList(), null, filter))
+                .collect(Collectors.toList());
+    }
+
+    private static List<StrBean> fetch(ListDataProvider<StrBean> provider,
+            int offset, SerializableComparator<StrBean> sorting) {
+        return provider.fetch(new Query<>(offset, 10, Collections.emptyList(),
+                sorting, null)).collect(Collectors.toList());
+    }
+}
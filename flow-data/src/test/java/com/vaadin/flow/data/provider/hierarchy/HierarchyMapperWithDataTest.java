@@ -232,6 +232,59 @@ public class HierarchyMapperWithDataTest {
         verifyFetchIsCorrect(expectedResult, range);
     }
 
+    @Test
+    public void expandAndCollapse_indexMatchesFlatHierarchy() {
+        expand(testData.get(1));
+        expand(roots.get(2));
+        expand(roots.get(0));
+        expand(testData.get(1 + LEAF_COUNT + 1));
+        verifyIndex();
+
+        collapse(roots.get(2));
+        verifyIndex();
+
+        collapse(testData.get(1));
+        expand(roots.get(4));
+        verifyIndex();
+
+        collapse(roots.get(0));
+        expand(roots.get(0));
+        verifyIndex();
+    }
+
+    @Test
+    public void invalidateIndex_dataChanged_newDataIndexed() {
+        expand(roots.get(0));
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+
+        Node newRoot = new Node(testData.size());
+        data.addItem(null, newRoot);
+        data.removeItem(testData.get(1));
+        mapper.invalidateIndex();
+
+        assertEquals(ROOT_COUNT + PARENT_COUNT, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(ROOT_COUNT + PARENT_COUNT - 1),
+                mapper.getIndex(newRoot));
+        assertEquals(Integer.valueOf(-1), mapper.getIndex(testData.get(1)));
+        verifyIndex();
+    }
+
+    @Test
+    public void refreshIndex_childrenChanged_subtreeIndexedAgain() {
+        Node root = roots.get(0);
+        expand(root);
+        expand(testData.get(1));
+        verifyIndex();
+
+        Node newChild = new Node(testData.size(), root);
+        data.addItem(root, newChild);
+        mapper.refreshIndex(root, true);
+
+        assertEquals(ROOT_COUNT + PARENT_COUNT + LEAF_COUNT + 1,
+                mapper.getTreeSize());
+        verifyIndex();
+    }
+
     @Test
     public void getExpandedItems_expandSomeItems_returnsCorrectExpandedItems() {
 
@@ -296,6 +349,31 @@ public class HierarchyMapperWithDataTest {
         removeRows(mapper.collapse(node, mapper.getIndexOf(node).orElse(null)));
     }
 
+    private void verifyIndex() {
+        List<Node> expected = new ArrayList<>();
+        addVisibleItems(data.getRootItems(), expected);
+
+        assertEquals(expected.size(), mapper.getTreeSize());
+        assertEquals(expected, mapper
+                .fetchHierarchyItems(Range.withLength(0, expected.size() + 1))
+                .collect(Collectors.toList()));
+        for (int i = 0; i < expected.size(); i++) {
+            Node node = expected.get(i);
+            assertEquals(Integer.valueOf(i), mapper.getIndex(node));
+            assertEquals(Integer.valueOf(expected.indexOf(node.getParent())),
+                    mapper.getParentIndex(node));
+        }
+    }
+
+    private void addVisibleItems(List<Node> items, List<Node> visibleItems) {
+        for (Node item : items) {
+            visibleItems.add(item);
+            if (mapper.isExpanded(item)) {
+                addVisibleItems(data.getChildren(item), visibleItems);
+            }
+        }
+    }
+
     private void verifyFetchIsCorrect(List<Node> expectedResult, Range range) {
         List<Node> collect = mapper.fetchHierarchyItems(range)
                 .collect(Collectors.toList());
@@ -81,6 +81,8 @@ import com.vaadin.flow.shared.communication.PushMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import elemental.json.JsonObject;
+
 /**
  * Holds UI-specific methods and data which are intended for internal use by the
  * framework.
@@ -162,7 +164,7 @@ public class UIInternals implements Serializable {
      * Updated to the current time whenever the application receives a heartbeat
      * or UIDL request from the client for the related UI.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long lastHeartbeatTimestamp = System.currentTimeMillis();
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -199,6 +201,12 @@ public class UIInternals implements Serializable {
 
     private byte[] lastProcessedMessageHash = null;
 
+    /**
+     * Messages from the client that arrived before the messages preceding
+     * them, by client-to-server id. Only used when messages are pipelined.
+     */
+    private Map<Integer, PendingClientToServerMessage> pendingClientToServerMessages = null;
+
     private String contextRootRelativePath;
 
     private String appId;
@@ -258,7 +266,9 @@ public class UIInternals implements Serializable {
     }
 
     /**
-     * Gets the hash of the last processed message from the client.
+     * Gets the hash of the last processed message from the client. The hash is
+     * used only for recognizing a resent message and can be a checksum rather
+     * than a cryptographic hash.
      * <p>
      * The hash is set through
      * {@link #setLastProcessedClientToServerId(int, byte[])}.
@@ -289,6 +299,95 @@ public class UIInternals implements Serializable {
         this.lastProcessedMessageHash = lastProcessedMessageHash;
     }
 
+    /**
+     * Holds back a message from the client until the messages preceding it
+     * have been processed.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param clientToServerId
+     *            the id of the message
+     * @param message
+     *            the message
+     * @param messageHash
+     *            the hash of the message, see
+     *            {@link #getLastProcessedMessageHash()}
+     */
+    public void addPendingClientToServerMessage(int clientToServerId,
+            JsonObject message, byte[] messageHash) {
+        if (pendingClientToServerMessages == null) {
+            pendingClientToServerMessages = new HashMap<>();
+        }
+        pendingClientToServerMessages.put(clientToServerId,
+                new PendingClientToServerMessage(message, messageHash));
+    }
+
+    /**
+     * Checks whether a message from the client with the given id has been
+     * held back.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param clientToServerId
+     *            the id of the message
+     * @return <code>true</code> if the message has been held back,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasPendingClientToServerMessage(int clientToServerId) {
+        return pendingClientToServerMessages != null
+                && pendingClientToServerMessages.containsKey(clientToServerId);
+    }
+
+    /**
+     * Marks the held back message with the given id as processed, removing it
+     * and setting it as the last processed message.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param clientToServerId
+     *            the id of the message
+     * @return the message, or <code>null</code> if no message with the id has
+     *         been held back
+     */
+    public JsonObject processPendingClientToServerMessage(
+            int clientToServerId) {
+        if (pendingClientToServerMessages == null) {
+            return null;
+        }
+        PendingClientToServerMessage pending = pendingClientToServerMessages
+                .remove(clientToServerId);
+        if (pendingClientToServerMessages.isEmpty()) {
+            pendingClientToServerMessages = null;
+        }
+        if (pending == null) {
+            return null;
+        }
+        setLastProcessedClientToServerId(clientToServerId, pending.hash);
+        return pending.message;
+    }
+
+    /**
+     * Gets the number of held back messages from the client.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @return the number of held back messages
+     */
+    public int getPendingClientToServerMessageCount() {
+        return pendingClientToServerMessages == null ? 0
+                : pendingClientToServerMessages.size();
+    }
+
+    /**
+     * Discards all held back messages from the client, e.g. when the client
+     * is resynchronized.
+     * <p>
+     * Used internally for communication tracking.
+     */
+    public void clearPendingClientToServerMessages() {
+        pendingClientToServerMessages = null;
+    }
+
     /**
      * Gets the server sync id.
      * <p>
@@ -1234,4 +1333,16 @@ public class UIInternals implements Serializable {
             oldContent = oldChildren.get(oldContent);
         }
     }
+
+    private static final class PendingClientToServerMessage
+            implements Serializable {
+        private final JsonObject message;
+        private final byte[] hash;
+
+        private PendingClientToServerMessage(JsonObject message,
+                byte[] hash) {
+            this.message = message;
+            this.hash = hash;
+        }
+    }
 }
@@ -230,6 +230,149 @@ public interface DeploymentConfiguration
                 true);
     }
 
+    /**
+     * Checks whether UIDL responses should be streamed to the client.
+     * <p>
+     * When enabled, state tree changes are serialized to text as they are
+     * collected, instead of building the whole response as a JSON object tree
+     * before serializing it. A response to a client request is written to the
+     * client in chunks while it is serialized, so a failed serialization can
+     * only be replaced by a refresh notification if it fails before the first
+     * chunk has been sent. A push message is serialized to a string and sent
+     * as a whole. By default it is <code>false</code>.
+     *
+     * @return <code>true</code> to stream UIDL responses, <code>false</code>
+     *         to build them in memory before writing
+     */
+    default boolean isStreamingUidl() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_STREAMING_UIDL, false);
+    }
+
+    /**
+     * Checks whether state tree changes should be sent to the client in the
+     * compact format.
+     * <p>
+     * In the compact format each change is a positional JSON array instead of
+     * a JSON object with the same structural keys repeated for every change,
+     * which makes responses with many changes considerably smaller. By default
+     * it is <code>false</code>.
+     *
+     * @return <code>true</code> to send changes in the compact format,
+     *         <code>false</code> to send them as JSON objects
+     */
+    default boolean isCompactUidl() {
+        return getBooleanProperty(InitParameters.SERVLET_PARAMETER_COMPACT_UIDL,
+                false);
+    }
+
+    /**
+     * Checks whether sessions should be guarded by a
+     * {@link com.vaadin.flow.server.ReadWriteSessionLock}.
+     * <p>
+     * With a read-write lock, read-only requests such as heartbeats and stream
+     * resource lookups can be handled concurrently instead of waiting for
+     * each other. By default it is <code>false</code>.
+     *
+     * @return <code>true</code> to use a read-write session lock,
+     *         <code>false</code> to use an exclusive session lock
+     */
+    default boolean isReadWriteSessionLock() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_READ_WRITE_SESSION_LOCK,
+                false);
+    }
+
+    /**
+     * Checks whether pending access tasks enqueued using
+     * {@link com.vaadin.flow.server.VaadinSession#access(com.vaadin.flow.server.Command)}
+     * and the resulting pushes should be run by a background executor.
+     * <p>
+     * The executor uses virtual threads when they are available and a pool of
+     * platform threads otherwise. By default it is <code>false</code>, in
+     * which case the tasks are run by the thread enqueuing them if the session
+     * is not locked.
+     *
+     * @return <code>true</code> to run access tasks in a background executor,
+     *         <code>false</code> otherwise
+     */
+    default boolean isAsyncAccessTasks() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_ACCESS_TASKS, false);
+    }
+
+    /**
+     * Gets the time window within which changes to a UI with
+     * {@link com.vaadin.flow.shared.communication.PushMode#AUTOMATIC
+     * automatic} push are collected into a single push message.
+     * <p>
+     * By default it is <code>0</code>, which means that changes are pushed
+     * right away whenever the session is unlocked.
+     *
+     * @return the coalescing window in milliseconds, <code>0</code> or less to
+     *         disable coalescing
+     */
+    default int getPushCoalescingWindow() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_PUSH_COALESCING_WINDOW, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Gets the maximum size of the in-memory cache for the contents of static
+     * web application resources in
+     * {@value com.vaadin.flow.server.Constants#VAADIN_WEBAPP_RESOURCES}.
+     * <p>
+     * When positive and in production mode, the resources are indexed on
+     * startup and served without looking them up from the class loader. By
+     * default it is <code>0</code>, which means that every request is resolved
+     * through the class loader.
+     *
+     * @return the cache size in kilobytes, <code>0</code> or less to disable
+     *         the cache
+     */
+    default int getStaticResourceCacheSize() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Checks whether the client may send messages to the server while the
+     * responses to its previous messages are still on the way. The server
+     * then processes the messages in the order the client sent them, holding
+     * back a message that arrives before the ones preceding it.
+     * <p>
+     * By default it is <code>false</code>, in which case the client waits for
+     * the response to each message before sending the next one.
+     *
+     * @return <code>true</code> to let the client pipeline messages,
+     *         <code>false</code> otherwise
+     */
+    default boolean isPipelinedRpc() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_PIPELINED_RPC, false);
+    }
+
+    /**
+     * Checks whether the client applies the attribute, property, style and
+     * class name updates of a server response in time-sliced chunks, one chunk
+     * per animation frame, so that a large response doesn't block the browser
+     * in one long task. Elements are bound with their initial values right
+     * away and only later changes are batched.
+     * <p>
+     * By default it is <code>false</code>, in which case all updates are
+     * applied to the DOM while the response is handled.
+     *
+     * @return <code>true</code> to batch DOM updates per animation frame,
+     *         <code>false</code> otherwise
+     */
+    default boolean isFrameBatchedDomUpdates() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_FRAME_BATCHED_DOM_UPDATES,
+                false);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(InitParameters.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
@@ -16,9 +16,14 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
@@ -31,6 +36,10 @@ import elemental.json.JsonValue;
  * This is a way of deduplicating JSON values that are expected to be sent to
  * the same client multiple times, since all references to the same JSON
  * structure will be encoded as the same id.
+ * <p>
+ * Keys created using {@link #intern(JsonValue)} are shared by the whole
+ * application, so the same JSON structure used by many components in many UIs
+ * is stored and hashed only once.
  *
  * <p>
  * For internal use only. May be renamed or removed in a future release.
@@ -39,9 +48,22 @@ import elemental.json.JsonValue;
  * @since 1.0
  */
 public class ConstantPoolKey implements Serializable {
+    private static final ConcurrentMap<String, InternedKey> interned = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<ConstantPoolKey> collectedKeys = new ReferenceQueue<>();
+
     private final JsonValue json;
     private String id;
 
+    private static class InternedKey extends WeakReference<ConstantPoolKey> {
+        private final String json;
+
+        private InternedKey(ConstantPoolKey key, String json) {
+            super(key, collectedKeys);
+            this.json = json;
+        }
+    }
+
     /**
      * Creates a new constant pool key for the given JSON value. The value
      * should not be modified after this instance has been created since it
@@ -55,6 +77,48 @@ public class ConstantPoolKey implements Serializable {
         this.json = json;
     }
 
+    /**
+     * Gets a constant pool key for the given JSON value, shared with all other
+     * keys interned for an equal JSON value. The id of the key is computed
+     * only once for all of them. The value should not be modified after this
+     * method has been called.
+     *
+     * @param json
+     *            the JSON constant, not <code>null</code>
+     * @return the shared constant pool key for the value, not
+     *         <code>null</code>
+     */
+    public static ConstantPoolKey intern(JsonValue json) {
+        assert json != null;
+        return intern(json, json.toJson());
+    }
+
+    private static ConstantPoolKey intern(JsonValue json, String jsonString) {
+        purgeCollectedKeys();
+        while (true) {
+            InternedKey reference = interned.get(jsonString);
+            ConstantPoolKey key = reference == null ? null : reference.get();
+            if (key != null) {
+                return key;
+            }
+            key = new ConstantPoolKey(json);
+            key.id = calculateHash(jsonString);
+            InternedKey newReference = new InternedKey(key, jsonString);
+            if (reference == null
+                    ? interned.putIfAbsent(jsonString, newReference) == null
+                    : interned.replace(jsonString, reference, newReference)) {
+                return key;
+            }
+        }
+    }
+
+    private static void purgeCollectedKeys() {
+        Reference<? extends ConstantPoolKey> reference;
+        while ((reference = collectedKeys.poll()) != null) {
+            interned.remove(((InternedKey) reference).json, reference);
+        }
+    }
+
     /**
      * Gets the id used to identify the referenced JSON constant.
      *
@@ -62,7 +126,7 @@ public class ConstantPoolKey implements Serializable {
      */
     public String getId() {
         if (id == null) {
-            id = calculateHash(json);
+            id = calculateHash(json.toJson());
         }
         return id;
     }
@@ -80,16 +144,27 @@ public class ConstantPoolKey implements Serializable {
         clientConstantPoolUpdate.put(getId(), json);
     }
 
+    /**
+     * Replaces a deserialized key with the shared instance for its value.
+     *
+     * @return the key to use instead of the deserialized one, not
+     *         <code>null</code>
+     */
+    protected Object readResolve() {
+        return intern(json);
+    }
+
     /**
      * Calculates the key of a JSON value by Base 64 encoding the first 64 bits
      * of the SHA-256 digest of the JSON's string representation.
      *
      * @param json
-     *            the JSON to get a hash of, not <code>null</code>
+     *            the string representation of the JSON to get a hash of, not
+     *            <code>null</code>
      * @return the key uniquely identifying the given JSON value
      */
-    private static String calculateHash(JsonValue json) {
-        byte[] digest = MessageDigestUtil.sha256(json.toJson());
+    private static String calculateHash(String json) {
+        byte[] digest = MessageDigestUtil.sha256(json);
 
         /*
          * Only use first 64 bits to keep id string short (1 in 100 000 000
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * An insertion ordered set of state nodes based on node identity.
+ * <p>
+ * Replaces a <code>LinkedHashSet</code> for tracking dirty nodes. The nodes are
+ * kept in an array in the order they were added and an open addressing table
+ * of array indices is used for finding duplicates, so no entry objects are
+ * allocated per node. Nodes cannot be removed individually.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class DirtyNodeSet extends AbstractSet<StateNode>
+        implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private StateNode[] nodes = new StateNode[INITIAL_CAPACITY];
+
+    private int size;
+
+    /*
+     * Index into nodes plus one for each occupied slot. Identity hash codes
+     * are not preserved by serialization, so the table is rebuilt when
+     * deserializing.
+     */
+    private transient int[] table = new int[INITIAL_CAPACITY * 2];
+
+    @Override
+    public boolean add(StateNode node) {
+        assert node != null;
+        int mask = table.length - 1;
+        int i = slot(node, mask);
+        while (table[i] != 0) {
+            if (nodes[table[i] - 1] == node) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            nodes[size++] = node;
+            rebuildTable();
+        } else {
+            nodes[size++] = node;
+            table[i] = size;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof StateNode)) {
+            return false;
+        }
+        int mask = table.length - 1;
+        for (int i = slot(object, mask); table[i] != 0; i = (i + 1) & mask) {
+            if (nodes[table[i] - 1] == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<StateNode> iterator() {
+        return Collections
+                .unmodifiableList(Arrays.asList(nodes).subList(0, size))
+                .iterator();
+    }
+
+    private void rebuildTable() {
+        // The nodes array is at most half as long as the table
+        table = new int[nodes.length * 2];
+        int mask = table.length - 1;
+        for (int index = 0; index < size; index++) {
+            int i = slot(nodes[index], mask);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = index + 1;
+        }
+    }
+
+    private static int slot(Object node, int mask) {
+        int hash = System.identityHashCode(node);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        rebuildTable();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Maps positive node ids to state nodes without boxing the ids or allocating
+ * an entry object per node.
+ * <p>
+ * The map uses open addressing with linear probing. Removals shift the
+ * following entries back instead of leaving tombstones, so lookups never need
+ * to scan past removed entries.
+ * <p>
+ * Only the registered entries are serialized, the table is rebuilt when
+ * deserializing.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class NodeIdMap implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // 0 is never used as a node id and marks an empty slot
+    private transient int[] ids = new int[INITIAL_CAPACITY];
+
+    private transient StateNode[] nodes = new StateNode[INITIAL_CAPACITY];
+
+    private transient int size;
+
+    /**
+     * Gets the node registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the node with the given id, or <code>null</code> if there is no
+     *         such node
+     */
+    StateNode get(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mask = ids.length - 1;
+        for (int i = slot(id, mask); ids[i] != 0; i = (i + 1) & mask) {
+            if (ids[i] == id) {
+                return nodes[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a node is registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return <code>true</code> if there is a node with the given id,
+     *         <code>false</code> otherwise
+     */
+    boolean containsKey(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Registers a node with the given id, replacing any node previously
+     * registered with the same id.
+     *
+     * @param id
+     *            the node id, must be positive
+     * @param node
+     *            the node, not <code>null</code>
+     * @return the node previously registered with the id, or <code>null</code>
+     */
+    StateNode put(int id, StateNode node) {
+        assert id > 0 : "Node id must be positive";
+        assert node != null;
+
+        int mask = ids.length - 1;
+        int i = slot(id, mask);
+        while (ids[i] != 0) {
+            if (ids[i] == id) {
+                StateNode previous = nodes[i];
+                nodes[i] = node;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        ids[i] = id;
+        nodes[i] = node;
+        size++;
+        // Keep the load factor at most 1/2 to keep probe sequences short
+        if (size * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the node registered with the given id.
+     *
+     * @param id
+     *            the node id
+     * @return the removed node, or <code>null</code> if there was no node with
+     *         the given id
+     */
+    StateNode remove(int id) {
+        if (id <= 0) {
+            return null;
+        }
+        int mask = ids.length - 1;
+        int i = slot(id, mask);
+        while (ids[i] != id) {
+            if (ids[i] == 0) {
+                return null;
+            }
+            i = (i + 1) & mask;
+        }
+        StateNode removed = nodes[i];
+        size--;
+
+        // Shift back entries whose probe sequence passes the freed slot
+        int free = i;
+        for (int j = (i + 1) & mask; ids[j] != 0; j = (j + 1) & mask) {
+            int home = slot(ids[j], mask);
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                ids[free] = ids[j];
+                nodes[free] = nodes[j];
+                free = j;
+            }
+        }
+        ids[free] = 0;
+        nodes[free] = null;
+        return removed;
+    }
+
+    /**
+     * Gets the number of registered nodes.
+     *
+     * @return the number of nodes
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldIds = ids;
+        StateNode[] oldNodes = nodes;
+        ids = new int[capacity];
+        nodes = new StateNode[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldIds.length; j++) {
+            if (oldIds[j] != 0) {
+                int i = slot(oldIds[j], mask);
+                while (ids[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                ids[i] = oldIds[j];
+                nodes[i] = oldNodes[j];
+            }
+        }
+    }
+
+    private static int slot(int id, int mask) {
+        // Ids are mostly sequential, spread them over the table
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != 0) {
+                stream.writeInt(ids[i]);
+                stream.writeObject(nodes[i]);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int count = stream.readInt();
+        int capacity = INITIAL_CAPACITY;
+        while (count * 2 > capacity) {
+            capacity *= 2;
+        }
+        ids = new int[capacity];
+        nodes = new StateNode[capacity];
+        for (int i = 0; i < count; i++) {
+            put(stream.readInt(), (StateNode) stream.readObject());
+        }
+    }
+}
@@ -483,6 +483,10 @@ public class ResponseWriter implements Serializable {
         return accept.contains("*") && !isQualityValueZero(accept, "*");
     }
 
+    boolean isBrotliEnabled() {
+        return brotliEnabled;
+    }
+
     void writeContentType(String filenameWithPath, ServletRequest request,
             ServletResponse response) {
         // Set type mime type if we can determine it based on the filename
@@ -16,6 +16,9 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -140,7 +143,12 @@ public class StateNode implements Serializable {
      */
     private static final Map<FeatureSetKey, FeatureSet> featureSetCache = new ConcurrentHashMap<>();
 
-    private final FeatureSet featureSet;
+    /*
+     * Written as node feature ids and resolved through the cache when
+     * deserializing, so that deserialized nodes share the cached instances
+     * instead of each session carrying copies of the class sets and mappings.
+     */
+    private transient FeatureSet featureSet;
 
     /**
      * Node feature instances for this node, or a single item.
@@ -1160,4 +1168,44 @@ public class StateNode implements Serializable {
         return isAttached() && getOwner().hasNode(this);
     }
 
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        writeFeatureIds(stream, featureSet.reportedFeatures);
+        writeFeatureIds(stream, featureSet.mappings.keySet());
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        List<Class<? extends NodeFeature>> reportedFeatures = readFeatures(
+                stream);
+        List<Class<? extends NodeFeature>> allFeatures = readFeatures(stream);
+        @SuppressWarnings("unchecked")
+        Class<? extends NodeFeature>[] additionalFeatures = allFeatures
+                .toArray(new Class[allFeatures.size()]);
+        featureSet = featureSetCache.computeIfAbsent(
+                new FeatureSetKey(reportedFeatures, additionalFeatures),
+                FeatureSet::new);
+    }
+
+    private static void writeFeatureIds(ObjectOutputStream stream,
+            Set<Class<? extends NodeFeature>> featureTypes)
+            throws IOException {
+        stream.writeByte(featureTypes.size());
+        for (Class<? extends NodeFeature> featureType : featureTypes) {
+            stream.writeShort(NodeFeatureRegistry.getId(featureType));
+        }
+    }
+
+    private static List<Class<? extends NodeFeature>> readFeatures(
+            ObjectInputStream stream) throws IOException {
+        int count = stream.readByte();
+        List<Class<? extends NodeFeature>> featureTypes = new ArrayList<>(
+                count);
+        for (int i = 0; i < count; i++) {
+            featureTypes
+                    .add(NodeFeatureRegistry.getFeature(stream.readShort()));
+        }
+        return featureTypes;
+    }
 }
@@ -19,11 +19,8 @@ package com.vaadin.flow.internal;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -154,9 +151,9 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    private Set<StateNode> dirtyNodes = new DirtyNodeSet();
 
-    private final Map<Integer, StateNode> idToNode = new HashMap<>();
+    private final NodeIdMap idToNode = new NodeIdMap();
 
     private int nextId = 1;
 
@@ -230,7 +227,7 @@ public class StateTree implements NodeOwner {
     public void unregister(StateNode node) {
         assert node.getOwner() == this;
 
-        Integer id = node.getId();
+        int id = node.getId();
 
         StateNode removedNode = idToNode.remove(id);
 
@@ -280,7 +277,7 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
+        Set<StateNode> allDirtyNodes = new DirtyNodeSet();
         boolean evaluateNewDirtyNodes = true;
 
         // The updateActiveState method can create new dirty nodes, so they need
@@ -443,7 +440,7 @@ public class StateTree implements NodeOwner {
     private Set<StateNode> doCollectDirtyNodes(boolean reset) {
         if (reset) {
             Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
+            dirtyNodes = new DirtyNodeSet();
             return collectedNodes;
         } else {
             return Collections.unmodifiableSet(dirtyNodes);
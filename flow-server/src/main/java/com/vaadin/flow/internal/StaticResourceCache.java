@@ -0,0 +1,470 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.vaadin.flow.server.Constants.VAADIN_WEBAPP_RESOURCES;
+
+/**
+ * An index of the web application resources in
+ * {@value com.vaadin.flow.server.Constants#VAADIN_WEBAPP_RESOURCES} with an
+ * in-memory cache for the contents of small files.
+ * <p>
+ * The class path is scanned once when the cache is created, so looking up a
+ * resource does not involve the class loader and the size and modification
+ * time of a resource are known without opening a connection to it. Files up
+ * to {@value #MAX_CACHED_FILE_SIZE} bytes are kept in memory in least recently
+ * used order up to the given total size. Larger files are transferred directly
+ * from the file system when possible and streamed from their URL otherwise.
+ * <p>
+ * Pre-compressed <code>.br</code> and <code>.gz</code> siblings found in the
+ * index are served in the same way when the browser accepts them. Each
+ * encoding has an entity tag of its own.
+ * <p>
+ * Only <code>file:</code> and <code>jar:</code> class path roots can be
+ * indexed. Resources in other roots are not found in the cache and must be
+ * looked up through the class loader.
+ * <p>
+ * Since the resources are indexed only once, the cache is meant for production
+ * mode where the resources do not change while the application is running.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class StaticResourceCache implements Serializable {
+
+    /**
+     * The maximum size of a file for its contents to be cached in memory.
+     */
+    public static final int MAX_CACHED_FILE_SIZE = 64 * 1024;
+
+    private final Map<String, Resource> index;
+
+    private final ResponseWriter responseWriter;
+
+    private final long maxCacheSize;
+
+    private transient Map<Resource, byte[]> contents;
+
+    private transient long cachedSize;
+
+    /**
+     * An indexed web application resource.
+     */
+    public static final class Resource implements Serializable {
+        private final URL url;
+        private final File file;
+        private final long size;
+        private final long lastModified;
+        private final String eTag;
+        private final String encoding;
+        private Resource brotli;
+        private Resource gzip;
+
+        private Resource(URL url, File file, long size, long lastModified,
+                String encoding) {
+            this.url = url;
+            this.file = file;
+            this.size = size;
+            // Milliseconds are not included in the If-Modified-Since header
+            this.lastModified = lastModified - lastModified % 1000;
+            this.encoding = encoding;
+            eTag = "W/\"" + Long.toHexString(size) + "-"
+                    + Long.toHexString(lastModified)
+                    + (encoding == null ? "" : "-" + encoding) + "\"";
+        }
+
+        private Resource withEncoding(String encoding) {
+            return new Resource(url, file, size, lastModified, encoding);
+        }
+
+        /**
+         * Gets the URL of the resource.
+         *
+         * @return the resource URL, not <code>null</code>
+         */
+        public URL getUrl() {
+            return url;
+        }
+
+        /**
+         * Gets the modification timestamp of the resource without
+         * milliseconds.
+         *
+         * @return the modification timestamp
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Gets the entity tag of the resource.
+         *
+         * @return the entity tag, not <code>null</code>
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Gets the content encoding of the resource.
+         *
+         * @return the content encoding, e.g. <code>br</code> or
+         *         <code>gzip</code>, or <code>null</code> if the resource is
+         *         not compressed
+         */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * Checks whether the resource has pre-compressed variants, in which
+         * case the response depends on the <code>Accept-Encoding</code>
+         * header.
+         *
+         * @return <code>true</code> if there are compressed variants,
+         *         <code>false</code> otherwise
+         */
+        public boolean hasVariants() {
+            return brotli != null || gzip != null;
+        }
+    }
+
+    private StaticResourceCache(Map<String, Resource> index,
+            ResponseWriter responseWriter, long maxCacheSize) {
+        this.index = index;
+        this.responseWriter = responseWriter;
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * Creates a cache indexing the web application resources found by the
+     * given class loader.
+     * <p>
+     * If the same resource is present in several class path entries, the one
+     * found first is used like {@link ClassLoader#getResource(String)} does.
+     *
+     * @param classLoader
+     *            the class loader to find the resources with, not
+     *            <code>null</code>
+     * @param responseWriter
+     *            the writer to use for requests the cache does not handle
+     *            itself, not <code>null</code>
+     * @param maxCacheSize
+     *            the maximum total size in bytes of the file contents to keep
+     *            in memory
+     * @return the created cache, not <code>null</code>
+     */
+    public static StaticResourceCache create(ClassLoader classLoader,
+            ResponseWriter responseWriter, long maxCacheSize) {
+        Map<String, Resource> index = new HashMap<>();
+        try {
+            Enumeration<URL> roots = classLoader
+                    .getResources(VAADIN_WEBAPP_RESOURCES);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                try {
+                    indexRoot(root, index);
+                } catch (IOException | URISyntaxException
+                        | UncheckedIOException e) {
+                    getLogger().debug("Unable to index resources in {}", root,
+                            e);
+                }
+            }
+        } catch (IOException e) {
+            getLogger().debug("Unable to find web application resources", e);
+        }
+        index.forEach((path, resource) -> {
+            Resource brotli = index.get(path + ".br");
+            if (brotli != null) {
+                resource.brotli = brotli.withEncoding("br");
+            }
+            Resource gzip = index.get(path + ".gz");
+            if (gzip != null) {
+                resource.gzip = gzip.withEncoding("gzip");
+            }
+        });
+        getLogger().debug("Indexed {} web application resources",
+                index.size());
+        return new StaticResourceCache(index, responseWriter, maxCacheSize);
+    }
+
+    /**
+     * Gets the indexed resource with the given path.
+     *
+     * @param path
+     *            the path of the resource relative to
+     *            {@value com.vaadin.flow.server.Constants#VAADIN_WEBAPP_RESOURCES}
+     * @return the resource, or <code>null</code> if there is no such resource
+     */
+    public Resource getResource(String path) {
+        return index.get(path);
+    }
+
+    /**
+     * Checks whether the browser has the current version of the resource based
+     * on the <code>If-None-Match</code> header of the request.
+     *
+     * @param request
+     *            the request for the resource
+     * @param resource
+     *            the requested resource
+     * @return <code>true</code> if the browser has the current version,
+     *         <code>false</code> if it does not or the request has no
+     *         <code>If-None-Match</code> header
+     */
+    public boolean browserHasResource(HttpServletRequest request,
+            Resource resource) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if ("*".equals(tag) || resource.eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Selects the variant of the resource to send based on the encodings the
+     * browser accepts.
+     * <p>
+     * The uncompressed resource is selected for range requests since ranges
+     * of compressed files are not served.
+     *
+     * @param request
+     *            the request for the resource
+     * @param resource
+     *            the requested resource
+     * @return the pre-compressed variant of the resource, or the resource
+     *         itself if there is no acceptable variant
+     */
+    public Resource selectVariant(HttpServletRequest request,
+            Resource resource) {
+        if (request.getHeader("Range") != null) {
+            return resource;
+        }
+        if (resource.brotli != null && responseWriter.isBrotliEnabled()
+                && responseWriter.acceptsBrotliResource(request)) {
+            return resource.brotli;
+        }
+        if (resource.gzip != null
+                && responseWriter.acceptsGzippedResource(request)) {
+            return resource.gzip;
+        }
+        return resource;
+    }
+
+    /**
+     * Writes the contents and content type of the given resource to the
+     * response.
+     * <p>
+     * Range requests are delegated to
+     * {@link ResponseWriter#writeResponseContents(String, URL, HttpServletRequest, HttpServletResponse)}.
+     *
+     * @param filenameWithPath
+     *            the name of the file being sent
+     * @param resource
+     *            the resource or variant to send, as returned by
+     *            {@link #selectVariant(HttpServletRequest, Resource)}
+     * @param request
+     *            the request object to read from
+     * @param response
+     *            the response object to write to
+     * @throws IOException
+     *             if the servlet container threw an exception
+     */
+    public void writeResponseContents(String filenameWithPath,
+            Resource resource, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (request.getHeader("Range") != null) {
+            responseWriter.writeResponseContents(filenameWithPath,
+                    resource.url, request, response);
+            return;
+        }
+        responseWriter.writeContentType(filenameWithPath, request, response);
+        if (resource.encoding != null) {
+            response.setHeader("Content-Encoding", resource.encoding);
+        }
+
+        try {
+            response.setContentLengthLong(resource.size);
+            ServletOutputStream outputStream = response.getOutputStream();
+            if (resource.size <= MAX_CACHED_FILE_SIZE) {
+                outputStream.write(getContents(resource));
+            } else if (resource.file != null) {
+                transfer(resource, outputStream);
+            } else {
+                try (InputStream stream = resource.url.openStream()) {
+                    stream.transferTo(outputStream);
+                }
+            }
+        } catch (IOException e) {
+            getLogger().debug("Error writing static file to user", e);
+        }
+    }
+
+    private byte[] getContents(Resource resource) throws IOException {
+        synchronized (this) {
+            if (contents == null) {
+                contents = new LinkedHashMap<>(16, 0.75f, true);
+                cachedSize = 0;
+            }
+            byte[] cached = contents.get(resource);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] bytes;
+        try (InputStream stream = resource.url.openStream()) {
+            bytes = stream.readAllBytes();
+        }
+        if (bytes.length > maxCacheSize) {
+            return bytes;
+        }
+        synchronized (this) {
+            if (contents.putIfAbsent(resource, bytes) == null) {
+                cachedSize += bytes.length;
+                Iterator<byte[]> eldest = contents.values().iterator();
+                while (cachedSize > maxCacheSize) {
+                    cachedSize -= eldest.next().length;
+                    eldest.remove();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static void transfer(Resource resource,
+            ServletOutputStream outputStream) throws IOException {
+        // Containers do not expose the socket channel, but transferTo still
+        // avoids copying the file through a buffer of our own
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        try (FileChannel channel = FileChannel.open(resource.file.toPath(),
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position,
+                        size - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static void indexRoot(URL root, Map<String, Resource> index)
+            throws IOException, URISyntaxException {
+        if ("file".equals(root.getProtocol())) {
+            Path rootPath = Paths.get(root.toURI());
+            try (Stream<Path> files = Files.walk(rootPath)) {
+                files.filter(Files::isRegularFile).forEach(file -> {
+                    String path = rootPath.relativize(file).toString()
+                            .replace(File.separatorChar, '/');
+                    index.computeIfAbsent(path, key -> {
+                        try {
+                            return new Resource(file.toUri().toURL(),
+                                    file.toFile(), Files.size(file),
+                                    Files.getLastModifiedTime(file)
+                                            .toMillis(),
+                                    null);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                });
+            }
+        } else if ("jar".equals(root.getProtocol())) {
+            URLConnection connection = root.openConnection();
+            if (!(connection instanceof JarURLConnection)) {
+                return;
+            }
+            // The entry names are appended to the root as encoded paths so
+            // that characters like '#' and '?' stay part of the name
+            String rootUrl = root.toExternalForm();
+            if (!rootUrl.endsWith("/")) {
+                rootUrl += "/";
+            }
+            JarFile jarFile = ((JarURLConnection) connection).getJarFile();
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || entry.getSize() < 0
+                        || !name.startsWith(VAADIN_WEBAPP_RESOURCES)) {
+                    continue;
+                }
+                String path = name.substring(VAADIN_WEBAPP_RESOURCES.length());
+                if (!index.containsKey(path)) {
+                    // The leading slash keeps a ':' from being parsed as
+                    // the end of a scheme
+                    String encodedPath = new URI(null, null, "/" + path, null)
+                            .toASCIIString().substring(1);
+                    index.put(path,
+                            new Resource(new URL(rootUrl + encodedPath), null,
+                                    entry.getSize(), entry.getTime(), null));
+                }
+            }
+        } else {
+            getLogger().debug(
+                    "Resources in {} are not indexed and are looked up through the class loader",
+                    root);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(StaticResourceCache.class);
+    }
+}
@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -55,4 +56,17 @@ public class EmptyChange extends NodeFeatureChange {
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected int getCompactType() {
+        return JsonConstants.COMPACT_CHANGE_TYPE_NOOP;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+        json.set(json.length(),
+                NodeList.class.isAssignableFrom(getFeature()));
+    }
+
 }
@@ -129,4 +129,32 @@ public class ListAddChange<T extends Serializable>
         json.put(addKey, newItemsJson);
     }
 
+    @Override
+    protected int getCompactType() {
+        if (nodeValues) {
+            return JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES;
+        }
+        return JsonConstants.COMPACT_CHANGE_TYPE_SPLICE;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+
+        json.set(json.length(), getIndex());
+        // Nothing is removed
+        json.set(json.length(), 0);
+
+        Function<Object, JsonValue> mapper;
+        if (nodeValues) {
+            mapper = item -> Json.create(((StateNode) item).getId());
+        } else {
+            mapper = item -> JsonCodec.encodeWithConstantPool(item,
+                    constantPool);
+        }
+        json.set(json.length(),
+                newItems.stream().map(mapper).collect(JsonUtils.asArray()));
+    }
+
 }
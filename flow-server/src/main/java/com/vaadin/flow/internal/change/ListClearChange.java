@@ -59,4 +59,9 @@ public class ListClearChange<T extends Serializable>
         super.populateJson(json, constantPool);
     }
 
+    @Override
+    protected int getCompactType() {
+        return JsonConstants.COMPACT_CHANGE_TYPE_CLEAR;
+    }
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.change;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.nodefeature.NodeList;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Change describing an item that is moved to another position in a
+ * {@link NodeList list} node feature. The item is first removed from
+ * {@link #getFromIndex()} and then inserted at {@link #getIndex()}, which is
+ * relative to the list without the moved item.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ *
+ * @param <T>
+ *            the type of the items in the node list
+ */
+public class ListMoveChange<T extends Serializable>
+        extends AbstractListChange<T> {
+
+    private final int fromIndex;
+    private final T movedItem;
+
+    /**
+     * Creates a new list move change.
+     *
+     * @param list
+     *            the changed list
+     * @param fromIndex
+     *            the index the item is moved from
+     * @param index
+     *            the index the item is moved to
+     * @param movedItem
+     *            the moved item
+     */
+    public ListMoveChange(NodeList<T> list, int fromIndex, int index,
+            T movedItem) {
+        super(list, index);
+        this.fromIndex = fromIndex;
+        this.movedItem = movedItem;
+    }
+
+    /**
+     * Gets the index the item is moved from.
+     *
+     * @return the index the item is moved from
+     */
+    public int getFromIndex() {
+        return fromIndex;
+    }
+
+    /**
+     * Gets the moved item.
+     * <p>
+     * This method is public only for testing reasons.
+     *
+     * @return the moved item
+     */
+    public T getMovedItem() {
+        return movedItem;
+    }
+
+    @Override
+    public AbstractListChange<T> copy(int indx) {
+        return new ListMoveChange<>(getNodeList(), fromIndex, indx, movedItem);
+    }
+
+    @Override
+    protected void populateJson(JsonObject json, ConstantPool constantPool) {
+        json.put(JsonConstants.CHANGE_TYPE, JsonConstants.CHANGE_TYPE_MOVE);
+
+        super.populateJson(json, constantPool);
+
+        json.put(JsonConstants.CHANGE_MOVE_FROM, fromIndex);
+        json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
+    }
+
+    @Override
+    protected int getCompactType() {
+        return JsonConstants.COMPACT_CHANGE_TYPE_MOVE;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+
+        json.set(json.length(), fromIndex);
+        json.set(json.length(), getIndex());
+    }
+}
@@ -21,6 +21,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -80,4 +81,18 @@ public class ListRemoveChange<T extends Serializable>
         json.put(JsonConstants.CHANGE_SPLICE_INDEX, getIndex());
         json.put(JsonConstants.CHANGE_SPLICE_REMOVE, 1);
     }
+
+    @Override
+    protected int getCompactType() {
+        return JsonConstants.COMPACT_CHANGE_TYPE_SPLICE;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+
+        json.set(json.length(), getIndex());
+        json.set(json.length(), 1);
+    }
 }
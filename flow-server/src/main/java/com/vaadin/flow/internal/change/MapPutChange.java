@@ -23,6 +23,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -93,4 +94,26 @@ public class MapPutChange extends NodeFeatureChange {
                     JsonCodec.encodeWithConstantPool(value, constantPool));
         }
     }
+
+    @Override
+    protected int getCompactType() {
+        if (value instanceof StateNode) {
+            return JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE;
+        }
+        return JsonConstants.COMPACT_CHANGE_TYPE_PUT;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+
+        json.set(json.length(), key);
+        if (value instanceof StateNode) {
+            json.set(json.length(), ((StateNode) value).getId());
+        } else {
+            json.set(json.length(),
+                    JsonCodec.encodeWithConstantPool(value, constantPool));
+        }
+    }
 }
@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -67,4 +68,17 @@ public class MapRemoveChange extends NodeFeatureChange {
 
         json.put(JsonConstants.CHANGE_MAP_KEY, key);
     }
+
+    @Override
+    protected int getCompactType() {
+        return JsonConstants.COMPACT_CHANGE_TYPE_REMOVE;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        super.populateCompactJson(json, constantPool);
+
+        json.set(json.length(), key);
+    }
 }
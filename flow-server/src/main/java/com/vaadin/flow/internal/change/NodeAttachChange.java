@@ -20,6 +20,7 @@ import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -46,4 +47,15 @@ public class NodeAttachChange extends NodeChange {
     protected void populateJson(JsonObject json, ConstantPool constantPool) {
         json.put(JsonConstants.CHANGE_TYPE, JsonConstants.CHANGE_TYPE_ATTACH);
     }
+
+    @Override
+    protected int getCompactType() {
+        return JsonConstants.COMPACT_CHANGE_TYPE_ATTACH;
+    }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        // Only the node id is needed
+    }
 }
@@ -23,7 +23,9 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class describing a change to a state node.
@@ -74,6 +76,66 @@ public abstract class NodeChange implements Serializable {
         return json;
     }
 
+    /**
+     * Serializes this change to a compact JSON array. The array starts with the
+     * compact change type id and the node id, followed by the values specific
+     * to the change type in a fixed order.
+     * <p>
+     * A change type which has no compact representation, i.e. which does not
+     * override {@link #getCompactType()}, is serialized as a JSON object in the
+     * same way as by {@link #toJson(ConstantPool)}.
+     *
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     *
+     * @return a compact json representation of this change
+     */
+    public JsonValue toCompactJson(ConstantPool constantPool) {
+        int compactType = getCompactType();
+        if (compactType < 0) {
+            return toJson(constantPool);
+        }
+
+        JsonArray json = Json.createArray();
+
+        json.set(0, compactType);
+        json.set(1, node.getId());
+
+        populateCompactJson(json, constantPool);
+
+        return json;
+    }
+
+    /**
+     * Gets the id identifying the type of this change in the compact format.
+     * The default implementation returns <code>-1</code>, which means that
+     * there is no compact representation and the change is serialized as a
+     * JSON object instead.
+     *
+     * @return the compact change type id, or <code>-1</code> if this change
+     *         has no compact representation
+     */
+    protected int getCompactType() {
+        return -1;
+    }
+
+    /**
+     * Overridden by subclasses to append the type specific values to a compact
+     * JSON array when serializing. The default implementation appends nothing.
+     *
+     * @param json
+     *            the json array to append to, already containing the type id
+     *            and the node id
+     * @param constantPool
+     *            the constant pool to use for serializing constant pool
+     *            references
+     */
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        // No type specific values by default
+    }
+
     /**
      * Overridden by subclasses to populate a JSON object when serializing.
      *
@@ -22,6 +22,7 @@ import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 /**
@@ -62,4 +63,10 @@ public abstract class NodeFeatureChange extends NodeChange {
         json.put(JsonConstants.CHANGE_FEATURE,
                 Json.create(NodeFeatureRegistry.getId(feature)));
     }
+
+    @Override
+    protected void populateCompactJson(JsonArray json,
+            ConstantPool constantPool) {
+        json.set(json.length(), NodeFeatureRegistry.getId(feature));
+    }
 }
@@ -386,8 +386,8 @@ public class ElementListenerMap extends NodeMap {
         JsonObject eventSettingsJson = JsonUtils.createObject(eventSettings,
                 ExpressionSettings::toJson);
 
-        ConstantPoolKey constantPoolKey = new ConstantPoolKey(
-                eventSettingsJson);
+        ConstantPoolKey constantPoolKey = ConstantPoolKey
+                .intern(eventSettingsJson);
 
         put(eventType, constantPoolKey);
     }
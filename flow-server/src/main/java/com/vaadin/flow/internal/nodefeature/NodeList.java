@@ -71,12 +71,35 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
 
         @Override
         public void remove() {
+            snapshotClientValues();
             arrayIterator.remove();
+            itemRemoved(index, current);
             addChange(new ListRemoveChange<>(NodeList.this, index, current));
             index--;
         }
     }
 
+    /**
+     * Change tracker which can also remember the items the client had before
+     * the tracked changes, so that the changes can be compacted into a diff.
+     * The items are copied only when the first item is removed, since the diff
+     * is never used for changes that only add items.
+     *
+     * @param <T>
+     *            the type of the items in the list
+     */
+    private static class ListChangeTracker<T extends Serializable>
+            extends ArrayList<AbstractListChange<T>> {
+
+        private List<T> clientValues;
+
+        private boolean clientValuesKnown;
+
+        private ListChangeTracker(boolean clientValuesKnown) {
+            this.clientValuesKnown = clientValuesKnown;
+        }
+    }
+
     /**
      * Provides access to a {@link NodeList} as a {@link Set}.
      *
@@ -139,8 +162,23 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         }
     }
 
+    /**
+     * The minimum number of tracked changes for which the changes are compacted
+     * by diffing the list against the items that the client has.
+     */
+    private static final int DIFF_CHANGE_THRESHOLD = 16;
+
     private List<T> values;
 
+    /*
+     * Positions of node values by identity. Only the positions before
+     * positionsValidUpTo are up to date, the rest are refreshed on the next
+     * lookup.
+     */
+    private transient Map<T, Integer> positions;
+
+    private transient int positionsValidUpTo;
+
     private boolean isRemoveAllCalled;
 
     private boolean isPopulated;
@@ -215,6 +253,7 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
 
         List<? extends T> itemsList = new ArrayList<>(items);
 
+        getChangeTracker();
         ensureValues();
 
         int startIndex = values.size();
@@ -233,8 +272,12 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
      *            the item to insert
      */
     protected void add(int index, T item) {
+        getChangeTracker();
         ensureValues();
         values.add(index, item);
+        if (index < positionsValidUpTo) {
+            positionsValidUpTo = index;
+        }
 
         addChange(new ListAddChange<>(this, isNodeValues(), index,
                 Collections.singletonList(item)));
@@ -252,7 +295,9 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
             throw new IndexOutOfBoundsException();
         }
 
+        snapshotClientValues();
         T removed = values.remove(index);
+        itemRemoved(index, removed);
 
         addChange(new ListRemoveChange<>(this, index, removed));
 
@@ -271,7 +316,58 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
      * @return the list to track changes in
      */
     protected List<AbstractListChange<T>> getChangeTracker() {
-        return getNode().getChangeTracker(this, ArrayList::new);
+        return getNode().getChangeTracker(this,
+                () -> new ListChangeTracker<>(isNodeValues()));
+    }
+
+    /**
+     * Copies the items the client has into the change tracker, unless already
+     * done. Must be called before an item is removed from the list.
+     */
+    private void snapshotClientValues() {
+        List<AbstractListChange<T>> tracker = getChangeTracker();
+        if (!(tracker instanceof ListChangeTracker<?>)) {
+            return;
+        }
+        ListChangeTracker<T> listTracker = (ListChangeTracker<T>) tracker;
+        if (!listTracker.clientValuesKnown
+                || listTracker.clientValues != null) {
+            return;
+        }
+        // No item has been removed yet, so the client has the current items
+        // except those added after the changes were last collected
+        Set<T> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AbstractListChange<T> change : tracker) {
+            if (change instanceof ListAddChange<?>) {
+                added.addAll(((ListAddChange<T>) change).getNewItems());
+            }
+        }
+        List<T> clientValues = new ArrayList<>(size());
+        if (values != null) {
+            for (T value : values) {
+                if (!added.contains(value)) {
+                    clientValues.add(value);
+                }
+            }
+        }
+        listTracker.clientValues = clientValues;
+    }
+
+    private void forgetClientValues() {
+        List<AbstractListChange<T>> tracker = getChangeTracker();
+        if (tracker instanceof ListChangeTracker<?>) {
+            ((ListChangeTracker<T>) tracker).clientValuesKnown = false;
+            ((ListChangeTracker<T>) tracker).clientValues = null;
+        }
+    }
+
+    private void itemRemoved(int index, T item) {
+        if (positions != null) {
+            positions.remove(item);
+            if (index < positionsValidUpTo) {
+                positionsValidUpTo = index;
+            }
+        }
     }
 
     private void addChange(AbstractListChange<T> change) {
@@ -289,6 +385,58 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
 
     @Override
     public void collectChanges(Consumer<NodeChange> collector) {
+        List<AbstractListChange<T>> tracker = getChangeTracker();
+        List<AbstractListChange<T>> changes;
+        if (shouldDiff(tracker)) {
+            changes = NodeListDiff.diff(this,
+                    ((ListChangeTracker<T>) tracker).clientValues,
+                    values == null ? Collections.<T> emptyList() : values);
+        } else {
+            changes = compactChanges(tracker);
+        }
+
+        if (isPopulated) {
+            changes.forEach(collector);
+        } else {
+            if (changes.isEmpty()) {
+                collector.accept(new EmptyChange(this));
+            } else {
+                changes.forEach(collector);
+            }
+            isPopulated = true;
+        }
+    }
+
+    /**
+     * Checks whether the tracked changes should be replaced by a diff between
+     * the items the client has and the current items. Collapsing removed items
+     * into earlier changes re-indexes all the changes in between, so a diff is
+     * cheaper when many items are removed and added again, e.g. when the list
+     * is reordered.
+     */
+    private boolean shouldDiff(List<AbstractListChange<T>> tracker) {
+        if (!isPopulated || !(tracker instanceof ListChangeTracker<?>)
+                || tracker.size() < DIFF_CHANGE_THRESHOLD) {
+            return false;
+        }
+        List<T> clientValues = ((ListChangeTracker<T>) tracker).clientValues;
+        if (clientValues == null) {
+            return false;
+        }
+        long removeCount = 0;
+        for (AbstractListChange<T> change : tracker) {
+            if (change instanceof ListClearChange<?>) {
+                // The client removes also the items the server doesn't know
+                return false;
+            } else if (change instanceof ListRemoveChange<?>) {
+                removeCount++;
+            }
+        }
+        return removeCount * tracker.size() > clientValues.size() + size();
+    }
+
+    private List<AbstractListChange<T>> compactChanges(
+            List<AbstractListChange<T>> tracker) {
         // This map contains items wrapped by AbstractListChanges as keys and
         // index in the following allChanges list as a value (it allows to get
         // AbstractListChange by the index)
@@ -300,7 +448,7 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         // changes in between will be adjusted
         List<AbstractListChange<T>> allChanges = new ArrayList<>();
         int index = 0;
-        for (AbstractListChange<T> change : getChangeTracker()) {
+        for (AbstractListChange<T> change : tracker) {
             if (change instanceof ListRemoveChange<?>) {
                 // the remove change => find an appropriate "add" event, adjust
                 // it and adjust everything in between
@@ -326,21 +474,8 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
             index++;
         }
 
-        List<AbstractListChange<T>> changes;
-
-        changes = allChanges.stream().filter(this::acceptChange)
+        return allChanges.stream().filter(this::acceptChange)
                 .collect(Collectors.toList());
-
-        if (isPopulated) {
-            changes.forEach(collector);
-        } else {
-            if (changes.isEmpty()) {
-                collector.accept(new EmptyChange(this));
-            } else {
-                changes.forEach(collector);
-            }
-            isPopulated = true;
-        }
     }
 
     private boolean acceptChange(AbstractListChange<T> change) {
@@ -366,6 +501,8 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         }
         if (values != null) {
             assert !values.isEmpty();
+            // The client doesn't have any of the items yet
+            forgetClientValues();
             getChangeTracker().add(new ListAddChange<>(this, isNodeValues(), 0,
                     new ArrayList<>(values)));
         } else if (!isPopulated) {
@@ -389,12 +526,15 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
      * Removes all nodes, including those not known by the server.
      */
     protected void clear() {
+        positions = null;
         if (values != null) {
             values.clear();
             values = null;
         }
 
         isRemoveAllCalled = true;
+        // The client removes also the items the server doesn't know
+        forgetClientValues();
         addChange(new ListClearChange<>(this));
     }
 
@@ -410,7 +550,22 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
         if (values == null) {
             return -1;
         }
-        return values.indexOf(value);
+        if (!isNodeValues()) {
+            return values.indexOf(value);
+        }
+        if (positions == null) {
+            positions = new IdentityHashMap<>();
+            positionsValidUpTo = 0;
+        }
+        Integer position = positions.get(value);
+        if (position == null || position >= positionsValidUpTo) {
+            for (int i = positionsValidUpTo; i < values.size(); i++) {
+                positions.put(values.get(i), i);
+            }
+            positionsValidUpTo = values.size();
+            position = positions.get(value);
+        }
+        return position == null ? -1 : position;
     }
 
     /**
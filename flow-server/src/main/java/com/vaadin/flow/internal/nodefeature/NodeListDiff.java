@@ -0,0 +1,248 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.internal.nodefeature;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.flow.internal.change.AbstractListChange;
+import com.vaadin.flow.internal.change.ListAddChange;
+import com.vaadin.flow.internal.change.ListMoveChange;
+import com.vaadin.flow.internal.change.ListRemoveChange;
+
+/**
+ * Computes the changes that turn one list of nodes into another one, using
+ * remove, add and move operations.
+ * <p>
+ * Items are compared by identity. Removed items are reported first, from the
+ * last index to the first. The items that keep their relative order (the
+ * longest increasing subsequence of their old positions) stay in place, and
+ * every other item is moved or added right before its successor in the new
+ * list, from the last item to the first. Positions are tracked with a Fenwick
+ * tree, so the whole diff takes {@code O(n log n)} time for {@code n} items.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class NodeListDiff {
+
+    private NodeListDiff() {
+        // Only static helpers here
+    }
+
+    /**
+     * Computes the changes to apply to a list containing {@code from} items to
+     * make it contain {@code to} items. The changes are to be applied in order,
+     * and the index of each change is relative to the list with the preceding
+     * changes applied.
+     *
+     * @param <T>
+     *            the type of the items in the list
+     * @param list
+     *            the list to create the changes for
+     * @param from
+     *            the items before the changes, not {@code null}
+     * @param to
+     *            the items after the changes, not {@code null}
+     * @return a list of changes, not {@code null}
+     */
+    static <T extends Serializable> List<AbstractListChange<T>> diff(
+            NodeList<T> list, List<T> from, List<T> to) {
+        List<AbstractListChange<T>> changes = new ArrayList<>();
+
+        Map<T, Integer> targetIndices = new IdentityHashMap<>(to.size());
+        for (int i = 0; i < to.size(); i++) {
+            targetIndices.put(to.get(i), i);
+        }
+
+        int[] retainedTargets = new int[from.size()];
+        int retained = 0;
+        for (int i = 0; i < from.size(); i++) {
+            Integer target = targetIndices.get(from.get(i));
+            if (target != null) {
+                retainedTargets[retained++] = target;
+            }
+        }
+        for (int i = from.size() - 1; i >= 0; i--) {
+            T item = from.get(i);
+            if (!targetIndices.containsKey(item)) {
+                changes.add(new ListRemoveChange<>(list, i, item));
+            }
+        }
+        // Old position of each item in "to", among the retained items, or -1
+        // for new items
+        int[] oldPositions = new int[to.size()];
+        Arrays.fill(oldPositions, -1);
+        for (int i = 0; i < retained; i++) {
+            oldPositions[retainedTargets[i]] = i;
+        }
+
+        boolean[] stable = findStable(oldPositions);
+
+        // Items that are not stable are inserted right before the next stable
+        // item. Slots order every item that is in the list at some point: the
+        // inserted items anchored to an item come right before it.
+        int[] anchorCounts = new int[retained + 1];
+        int[] anchors = new int[to.size()];
+        int nextStable = retained;
+        for (int i = to.size() - 1; i >= 0; i--) {
+            if (stable[i]) {
+                nextStable = oldPositions[i];
+            } else {
+                anchors[i] = nextStable;
+                anchorCounts[nextStable]++;
+            }
+        }
+        int[] anchorSlots = new int[retained + 1];
+        int slotCount = 0;
+        for (int key = 0; key <= retained; key++) {
+            anchorSlots[key] = slotCount;
+            slotCount += anchorCounts[key] + 1;
+        }
+        int[] insertSlots = new int[to.size()];
+        for (int i = 0; i < to.size(); i++) {
+            if (!stable[i]) {
+                insertSlots[i] = anchorSlots[anchors[i]]++;
+            }
+        }
+        // anchorSlots[key] is now the slot of the retained item itself
+
+        PositionTree positions = new PositionTree(slotCount);
+        for (int key = 0; key < retained; key++) {
+            positions.add(anchorSlots[key], 1);
+        }
+
+        List<T> pendingAdd = new ArrayList<>();
+        int pendingAddIndex = -1;
+        for (int i = to.size() - 1; i >= 0; i--) {
+            if (stable[i]) {
+                continue;
+            }
+            T item = to.get(i);
+            if (oldPositions[i] >= 0) {
+                int oldSlot = anchorSlots[oldPositions[i]];
+                int fromIndex = positions.countBefore(oldSlot);
+                positions.add(oldSlot, -1);
+                int toIndex = positions.countBefore(insertSlots[i]);
+                positions.add(insertSlots[i], 1);
+                if (fromIndex != toIndex) {
+                    pendingAddIndex = flushAdd(list, changes, pendingAdd,
+                            pendingAddIndex);
+                    changes.add(new ListMoveChange<>(list, fromIndex, toIndex,
+                            item));
+                }
+            } else {
+                int toIndex = positions.countBefore(insertSlots[i]);
+                positions.add(insertSlots[i], 1);
+                if (toIndex != pendingAddIndex) {
+                    flushAdd(list, changes, pendingAdd, pendingAddIndex);
+                    pendingAddIndex = toIndex;
+                }
+                pendingAdd.add(item);
+            }
+        }
+        flushAdd(list, changes, pendingAdd, pendingAddIndex);
+        return changes;
+    }
+
+    private static <T extends Serializable> int flushAdd(NodeList<T> list,
+            List<AbstractListChange<T>> changes, List<T> pendingAdd,
+            int index) {
+        if (!pendingAdd.isEmpty()) {
+            // Items were collected from the last one to the first one
+            List<T> items = new ArrayList<>(pendingAdd);
+            Collections.reverse(items);
+            changes.add(new ListAddChange<>(list, list.isNodeValues(), index,
+                    items));
+            pendingAdd.clear();
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the items that can stay in place: the longest increasing
+     * subsequence of the old positions of the retained items.
+     */
+    private static boolean[] findStable(int[] oldPositions) {
+        int length = oldPositions.length;
+        boolean[] stable = new boolean[length];
+        // tails[k] is the index of the smallest tail of an increasing
+        // subsequence of length k + 1
+        int[] tails = new int[length];
+        int[] previous = new int[length];
+        int longest = 0;
+        for (int i = 0; i < length; i++) {
+            int position = oldPositions[i];
+            if (position < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = longest;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (oldPositions[tails[middle]] < position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == longest) {
+                longest++;
+            }
+        }
+        int index = longest > 0 ? tails[longest - 1] : -1;
+        while (index >= 0) {
+            stable[index] = true;
+            index = previous[index];
+        }
+        return stable;
+    }
+
+    /**
+     * Fenwick tree counting the items in the slots before a given slot.
+     */
+    private static class PositionTree {
+        private final int[] tree;
+
+        private PositionTree(int size) {
+            tree = new int[size + 1];
+        }
+
+        private void add(int slot, int delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int countBefore(int slot) {
+            int count = 0;
+            for (int i = slot; i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+    }
+}
@@ -17,9 +17,12 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -64,11 +67,14 @@ public abstract class NodeMap extends NodeFeature {
         // Named set instead of put to avoid incompatibility with HashMap where
         // put returns the previous value
         void set(String key, Serializable value);
+
+        Serializable remove(String key);
     }
 
     private static class SingleValue implements Values {
 
-        private final String key;
+        // null after the value has been removed
+        private String key;
 
         private Serializable value;
 
@@ -80,7 +86,7 @@ public abstract class NodeMap extends NodeFeature {
 
         @Override
         public int size() {
-            return 1;
+            return key == null ? 0 : 1;
         }
 
         @Override
@@ -94,24 +100,155 @@ public abstract class NodeMap extends NodeFeature {
 
         @Override
         public Set<String> keySet() {
+            if (key == null) {
+                return Collections.emptySet();
+            }
             return Collections.singleton(key);
         }
 
         @Override
         public boolean containsKey(String key) {
-            return this.key.equals(key);
+            return this.key != null && this.key.equals(key);
         }
 
         @Override
         public Stream<Serializable> streamValues() {
+            if (key == null) {
+                return Stream.empty();
+            }
             return Stream.of(value);
         }
 
         @Override
         public void set(String key, Serializable value) {
-            assert key.equals(this.key);
+            assert this.key == null || key.equals(this.key);
+            this.key = key;
             this.value = value;
         }
+
+        @Override
+        public Serializable remove(String key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            Serializable oldValue = value;
+            this.key = null;
+            value = null;
+            return oldValue;
+        }
+    }
+
+    /**
+     * Stores a few values in parallel arrays which are scanned linearly. Uses
+     * considerably less memory than a hash map for the typical element with
+     * only a handful of properties or attributes.
+     */
+    private static class ArrayValues implements Values {
+
+        private static final int MAX_SIZE = 8;
+
+        private String[] keys;
+
+        private Serializable[] values;
+
+        private int size;
+
+        public ArrayValues(Values previousValues) {
+            keys = new String[Math.max(2, previousValues.size() + 1)];
+            values = new Serializable[keys.length];
+            previousValues.keySet()
+                    .forEach(key -> set(key, previousValues.get(key)));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new KeySet();
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return Arrays.stream(values, 0, size);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            if (size == keys.length) {
+                int length = Math.min(MAX_SIZE, size * 2);
+                keys = Arrays.copyOf(keys, length);
+                values = Arrays.copyOf(values, length);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        @Override
+        public Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+            int moved = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+            return oldValue;
+        }
+
+        boolean isFull() {
+            return size == MAX_SIZE;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private class KeySet extends AbstractSet<String>
+                implements Serializable {
+            @Override
+            public Iterator<String> iterator() {
+                return Arrays.asList(keys).subList(0, size).iterator();
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return key instanceof String && containsKey((String) key);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
     }
 
     private static class HashMapValues extends HashMap<String, Serializable>
@@ -144,6 +281,11 @@ public abstract class NodeMap extends NodeFeature {
         public Stream<Serializable> streamValues() {
             return super.values().stream();
         }
+
+        @Override
+        public Serializable remove(String key) {
+            return super.remove(key);
+        }
     }
 
     private Values values;
@@ -199,11 +341,15 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
+        // Optimize memory use when there's only one or a few keys
         if (values == null) {
             values = new SingleValue(key, value);
         } else {
             if (values instanceof SingleValue && !values.containsKey(key)) {
+                values = new ArrayValues(values);
+            } else if (values instanceof ArrayValues
+                    && ((ArrayValues) values).isFull()
+                    && !values.containsKey(key)) {
                 values = new HashMapValues(values);
             }
             values.set(key, value);
@@ -341,23 +487,14 @@ public abstract class NodeMap extends NodeFeature {
      */
     protected Serializable remove(String key) {
         setChanged(key);
-        Serializable oldValue;
 
         if (values == null) {
             return null;
-        } else if (values instanceof SingleValue) {
-            oldValue = values.get(key);
-            if (values.containsKey(key)) {
-                values = null;
-            }
-        } else {
-            assert values instanceof HashMapValues;
-            HashMapValues hashMapValues = (HashMapValues) values;
-            oldValue = hashMapValues.remove(key);
+        }
 
-            if (hashMapValues.isEmpty()) {
-                values = null;
-            }
+        Serializable oldValue = values.remove(key);
+        if (values.isEmpty()) {
+            values = null;
         }
 
         detatchPotentialChild(oldValue);
@@ -523,4 +660,9 @@ public abstract class NodeMap extends NodeFeature {
         return values instanceof SingleValue;
     }
 
+    // Exposed for testing purposes
+    boolean usesArrayMap() {
+        return values instanceof ArrayValues;
+    }
+
 }
@@ -1457,6 +1457,13 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             appConfig.put("maxMessageSuspendTimeout",
                     deploymentConfiguration.getMaxMessageSuspendTimeout());
 
+            if (deploymentConfiguration.isPipelinedRpc()) {
+                appConfig.put("pipelinedRpc", true);
+            }
+            if (deploymentConfiguration.isFrameBatchedDomUpdates()) {
+                appConfig.put("frameBatchedDomUpdates", true);
+            }
+
             boolean sendUrlsAsParameters = deploymentConfiguration
                     .isSendUrlsAsParameters();
             if (!sendUrlsAsParameters) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link StreamVariable} whose value is streamed to a
+ * {@link WritableByteChannel} instead of an {@link OutputStream}.
+ * <p>
+ * The upload handler writes the received chunks directly to the channel
+ * returned by {@link #getChannel()}, e.g. a {@link FileChannel} opened with
+ * {@link #openFile(Path)}, so that the data doesn't go through intermediate
+ * stream wrappers. Like with {@link StreamVariable#getOutputStream()}, writing
+ * to the channel is not synchronized by the handler.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public interface ChannelStreamVariable extends StreamVariable {
+
+    /**
+     * Invoked when a new upload arrives, after
+     * {@link #streamingStarted(StreamingStartEvent)} method has been called.
+     * The implementation will write the streamed variable to the returned
+     * channel and close it when the streaming ends.
+     *
+     * @return channel to which the uploaded file should be written
+     * @throws IOException
+     *             if the channel cannot be opened
+     */
+    WritableByteChannel getChannel() throws IOException;
+
+    /**
+     * Gets an output stream writing to the channel returned by
+     * {@link #getChannel()}. The upload handler uses the channel directly, this
+     * method is only for code which expects a {@link StreamVariable}.
+     *
+     * @return stream to which the uploaded file should be written
+     */
+    @Override
+    default OutputStream getOutputStream() {
+        try {
+            return Channels.newOutputStream(getChannel());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a file channel for writing the upload to the given file. The file
+     * is created if it doesn't exist and truncated if it does.
+     *
+     * @param file
+     *            the file to write to, not {@code null}
+     * @return a file channel for writing to the file
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    static FileChannel openFile(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
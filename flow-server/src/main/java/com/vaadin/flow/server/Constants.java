@@ -232,6 +232,14 @@ public final class Constants implements Serializable {
     public static final String TEMPLATE_DIRECTORY = Constants.VAADIN_CONFIGURATION
             + "templates/";
 
+    /**
+     * Default resource directory to place the PWA icons rendered at build time
+     * in. The icons are served from here instead of being generated from the
+     * icon image on startup.
+     */
+    public static final String PWA_ICONS_DIRECTORY = Constants.VAADIN_CONFIGURATION
+            + "pwa-icons/";
+
     /**
      * Name of the <code>npm</code> main file.
      */
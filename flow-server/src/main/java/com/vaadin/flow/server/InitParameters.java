@@ -73,6 +73,60 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses are serialized as the state changes are collected instead of
+     * first being built as a JSON object tree.
+     */
+    public static final String SERVLET_PARAMETER_STREAMING_UIDL = "streamingUidl";
+
+    /**
+     * Configuration name for the parameter that determines whether state tree
+     * changes are sent to the client as compact positional arrays instead of
+     * JSON objects with named keys.
+     */
+    public static final String SERVLET_PARAMETER_COMPACT_UIDL = "compactUidl";
+
+    /**
+     * Configuration name for the parameter that determines whether sessions
+     * are guarded by a lock which allows shared access for read-only requests.
+     */
+    public static final String SERVLET_PARAMETER_READ_WRITE_SESSION_LOCK = "readWriteSessionLock";
+
+    /**
+     * Configuration name for the parameter that determines whether pending
+     * access tasks and the resulting pushes are run by a background executor
+     * instead of the thread enqueuing the task.
+     */
+    public static final String SERVLET_PARAMETER_ASYNC_ACCESS_TASKS = "asyncAccessTasks";
+
+    /**
+     * Configuration name for the parameter that determines the time window in
+     * milliseconds within which automatic pushes to a UI are coalesced.
+     */
+    public static final String SERVLET_PARAMETER_PUSH_COALESCING_WINDOW = "pushCoalescingWindow";
+
+    /**
+     * Configuration name for the parameter that determines the maximum size in
+     * kilobytes of the in-memory cache for static web application resources in
+     * production mode.
+     */
+    public static final String SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE = "staticResourceCacheSize";
+
+    /**
+     * Configuration name for the parameter that determines whether the client
+     * may send a new message to the server before the responses to its
+     * previous messages have arrived.
+     */
+    public static final String SERVLET_PARAMETER_PIPELINED_RPC = "pipelinedRpc";
+
+    /**
+     * Configuration name for the parameter that determines whether the client
+     * applies DOM updates from server responses in chunks aligned with
+     * animation frames instead of all at once.
+     */
+    public static final String SERVLET_PARAMETER_FRAME_BATCHED_DOM_UPDATES = "frameBatchedDomUpdates";
+
     /**
      * Configuration name for the WebPack profile statistics json file to use to
      * determine template contents.
@@ -19,13 +19,16 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
 import org.jsoup.nodes.Element;
 
 /**
@@ -59,6 +62,7 @@ public class PwaIcon implements Serializable {
     private String baseName;
     private Domain domain;
     private byte[] data;
+    private URL dataUrl;
 
     private final Map<String, String> attributes = new HashMap<>();
     private String tag = "link";
@@ -227,6 +231,31 @@ public class PwaIcon implements Serializable {
         }
     }
 
+    /**
+     * Sets the image presenting the icon to an already rendered png resource.
+     * The resource is only read when the icon is written for the first time.
+     *
+     * @param image
+     *            the URL of the image in png format
+     * @param fileHash
+     *            the hash of the image data
+     */
+    void setImage(URL image, long fileHash) {
+        data = null;
+        dataUrl = image;
+        this.fileHash = fileHash;
+        setRelativeName();
+    }
+
+    /**
+     * Gets the hash of the image data.
+     *
+     * @return the hash of the image data
+     */
+    long getFileHash() {
+        return fileHash;
+    }
+
     /**
      * Writes the icon image to output stream.
      *
@@ -235,7 +264,7 @@ public class PwaIcon implements Serializable {
      */
     public void write(OutputStream outputStream) {
         try {
-            outputStream.write(data);
+            outputStream.write(getData());
         } catch (IOException ioe) {
             throw new UncheckedIOException(
                     "Failed to store the icon image into the stream provided",
@@ -243,4 +272,14 @@ public class PwaIcon implements Serializable {
         }
     }
 
+    private byte[] getData() throws IOException {
+        byte[] bytes = data;
+        if (bytes == null && dataUrl != null) {
+            try (InputStream stream = dataUrl.openStream()) {
+                bytes = IOUtils.toByteArray(stream);
+            }
+            data = bytes;
+        }
+        return bytes;
+    }
 }
@@ -23,24 +23,34 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.experimental.FeatureFlags;
+import com.vaadin.flow.di.Lookup;
+import com.vaadin.flow.di.ResourceProvider;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
@@ -74,6 +84,10 @@ public class PwaRegistry implements Serializable {
     private static final String ORIENTATION_PORTRAIT = "portrait";
     private static final String ORIENTATION_LANDSCAPE = "landscape";
     private static final String WORKBOX_CACHE_FORMAT = "{ url: '%s', revision: '%s' }";
+    private static final String PWA_ICONS_INDEX = "icons.json";
+    private static final String INDEX_ICON_PATH = "iconPath";
+    private static final String INDEX_LOGO_HASH = "logoHash";
+    private static final String INDEX_ICONS = "icons";
 
     private String offlineHtml = "";
     private String manifestJson = "";
@@ -123,18 +137,28 @@ public class PwaRegistry implements Serializable {
 
             // Load base logo from servlet context if available
             // fall back to local image if unavailable
-            BufferedImage baseImage = getBaseImage(logo);
-
-            if (baseImage == null) {
-                LoggerFactory.getLogger(PwaRegistry.class).error(
-                        "Image is not found or can't be loaded: " + logo);
+            byte[] logoData = getLogoData(logo);
+
+            // Use the icons rendered at build time if they were rendered
+            // from the same image, otherwise render them now
+            List<PwaIcon> prerenderedIcons = getPrerenderedIcons(
+                    servletContext, logoData);
+            if (prerenderedIcons != null) {
+                icons = prerenderedIcons;
             } else {
-                // Pick top-left pixel as fill color if needed for image
-                // resizing
-                int bgColor = baseImage.getRGB(0, 0);
-
-                // initialize icons
-                icons = initializeIcons(baseImage, bgColor);
+                BufferedImage baseImage = ImageIO
+                        .read(new ByteArrayInputStream(logoData));
+                if (baseImage == null) {
+                    getLogger().error(
+                            "Image is not found or can't be loaded: " + logo);
+                } else {
+                    // Pick top-left pixel as fill color if needed for image
+                    // resizing
+                    int bgColor = baseImage.getRGB(0, 0);
+
+                    // initialize icons
+                    icons = initializeIcons(baseImage, bgColor);
+                }
             }
 
             // Load offline page as string, from servlet context if
@@ -175,8 +199,109 @@ public class PwaRegistry implements Serializable {
         return icons;
     }
 
-    private BufferedImage drawIconImage(BufferedImage baseImage, int bgColor,
-            PwaIcon icon) {
+    private List<PwaIcon> getPrerenderedIcons(ServletContext servletContext,
+            byte[] logoData) throws IOException {
+        Lookup lookup = new VaadinServletContext(servletContext)
+                .getAttribute(Lookup.class);
+        ResourceProvider resourceProvider = lookup == null ? null
+                : lookup.lookup(ResourceProvider.class);
+        if (resourceProvider == null) {
+            return null;
+        }
+        String iconsDirectory = Constants.VAADIN_SERVLET_RESOURCES
+                + Constants.PWA_ICONS_DIRECTORY;
+        URL indexUrl = resourceProvider
+                .getApplicationResource(iconsDirectory + PWA_ICONS_INDEX);
+        if (indexUrl == null) {
+            return null;
+        }
+        JsonObject index;
+        try (InputStream stream = indexUrl.openStream()) {
+            index = Json.parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+        }
+        String iconPath = pwaConfiguration.getIconPath();
+        if (!iconPath.equals(index.getString(INDEX_ICON_PATH))
+                || (int) index.getNumber(INDEX_LOGO_HASH) != Arrays
+                        .hashCode(logoData)) {
+            getLogger().debug(
+                    "The prerendered PWA icons do not match '{}', rendering the icons on startup",
+                    iconPath);
+            return null;
+        }
+        JsonObject fileHashes = index.getObject(INDEX_ICONS);
+        List<PwaIcon> prerenderedIcons = new ArrayList<>();
+        for (PwaIcon icon : getIconTemplates(iconPath)) {
+            URL image = resourceProvider.getApplicationResource(
+                    iconsDirectory + getPrerenderedIconName(icon));
+            if (image == null || !fileHashes.hasKey(icon.getSizes())) {
+                getLogger().debug(
+                        "The prerendered PWA icon {} is missing, rendering the icons on startup",
+                        icon.getSizes());
+                return null;
+            }
+            icon.setImage(image,
+                    (long) fileHashes.getNumber(icon.getSizes()));
+            prerenderedIcons.add(icon);
+        }
+        return prerenderedIcons;
+    }
+
+    /**
+     * Renders the PWA icons for the given icon path into
+     * {@link Constants#PWA_ICONS_DIRECTORY} inside the given directory. The
+     * registry serves these icons instead of rendering them on startup as
+     * long as the icon image found at runtime is the same one.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param iconPath
+     *            the icon path of the PWA configuration
+     * @param logoData
+     *            the contents of the icon image
+     * @param outputDirectory
+     *            the directory to write the icons into, typically the
+     *            {@code META-INF/VAADIN} folder of the build output
+     * @throws IOException
+     *             if the image can't be read or the icons can't be written
+     */
+    public static void writePrerenderedIcons(String iconPath, byte[] logoData,
+            File outputDirectory) throws IOException {
+        BufferedImage baseImage = ImageIO
+                .read(new ByteArrayInputStream(logoData));
+        if (baseImage == null) {
+            throw new IOException(
+                    "Image can't be loaded for the icon path " + iconPath);
+        }
+        File iconsDirectory = new File(outputDirectory,
+                Constants.PWA_ICONS_DIRECTORY);
+        if (!iconsDirectory.isDirectory() && !iconsDirectory.mkdirs()) {
+            throw new IOException(
+                    "Unable to create directory " + iconsDirectory);
+        }
+        int bgColor = baseImage.getRGB(0, 0);
+        JsonObject fileHashes = Json.createObject();
+        for (PwaIcon icon : getIconTemplates(iconPath)) {
+            icon.setImage(drawIconImage(baseImage, bgColor, icon));
+            try (OutputStream stream = new FileOutputStream(
+                    new File(iconsDirectory, getPrerenderedIconName(icon)))) {
+                icon.write(stream);
+            }
+            fileHashes.put(icon.getSizes(), icon.getFileHash());
+        }
+        JsonObject index = Json.createObject();
+        index.put(INDEX_ICON_PATH, iconPath);
+        index.put(INDEX_LOGO_HASH, Arrays.hashCode(logoData));
+        index.put(INDEX_ICONS, fileHashes);
+        Files.write(new File(iconsDirectory, PWA_ICONS_INDEX).toPath(),
+                index.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getPrerenderedIconName(PwaIcon icon) {
+        return icon.getSizes() + ".png";
+    }
+
+    private static BufferedImage drawIconImage(BufferedImage baseImage,
+            int bgColor, PwaIcon icon) {
         BufferedImage bimage = new BufferedImage(icon.getWidth(),
                 icon.getHeight(), BufferedImage.TYPE_INT_ARGB);
         // Draw the image on to the buffered image
@@ -391,11 +516,13 @@ public class PwaRegistry implements Serializable {
         }
     }
 
-    private BufferedImage getBaseImage(URL logo) throws IOException {
+    private byte[] getLogoData(URL logo) throws IOException {
         URLConnection logoResource = logo != null ? logo.openConnection()
                 : BootstrapHandler.class.getResource("default-logo.png")
                         .openConnection();
-        return ImageIO.read(logoResource.getInputStream());
+        try (InputStream stream = logoResource.getInputStream()) {
+            return IOUtils.toByteArray(stream);
+        }
     }
 
     /**
@@ -472,6 +599,10 @@ public class PwaRegistry implements Serializable {
         return pwaConfiguration;
     }
 
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(PwaRegistry.class);
+    }
+
     static List<PwaIcon> getIconTemplates(String baseName) {
         List<PwaIcon> icons = new ArrayList<>();
         // Basic manifest icons for android support
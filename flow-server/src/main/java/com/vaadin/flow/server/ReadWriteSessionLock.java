@@ -0,0 +1,250 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A session lock which separates exclusive access from shared, read-only
+ * access.
+ * <p>
+ * The exclusive lock is the {@link ReentrantLock} itself, so the lock can be
+ * used everywhere a regular session lock is expected and all the inherited
+ * methods, including the queue inspection methods such as
+ * {@link #hasQueuedThreads()}, report the state of the exclusive lock. The
+ * shared lock returned by {@link #readLock()} can be held by several threads at
+ * the same time and is meant for request handlers which only read session
+ * state, such as heartbeats and stream resource lookups. Code holding only the
+ * shared lock must not modify the state tree or any other session state.
+ * <p>
+ * The holder of the exclusive lock additionally holds the write lock of an
+ * internal read-write lock, which keeps out the holders of the shared lock.
+ * Threads waiting only for the shared lock are thus not reported by the queue
+ * inspection methods.
+ * <p>
+ * A thread holding only the shared lock cannot acquire the exclusive lock,
+ * since such an upgrade would deadlock as soon as two threads attempt it.
+ * {@link #lock()} fails in that case while the <code>tryLock</code> methods
+ * just fail to acquire the lock.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class ReadWriteSessionLock extends ReentrantLock {
+
+    private final ReentrantReadWriteLock sharedAccess = new ReentrantReadWriteLock();
+
+    /**
+     * A condition of the exclusive lock which also lets the holders of the
+     * shared lock in while waiting.
+     */
+    private class ExclusiveCondition implements Condition {
+
+        private final Condition condition = ReadWriteSessionLock.super
+                .newCondition();
+
+        @Override
+        public void await() throws InterruptedException {
+            sharedAccess.writeLock().unlock();
+            try {
+                condition.await();
+            } finally {
+                sharedAccess.writeLock().lock();
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            sharedAccess.writeLock().unlock();
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                sharedAccess.writeLock().lock();
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            sharedAccess.writeLock().unlock();
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                sharedAccess.writeLock().lock();
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit)
+                throws InterruptedException {
+            sharedAccess.writeLock().unlock();
+            try {
+                return condition.await(time, unit);
+            } finally {
+                sharedAccess.writeLock().lock();
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            sharedAccess.writeLock().unlock();
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                sharedAccess.writeLock().lock();
+            }
+        }
+
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+    }
+
+    /**
+     * Gets the shared lock. The shared lock can be held simultaneously by
+     * several threads as long as no thread holds the exclusive lock.
+     *
+     * @return the shared lock, not <code>null</code>
+     */
+    public Lock readLock() {
+        return sharedAccess.readLock();
+    }
+
+    /**
+     * Checks whether the current thread holds either the shared or the
+     * exclusive lock.
+     *
+     * @return <code>true</code> if the current thread holds the shared or the
+     *         exclusive lock, <code>false</code> otherwise
+     */
+    public boolean isReadOrWriteHeldByCurrentThread() {
+        return sharedAccess.getReadHoldCount() > 0 || isHeldByCurrentThread();
+    }
+
+    @Override
+    public void lock() {
+        checkNoUpgrade();
+        super.lock();
+        if (getHoldCount() == 1) {
+            sharedAccess.writeLock().lock();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        checkNoUpgrade();
+        super.lockInterruptibly();
+        if (getHoldCount() > 1) {
+            return;
+        }
+        boolean acquired = false;
+        try {
+            sharedAccess.writeLock().lockInterruptibly();
+            acquired = true;
+        } finally {
+            if (!acquired) {
+                super.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (!super.tryLock()) {
+            return false;
+        }
+        if (getHoldCount() > 1 || sharedAccess.writeLock().tryLock()) {
+            return true;
+        }
+        super.unlock();
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!super.tryLock(timeout, unit)) {
+            return false;
+        }
+        if (getHoldCount() > 1) {
+            return true;
+        }
+        boolean acquired = false;
+        try {
+            acquired = sharedAccess.writeLock().tryLock(
+                    deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } finally {
+            if (!acquired) {
+                super.unlock();
+            }
+        }
+        return acquired;
+    }
+
+    @Override
+    public void unlock() {
+        if (getHoldCount() == 1) {
+            sharedAccess.writeLock().unlock();
+        }
+        super.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new ExclusiveCondition();
+    }
+
+    @Override
+    public boolean hasWaiters(Condition condition) {
+        return super.hasWaiters(unwrap(condition));
+    }
+
+    @Override
+    public int getWaitQueueLength(Condition condition) {
+        return super.getWaitQueueLength(unwrap(condition));
+    }
+
+    @Override
+    protected Collection<Thread> getWaitingThreads(Condition condition) {
+        return super.getWaitingThreads(unwrap(condition));
+    }
+
+    private static Condition unwrap(Condition condition) {
+        return condition instanceof ExclusiveCondition
+                ? ((ExclusiveCondition) condition).condition
+                : condition;
+    }
+
+    private void checkNoUpgrade() {
+        if (sharedAccess.getReadHoldCount() > 0 && !isHeldByCurrentThread()) {
+            throw new IllegalStateException(
+                    "Cannot acquire the exclusive session lock while holding "
+                            + "the shared session lock");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Creates the lock instance used for guarding access to a {@link VaadinSession}.
+ * <p>
+ * The strategy is resolved by {@link VaadinService#createSessionLockStrategy()}
+ * which first looks for an implementation using
+ * {@link com.vaadin.flow.di.Lookup} and then falls back to either a plain
+ * {@link ReentrantLock} or a {@link ReadWriteSessionLock} depending on
+ * {@link com.vaadin.flow.function.DeploymentConfiguration#isReadWriteSessionLock()}.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@FunctionalInterface
+public interface SessionLockStrategy extends Serializable {
+
+    /**
+     * Creates a new lock for the given wrapped session. The lock is stored in
+     * the wrapped session and shared by all service instances using the
+     * session.
+     *
+     * @param wrappedSession
+     *            the wrapped session the lock is created for, not
+     *            <code>null</code>
+     * @return a new lock instance, not <code>null</code>
+     */
+    ReentrantLock createLock(WrappedSession wrappedSession);
+}
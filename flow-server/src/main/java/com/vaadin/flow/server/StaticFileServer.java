@@ -43,6 +43,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.DevModeHandler;
 import com.vaadin.flow.internal.DevModeHandlerManager;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.internal.StaticResourceCache;
 
 import static com.vaadin.flow.server.Constants.VAADIN_MAPPING;
 import static com.vaadin.flow.server.Constants.VAADIN_WEBAPP_RESOURCES;
@@ -70,6 +71,7 @@ public class StaticFileServer implements StaticFileHandler {
     private final VaadinService vaadinService;
     private DeploymentConfiguration deploymentConfiguration;
     private DevModeHandler devModeHandler;
+    private final StaticResourceCache resourceCache;
 
     // Matcher to match string starting with '/themes/[theme-name]/'
     public static final Pattern APP_THEME_PATTERN = Pattern
@@ -92,6 +94,15 @@ public class StaticFileServer implements StaticFileHandler {
 
         this.devModeHandler = DevModeHandlerManager
                 .getDevModeHandler(vaadinService).orElse(null);
+
+        int cacheSize = deploymentConfiguration.getStaticResourceCacheSize();
+        if (cacheSize > 0 && deploymentConfiguration.isProductionMode()) {
+            resourceCache = StaticResourceCache.create(
+                    vaadinService.getClassLoader(), responseWriter,
+                    cacheSize * 1024L);
+        } else {
+            resourceCache = null;
+        }
     }
 
     private boolean resourceIsDirectory(URL resource) {
@@ -246,17 +257,31 @@ public class StaticFileServer implements StaticFileHandler {
             return true;
         }
 
-        URL resourceUrl = null;
+        String webappPath = null;
         if (APP_THEME_PATTERN.matcher(filenameWithPath).find()) {
-            resourceUrl = vaadinService.getClassLoader()
-                    .getResource(VAADIN_WEBAPP_RESOURCES + "VAADIN/static/"
-                            + filenameWithPath.replaceFirst("^/", ""));
-
+            webappPath = "VAADIN/static/"
+                    + filenameWithPath.replaceFirst("^/", "");
         } else if (!"/index.html".equals(filenameWithPath)) {
             // index.html needs to be handled by IndexHtmlRequestHandler
+            webappPath = filenameWithPath.replaceFirst("^/", "");
+        }
+
+        if (resourceCache != null && webappPath != null) {
+            StaticResourceCache.Resource resource = resourceCache
+                    .getResource(webappPath);
+            if (resource != null) {
+                serveCachedResource(filenameWithPath, resource, request,
+                        response);
+                return true;
+            }
+            // Roots that cannot be indexed, e.g. vfs: or bundle:, are still
+            // found through the class loader
+        }
+
+        URL resourceUrl = null;
+        if (webappPath != null) {
             resourceUrl = vaadinService.getClassLoader()
-                    .getResource(VAADIN_WEBAPP_RESOURCES
-                            + filenameWithPath.replaceFirst("^/", ""));
+                    .getResource(VAADIN_WEBAPP_RESOURCES + webappPath);
         }
 
         if (resourceUrl == null) {
@@ -299,6 +324,36 @@ public class StaticFileServer implements StaticFileHandler {
         return true;
     }
 
+    private void serveCachedResource(String filenameWithPath,
+            StaticResourceCache.Resource resource,
+            HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // Intentionally writing cache headers also for 304 responses
+        writeCacheHeaders(filenameWithPath, response);
+        if (resource.hasVariants()) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        StaticResourceCache.Resource variant = resourceCache
+                .selectVariant(request, resource);
+        response.setDateHeader("Last-Modified", variant.getLastModified());
+        response.setHeader("ETag", variant.getETag());
+
+        boolean notModified;
+        if (request.getHeader("If-None-Match") != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            notModified = resourceCache.browserHasResource(request, variant);
+        } else {
+            notModified = browserHasNewestVersion(request,
+                    variant.getLastModified());
+        }
+        if (notModified) {
+            response.setStatus(HttpStatusCode.NOT_MODIFIED.getCode());
+            return;
+        }
+        resourceCache.writeResponseContents(filenameWithPath, variant,
+                request, response);
+    }
+
     /**
      * Returns a URL to the static Web resource at the given URI or null if no
      * file found.
@@ -159,7 +159,7 @@ public class StreamResourceRegistry implements Serializable {
      *         been registered with this URI
      */
     public Optional<AbstractStreamResource> getResource(URI uri) {
-        session.checkHasLock();
+        session.checkHasSharedLock();
         return Optional.ofNullable(res.get(uri));
     }
 
@@ -177,7 +177,7 @@ public class StreamResourceRegistry implements Serializable {
      */
     public <T extends AbstractStreamResource> Optional<T> getResource(
             Class<T> type, URI uri) {
-        session.checkHasLock();
+        session.checkHasSharedLock();
         AbstractStreamResource abstractStreamResource = res.get(uri);
         if (abstractStreamResource != null
                 && type.isAssignableFrom(abstractStreamResource.getClass())) {
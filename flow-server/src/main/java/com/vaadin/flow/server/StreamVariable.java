@@ -63,6 +63,13 @@ public interface StreamVariable extends Serializable {
     /**
      * This method is called if {@link #listenProgress()} returns true when the
      * streaming starts.
+     * <p>
+     * The method is called with the session locked. Events during the upload
+     * are rate limited and, when the UI of the upload is known, delivered
+     * through {@link com.vaadin.flow.component.UI#access(Command)}, so an event
+     * may be skipped if a newer one is available before the UI is free. The
+     * event for the end of the file is always delivered before
+     * {@link #streamingFinished(StreamingEndEvent)}.
      *
      * @param event
      *            streaming progress event
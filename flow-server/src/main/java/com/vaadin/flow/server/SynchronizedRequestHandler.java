@@ -35,6 +35,15 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
             return false;
         }
 
+        if (isSharedLockSufficient(request)) {
+            session.lockShared();
+            try {
+                return synchronizedHandleRequest(session, request, response);
+            } finally {
+                session.unlockShared();
+            }
+        }
+
         session.lock();
         try {
             return synchronizedHandleRequest(session, request, response);
@@ -85,4 +94,21 @@ public abstract class SynchronizedRequestHandler implements RequestHandler {
         return true;
     }
 
+    /**
+     * Checks whether the given request only needs shared access to the
+     * session. If so, the session is locked using
+     * {@link VaadinSession#lockShared()} instead of {@link VaadinSession#lock()}
+     * so that several such requests can be handled concurrently when the
+     * session is guarded by a {@link ReadWriteSessionLock}. The default
+     * implementation returns <code>false</code>.
+     *
+     * @param request
+     *            the request to handle
+     * @return <code>true</code> if the request handling only reads the
+     *         session state, <code>false</code> if it needs exclusive access
+     */
+    protected boolean isSharedLockSufficient(VaadinRequest request) {
+        return false;
+    }
+
 }
@@ -41,8 +41,12 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -65,6 +69,7 @@ import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
+import com.vaadin.flow.server.communication.CoalescingPushScheduler;
 import com.vaadin.flow.server.communication.HeartbeatHandler;
 import com.vaadin.flow.server.communication.IndexHtmlRequestListener;
 import com.vaadin.flow.server.communication.IndexHtmlResponse;
@@ -190,6 +195,14 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinContext vaadinContext;
 
+    private volatile SessionLockStrategy sessionLockStrategy;
+
+    private transient volatile Executor accessTaskExecutor;
+
+    private transient Set<VaadinSession> scheduledAccessQueuePurges;
+
+    private transient CoalescingPushScheduler pushScheduler;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -757,6 +770,53 @@ public abstract class VaadinService implements Serializable {
                         + getLockAttributeName() + " in the session");
     }
 
+    /**
+     * Gets the strategy used for creating new session locks. The strategy is
+     * created lazily using {@link #createSessionLockStrategy()}.
+     *
+     * @return the session lock strategy, not <code>null</code>
+     */
+    protected SessionLockStrategy getSessionLockStrategy() {
+        SessionLockStrategy strategy = sessionLockStrategy;
+        if (strategy == null) {
+            synchronized (this) {
+                strategy = sessionLockStrategy;
+                if (strategy == null) {
+                    strategy = createSessionLockStrategy();
+                    sessionLockStrategy = strategy;
+                }
+            }
+        }
+        return strategy;
+    }
+
+    /**
+     * Creates the strategy used for creating new session locks.
+     * <p>
+     * A {@link SessionLockStrategy} available through {@link Lookup} takes
+     * precedence. Otherwise a {@link ReadWriteSessionLock} is used if
+     * {@link DeploymentConfiguration#isReadWriteSessionLock()} is enabled and
+     * a plain {@link ReentrantLock} if not.
+     *
+     * @return the session lock strategy to use, not <code>null</code>
+     */
+    protected SessionLockStrategy createSessionLockStrategy() {
+        VaadinContext context = getContext();
+        Lookup lookup = context == null ? null
+                : context.getAttribute(Lookup.class);
+        SessionLockStrategy strategy = lookup == null ? null
+                : lookup.lookup(SessionLockStrategy.class);
+        if (strategy != null) {
+            return strategy;
+        }
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        if (configuration != null
+                && configuration.isReadWriteSessionLock()) {
+            return wrappedSession -> new ReadWriteSessionLock();
+        }
+        return wrappedSession -> new ReentrantLock();
+    }
+
     /**
      * Locks the given session for this service instance. Typically you want to
      * call {@link VaadinSession#lock()} instead of this method.
@@ -788,7 +848,7 @@ public abstract class VaadinService implements Serializable {
             synchronized (VaadinService.class) {
                 lock = getSessionLock(wrappedSession);
                 if (lock == null) {
-                    lock = new ReentrantLock();
+                    lock = getSessionLockStrategy().createLock(wrappedSession);
                     setSessionLock(wrappedSession, lock);
                 }
             }
@@ -838,6 +898,12 @@ public abstract class VaadinService implements Serializable {
         WrappedSession wrappedSession = getWrappedSession(request,
                 requestCanCreateSession);
 
+        VaadinSession existingSession = findExistingVaadinSession(request,
+                wrappedSession, requestCanCreateSession);
+        if (existingSession != null) {
+            return existingSession;
+        }
+
         final Lock lock;
         try {
             lock = lockSession(wrappedSession);
@@ -854,6 +920,42 @@ public abstract class VaadinService implements Serializable {
 
     }
 
+    /**
+     * Looks up an existing Vaadin session holding only the shared lock of a
+     * {@link ReadWriteSessionLock}, so that requests for an existing session
+     * do not take the exclusive lock just to find the session. Returns
+     * <code>null</code> if the exclusive lock is needed, i.e. if the session
+     * uses another kind of lock, has not been created yet or is closed or
+     * restarted by the request.
+     */
+    private VaadinSession findExistingVaadinSession(VaadinRequest request,
+            WrappedSession wrappedSession, boolean requestCanCreateSession) {
+        if (hasParameter(request, Constants.URL_PARAMETER_RESTART_APPLICATION)
+                || hasParameter(request,
+                        Constants.URL_PARAMETER_CLOSE_APPLICATION)) {
+            return null;
+        }
+        Lock lock;
+        try {
+            lock = getSessionLock(wrappedSession);
+        } catch (IllegalStateException e) {
+            // Invalidated, handled when taking the exclusive lock
+            return null;
+        }
+        if (!(lock instanceof ReadWriteSessionLock)) {
+            return null;
+        }
+        Lock sharedLock = ((ReadWriteSessionLock) lock).readLock();
+        sharedLock.lock();
+        try {
+            return getExistingSession(request, requestCanCreateSession);
+        } catch (IllegalStateException | SessionExpiredException e) {
+            return null;
+        } finally {
+            sharedLock.unlock();
+        }
+    }
+
     /**
      * Finds or creates a Vaadin session. Assumes necessary synchronization has
      * been done by the caller to ensure this is not called simultaneously by
@@ -1491,9 +1593,8 @@ public abstract class VaadinService implements Serializable {
      */
     public void requestEnd(VaadinRequest request, VaadinResponse response,
             VaadinSession session) {
-        if (session != null) {
+        if (session != null && lockForCleanup(session)) {
             assert VaadinSession.getCurrent() == session;
-            session.lock();
             try {
                 cleanupSession(session);
                 final long duration = (System.nanoTime() - (Long) request
@@ -1506,6 +1607,22 @@ public abstract class VaadinService implements Serializable {
         CurrentInstance.clearAll();
     }
 
+    /**
+     * Locks the session for the cleanup at the end of a request. A session
+     * guarded by a {@link ReadWriteSessionLock} is only locked if the lock is
+     * free, so that requests which only needed shared access do not queue
+     * behind a request holding the exclusive lock. The cleanup is then done at
+     * the end of the request holding the lock or of a later request.
+     */
+    private static boolean lockForCleanup(VaadinSession session) {
+        Lock lock = session.getLockInstance();
+        if (lock instanceof ReadWriteSessionLock) {
+            return lock.tryLock();
+        }
+        session.lock();
+        return true;
+    }
+
     /**
      * Returns the request handlers that are registered with this service. The
      * iteration order of the returned collection is the same as the order in
@@ -2000,11 +2117,36 @@ public abstract class VaadinService implements Serializable {
      * thread, the queue will be purged when the session is unlocked. If the
      * lock is not held by any thread, it is acquired and the queue is purged
      * right away.
+     * <p>
+     * If {@link DeploymentConfiguration#isAsyncAccessTasks()} is enabled and
+     * the current thread does not hold the lock, the purge is instead run
+     * using the {@link #getAccessTaskExecutor() access task executor}.
      *
      * @param session
      *            the session for which the access queue should be purged
      */
     public void ensureAccessQueuePurged(VaadinSession session) {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        if (configuration != null && configuration.isAsyncAccessTasks()
+                && !session.hasLock()) {
+            /*
+             * Only one purge per session needs to be scheduled at a time: the
+             * purge polls the queue until it is empty and a task added after
+             * the purge has started schedules a new one.
+             */
+            Set<VaadinSession> scheduled = getScheduledAccessQueuePurges();
+            if (scheduled.add(session)) {
+                getAccessTaskExecutor().execute(() -> {
+                    scheduled.remove(session);
+                    purgeAccessQueue(session);
+                });
+            }
+            return;
+        }
+        purgeAccessQueue(session);
+    }
+
+    private void purgeAccessQueue(VaadinSession session) {
         /*
          * If no thread is currently holding the lock, pending changes for UIs
          * with automatic push would not be processed and pushed until the next
@@ -2107,6 +2249,100 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        if (accessTaskExecutor instanceof ExecutorService) {
+            ((ExecutorService) accessTaskExecutor).shutdown();
+        }
+        synchronized (this) {
+            if (pushScheduler != null) {
+                pushScheduler.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Gets the scheduler used for coalescing automatic pushes, if
+     * {@link DeploymentConfiguration#getPushCoalescingWindow()} is positive.
+     * The scheduler also provides metrics on the coalesced pushes.
+     *
+     * @return the push scheduler, or an empty optional if pushes are not
+     *         coalesced
+     */
+    public Optional<CoalescingPushScheduler> getPushScheduler() {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        if (configuration == null
+                || configuration.getPushCoalescingWindow() <= 0) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            if (pushScheduler == null) {
+                pushScheduler = new CoalescingPushScheduler(
+                        configuration.getPushCoalescingWindow(),
+                        getAccessTaskExecutor());
+            }
+            return Optional.of(pushScheduler);
+        }
+    }
+
+    /**
+     * Gets the executor used for running pending access tasks when
+     * {@link DeploymentConfiguration#isAsyncAccessTasks()} is enabled. The
+     * executor is created lazily using {@link #createAccessTaskExecutor()}.
+     *
+     * @return the access task executor, not <code>null</code>
+     */
+    protected Executor getAccessTaskExecutor() {
+        Executor executor = accessTaskExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = accessTaskExecutor;
+                if (executor == null) {
+                    executor = createAccessTaskExecutor();
+                    accessTaskExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Creates the executor used for running pending access tasks and the
+     * resulting pushes when {@link DeploymentConfiguration#isAsyncAccessTasks()}
+     * is enabled.
+     * <p>
+     * The default implementation starts a new virtual thread for each task if
+     * the JVM supports virtual threads. Otherwise a cached pool of daemon
+     * platform threads is used. If the returned executor is an
+     * {@link ExecutorService}, it is shut down when the service is destroyed.
+     *
+     * @return the executor to use, not <code>null</code>
+     */
+    protected Executor createAccessTaskExecutor() {
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() is only available
+            // in Java 21 and newer
+            return (Executor) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException
+                | SecurityException e) {
+            getLogger().debug(
+                    "Virtual threads are not available, using platform "
+                            + "threads for running access tasks",
+                    e);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable,
+                    "vaadin-access-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private synchronized Set<VaadinSession> getScheduledAccessQueuePurges() {
+        if (scheduledAccessQueuePurges == null) {
+            scheduledAccessQueuePurges = ConcurrentHashMap.newKeySet();
+        }
+        return scheduledAccessQueuePurges;
     }
 
     /**
@@ -2170,7 +2406,7 @@ public abstract class VaadinService implements Serializable {
      * @return the VaadinSession in the HTTP session or null if not found
      */
     protected VaadinSession loadSession(WrappedSession wrappedSession) {
-        assert VaadinSession.hasLock(this, wrappedSession);
+        assert VaadinSession.hasSharedLock(this, wrappedSession);
 
         VaadinSession vaadinSession = readFromHttpSession(wrappedSession);
         if (vaadinSession == null) {
@@ -48,6 +48,7 @@ import com.vaadin.flow.component.page.Page;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.communication.CoalescingPushScheduler;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.shared.communication.PushMode;
 
@@ -342,7 +343,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     private void refreshLock() {
         assert lock == null || lock == service.getSessionLock(session)
                 : "Cannot change the lock from one instance to another";
-        assert hasLock(service, session);
+        assert hasSharedLock(service, session);
         lock = service.getSessionLock(session);
     }
 
@@ -543,7 +544,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return The UI with the given id or null if not found
      */
     public UI getUIById(int uiId) {
-        checkHasLock();
+        checkHasSharedLock();
         return uIs.get(uiId);
     }
 
@@ -592,6 +593,36 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         checkHasLock(SESSION_NOT_LOCKED_MESSAGE);
     }
 
+    /**
+     * Checks if the current thread has at least shared access to this
+     * <code>VaadinSession</code>, i.e. holds either the shared lock acquired
+     * using {@link #lockShared()} or the exclusive lock.
+     *
+     * @return true if the thread has shared or exclusive access, false
+     *         otherwise
+     */
+    public boolean hasSharedLock() {
+        Lock l = getLockInstance();
+        if (l instanceof ReadWriteSessionLock) {
+            return ((ReadWriteSessionLock) l)
+                    .isReadOrWriteHeldByCurrentThread();
+        }
+        return hasLock();
+    }
+
+    /**
+     * Potentially checks whether the current thread has at least shared access
+     * to this session, and fails with a standard error message if not. The
+     * check is done in the same cases as for {@link #checkHasLock(String)}.
+     */
+    void checkHasSharedLock() {
+        if (configuration == null || configuration.isProductionMode()) {
+            assert hasSharedLock() : SESSION_NOT_LOCKED_MESSAGE;
+        } else if (!hasSharedLock()) {
+            throw new IllegalStateException(SESSION_NOT_LOCKED_MESSAGE);
+        }
+    }
+
     /**
      * Checks if the current thread has exclusive access to the given
      * WrappedSession.
@@ -608,6 +639,27 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return l.isHeldByCurrentThread();
     }
 
+    /**
+     * Checks if the current thread has at least shared access to the given
+     * WrappedSession.
+     *
+     * @param service
+     *            the service to check
+     * @param session
+     *            the session to use for checking
+     * @return true if this thread has shared or exclusive access, false
+     *         otherwise
+     */
+    static boolean hasSharedLock(VaadinService service,
+            WrappedSession session) {
+        Lock l = service.getSessionLock(session);
+        if (l instanceof ReadWriteSessionLock) {
+            return ((ReadWriteSessionLock) l)
+                    .isReadOrWriteHeldByCurrentThread();
+        }
+        return hasLock(service, session);
+    }
+
     /**
      * Called by the framework to remove an UI instance from the session because
      * it has been closed.
@@ -712,16 +764,25 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 ultimateRelease = true;
                 getService().runPendingAccessTasks(this);
 
+                CoalescingPushScheduler pushScheduler = getService()
+                        .getPushScheduler().orElse(null);
                 for (UI ui : getUIs()) {
                     if (ui.getPushConfiguration()
-                            .getPushMode() == PushMode.AUTOMATIC) {
-                        Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
-                                .setCurrent(ui);
-                        try {
-                            ui.push();
-                        } finally {
-                            CurrentInstance.restoreInstances(oldCurrent);
+                            .getPushMode() != PushMode.AUTOMATIC) {
+                        continue;
+                    }
+                    if (pushScheduler != null) {
+                        if (ui.getInternals().isDirty()) {
+                            pushScheduler.schedulePush(ui);
                         }
+                        continue;
+                    }
+                    Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                            .setCurrent(ui);
+                    try {
+                        ui.push();
+                    } finally {
+                        CurrentInstance.restoreInstances(oldCurrent);
                     }
                 }
             }
@@ -742,6 +803,49 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         }
     }
 
+    /**
+     * Locks this session for shared, read-only access. Several threads may
+     * hold the shared lock at the same time, but not while another thread
+     * holds the exclusive lock acquired using {@link #lock()}. Code holding
+     * only the shared lock must not modify the session or any of its UIs.
+     * <p>
+     * If the session is not guarded by a {@link ReadWriteSessionLock}, this
+     * method acquires the exclusive lock instead.
+     *
+     * @see #unlockShared()
+     * @see #hasSharedLock()
+     */
+    public void lockShared() {
+        Lock l = getLockInstance();
+        if (l instanceof ReadWriteSessionLock) {
+            ((ReadWriteSessionLock) l).readLock().lock();
+        } else {
+            lock();
+        }
+    }
+
+    /**
+     * Releases the lock acquired using {@link #lockShared()}. This method
+     * should always be used in a finally block after {@link #lockShared()}.
+     *
+     * @see #lockShared()
+     */
+    public void unlockShared() {
+        Lock l = getLockInstance();
+        if (l instanceof ReadWriteSessionLock) {
+            ((ReadWriteSessionLock) l).readLock().unlock();
+            /*
+             * Tasks enqueued while the shared lock was held could not be run
+             * by this thread, make sure somebody runs them.
+             */
+            if (!getPendingAccessQueue().isEmpty()) {
+                getService().ensureAccessQueuePurged(this);
+            }
+        } else {
+            unlock();
+        }
+    }
+
     /**
      * Stores a value in this service session. This can be used to associate
      * data with the current user so that it can be retrieved at a later point
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -193,15 +194,29 @@ public class AtmospherePushConnection implements PushConnection {
             }
         } else {
             try {
-                JsonObject response = new UidlWriter().createUidl(getUI(),
-                        async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                sendMessage(createPushMessage(async));
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
         }
     }
 
+    private String createPushMessage(boolean async) throws IOException {
+        UI ui = getUI();
+        if (ui.getSession().getService().getDeploymentConfiguration()
+                .isStreamingUidl()) {
+            // Serialize the changes without building a JSON tree. The
+            // broadcaster takes the whole message as a string.
+            StringWriter writer = new StringWriter();
+            writer.write("for(;;);[");
+            new UidlWriter().writeUidl(ui, async, false, writer);
+            writer.write("]");
+            return writer.toString();
+        }
+        JsonObject response = new UidlWriter().createUidl(ui, async);
+        return "for(;;);[" + response.toJson() + "]";
+    }
+
     /**
      * Sends the given message to the current client. Cannot be called if
      * {@link #isConnected()} returns false.
@@ -216,6 +231,17 @@ public class AtmospherePushConnection implements PushConnection {
                 getResource());
     }
 
+    /**
+     * Checks whether the previously sent message is still being written to the
+     * client.
+     *
+     * @return <code>true</code> if the previous message has not been written
+     *         yet, <code>false</code> otherwise
+     */
+    boolean isMessageInFlight() {
+        return outgoingMessage != null && !outgoingMessage.isDone();
+    }
+
     /**
      * Reads and buffers a (possibly partial) message. If a complete message was
      * received, or if the call resulted in the completion of a partially
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.shared.communication.PushMode;
+
+/**
+ * Coalesces automatic pushes so that all changes made to a UI within a time
+ * window are sent to the client as one message.
+ * <p>
+ * Used instead of pushing right away when the session is unlocked if
+ * {@link com.vaadin.flow.function.DeploymentConfiguration#getPushCoalescingWindow()}
+ * is positive. A scheduled push is postponed by another window if the previous
+ * push message of the UI has not yet been written to the client.
+ * <p>
+ * The timer thread of the scheduler only keeps track of the windows. The
+ * pushes themselves, including running pending access tasks and writing the
+ * response, are run using the given push executor so that a slow UI does not
+ * delay the pushes of other UIs.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class CoalescingPushScheduler {
+
+    private final long window;
+
+    private final ScheduledExecutorService timer;
+
+    private final Executor pushExecutor;
+
+    private final Map<UI, Long> pendingPushes = new ConcurrentHashMap<>();
+
+    private final LongAdder pushCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder addedLatencyNanos = new LongAdder();
+
+    /**
+     * Creates a new scheduler with the given coalescing window.
+     *
+     * @param window
+     *            the time in milliseconds to wait for more changes before
+     *            pushing, must be positive
+     * @param pushExecutor
+     *            the executor to run the pushes with, not <code>null</code>
+     */
+    public CoalescingPushScheduler(long window, Executor pushExecutor) {
+        if (window <= 0) {
+            throw new IllegalArgumentException(
+                    "The coalescing window must be positive");
+        }
+        this.window = window;
+        this.pushExecutor = Objects.requireNonNull(pushExecutor,
+                "Push executor cannot be null");
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vaadin-push-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a push for the given UI. If a push is already pending for the
+     * UI, the changes are included in that push instead.
+     * <p>
+     * The session of the UI must be locked.
+     *
+     * @param ui
+     *            the UI to push, not <code>null</code>
+     */
+    public void schedulePush(UI ui) {
+        if (pendingPushes.putIfAbsent(ui, System.nanoTime()) != null) {
+            coalescedCount.increment();
+            return;
+        }
+        schedule(ui);
+    }
+
+    /**
+     * Stops the scheduler. Pending pushes are discarded. The push executor is
+     * not shut down.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        pendingPushes.clear();
+    }
+
+    /**
+     * Gets the number of pushes sent by this scheduler.
+     *
+     * @return the number of pushes
+     */
+    public long getPushCount() {
+        return pushCount.sum();
+    }
+
+    /**
+     * Gets the number of pushes which were saved by including the changes in
+     * an already pending push.
+     *
+     * @return the number of saved pushes
+     */
+    public long getCoalescedPushCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Gets the total latency added by delaying pushes, i.e. the sum of the
+     * time from the first push request to the actual push over all pushes.
+     *
+     * @return the total added latency in nanoseconds
+     */
+    public long getAddedLatencyNanos() {
+        return addedLatencyNanos.sum();
+    }
+
+    private void schedule(UI ui) {
+        if (timer.isShutdown()) {
+            pendingPushes.remove(ui);
+            return;
+        }
+        timer.schedule(() -> submitFlush(ui), window, TimeUnit.MILLISECONDS);
+    }
+
+    private void submitFlush(UI ui) {
+        try {
+            pushExecutor.execute(() -> flush(ui));
+        } catch (RejectedExecutionException e) {
+            pendingPushes.remove(ui);
+        }
+    }
+
+    private void flush(UI ui) {
+        try {
+            ui.access(() -> {
+                PushConnection connection = ui.getInternals()
+                        .getPushConnection();
+                if (connection instanceof AtmospherePushConnection
+                        && ((AtmospherePushConnection) connection)
+                                .isMessageInFlight()) {
+                    schedule(ui);
+                    return;
+                }
+                Long requested = pendingPushes.remove(ui);
+                if (requested != null) {
+                    pushCount.increment();
+                    addedLatencyNanos.add(System.nanoTime() - requested);
+                }
+                if (connection != null && ui.getPushConfiguration()
+                        .getPushMode() == PushMode.AUTOMATIC) {
+                    ui.push();
+                }
+            });
+        } catch (UIDetachedException e) {
+            pendingPushes.remove(ui);
+        }
+    }
+}
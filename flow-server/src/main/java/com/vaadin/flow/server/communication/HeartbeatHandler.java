@@ -18,6 +18,7 @@ package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
 
+import com.vaadin.flow.component.HeartbeatListener;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.server.HandlerHelper;
@@ -51,6 +52,11 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
+    @Override
+    protected boolean isSharedLockSufficient(VaadinRequest request) {
+        return true;
+    }
+
     /**
      * Handles a heartbeat request for the given session. Reads the GET
      * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
@@ -64,8 +70,16 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
             VaadinRequest request, VaadinResponse response) throws IOException {
         UI ui = session.getService().findUI(request);
         if (ui != null) {
-            ui.getInternals()
-                    .setLastHeartbeatTimestamp(System.currentTimeMillis());
+            long timestamp = System.currentTimeMillis();
+            UIInternals internals = ui.getInternals();
+            if (session.hasLock() || internals
+                    .getListeners(HeartbeatListener.class).isEmpty()) {
+                internals.setLastHeartbeatTimestamp(timestamp);
+            } else {
+                // Listeners may modify the UI so they must be run with the
+                // session locked exclusively
+                ui.access(() -> internals.setLastHeartbeatTimestamp(timestamp));
+            }
             // Ensure that the browser does not cache heartbeat responses.
             // iOS 6 Safari requires this
             // (https://github.com/vaadin/framework/issues/3226)
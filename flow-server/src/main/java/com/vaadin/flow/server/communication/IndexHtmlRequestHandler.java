@@ -17,14 +17,19 @@ package com.vaadin.flow.server.communication;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Comment;
 import org.jsoup.nodes.DataNode;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import com.vaadin.experimental.FeatureFlags;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.BootstrapHandlerHelper;
 import com.vaadin.flow.internal.BrowserLiveReload;
 import com.vaadin.flow.internal.BrowserLiveReloadAccessor;
@@ -45,6 +51,7 @@ import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.IndexHtmlTemplate.Slot;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 
 import elemental.json.Json;
@@ -78,6 +85,9 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         IndexHtmlResponse indexHtmlResponse;
 
         VaadinService service = request.getService();
+        if (config.isProductionMode() && !config.isDevToolsEnabled()) {
+            return writeIndexHtmlTemplate(session, request, response);
+        }
         Document indexDocument = config.isProductionMode()
                 ? getCachedIndexHtmlDocument(service)
                 : getIndexHtmlDocument(service);
@@ -152,6 +162,113 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         return true;
     }
 
+    /**
+     * Writes the page using the compiled template of the cached
+     * <code>index.html</code>. The elements added for the request are
+     * rendered into a document of their own and written into the slots of
+     * the template, which gives the same result as modifying a copy of the
+     * cached document. A document of the whole page is only created if an
+     * {@link IndexHtmlRequestListener} asks for it.
+     */
+    private boolean writeIndexHtmlTemplate(VaadinSession session,
+            VaadinRequest request, VaadinResponse response) {
+        VaadinService service = request.getService();
+        IndexHtmlTemplate template = service.getContext()
+                .getAttribute(IndexHtmlHolder.class,
+                        () -> new IndexHtmlHolder(service))
+                .getTemplate();
+
+        Map<Slot, String> values = new EnumMap<>(Slot.class);
+        values.put(Slot.BASE_HREF,
+                IndexHtmlTemplate.escapeAttribute(getServiceUrl(request)));
+        values.put(Slot.CONTEXT_ROOT, IndexHtmlTemplate.escapeAttribute(
+                service.getContextRootRelativePath(request)));
+
+        JsonObject initialJson = Json.createObject();
+        UI ui = null;
+        if (service.getBootstrapInitialPredicate()
+                .includeInitialUidl(request)) {
+            includeInitialUidl(initialJson, session, request, response);
+            ui = UI.getCurrent();
+
+            // App might be using classic server-routing, which is true
+            // unless we detect a call to JavaScriptBootstrapUI.connectClient
+            session.setAttribute(SERVER_ROUTING, Boolean.TRUE);
+        }
+
+        // The template elements that the app shell may replace stand in for
+        // the template head in between the markers
+        Document page = Document.createShell("");
+        page.outputSettings().prettyPrint(false);
+        Comment headStartMarker = new Comment("");
+        Comment headEndMarker = new Comment("");
+        Map<Slot, Element> uniqueElements = template.copyUniqueElements();
+        page.head().appendChild(headStartMarker);
+        uniqueElements.values().forEach(page.head()::appendChild);
+        page.head().appendChild(headEndMarker);
+        Comment bodyMarker = new Comment("");
+        page.body().appendChild(bodyMarker);
+
+        addInitialFlow(initialJson, page, request);
+        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
+
+        // modify the page based on the @Meta, @ViewPort, @BodySize and @Inline
+        // annotations and on the AppShellConfigurator
+        AppShellRegistry.getInstance(service.getContext())
+                .modifyIndexHtml(page, request);
+
+        values.put(Slot.HEAD_START, serialize(page.head(), null,
+                headStartMarker));
+        values.put(Slot.HEAD_END, serialize(page.head(), headEndMarker, null));
+        values.put(Slot.BODY_START, serialize(page.body(), null, bodyMarker));
+        values.put(Slot.BODY_END, serialize(page.body(), bodyMarker, null));
+        // The app shell registry puts a replacement in place of the element
+        int index = headStartMarker.siblingIndex();
+        for (Map.Entry<Slot, Element> entry : uniqueElements.entrySet()) {
+            Node node = page.head().childNode(++index);
+            if (node != entry.getValue()) {
+                values.put(entry.getKey(), node.outerHtml());
+            }
+        }
+
+        // the bootstrap page title could be used as a fallback title to
+        // a server-side route that doesn't have a title
+        storeAppShellTitleToUI(page);
+
+        // modify the page based on registered IndexHtmlRequestListener:s
+        TemplateIndexHtmlResponse indexHtmlResponse = new TemplateIndexHtmlResponse(
+                request, response, ui, () -> template.toHtml(values));
+        service.modifyIndexHtmlResponse(indexHtmlResponse);
+
+        try {
+            OutputStream outputStream = response.getOutputStream();
+            if (indexHtmlResponse.document != null) {
+                outputStream.write(
+                        indexHtmlResponse.document.html().getBytes(UTF_8));
+            } else {
+                template.write(outputStream, values);
+            }
+        } catch (IOException e) {
+            getLogger().error("Error writing 'index.html' to response", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Serializes the child nodes of the given element in between the given
+     * nodes, where <code>null</code> stands for the start or the end of the
+     * element.
+     */
+    private static String serialize(Element element, Node from, Node to) {
+        StringBuilder html = new StringBuilder();
+        int end = to == null ? element.childNodeSize() : to.siblingIndex();
+        for (int i = from == null ? 0 : from.siblingIndex() + 1; i < end; i++) {
+            html.append(element.childNode(i).outerHtml());
+        }
+        return html.toString();
+    }
+
     private void catchErrorsInDevMode(Document indexDocument) {
         addScript(indexDocument, "" + //
                 "window.Vaadin = window.Vaadin || {};" + //
@@ -291,7 +408,7 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void configureErrorDialogStyles(Document document) {
+    private static void configureErrorDialogStyles(Document document) {
         Element styles = document.createElement("style");
         document.head().appendChild(styles);
         setupErrorDialogs(styles);
@@ -373,6 +490,7 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
     // will be serialized/deserialized.
     private static final class IndexHtmlHolder implements Serializable {
         private final transient Document indexHtmlDocument;
+        private final IndexHtmlTemplate template;
 
         private IndexHtmlHolder(VaadinService service) {
             try {
@@ -381,11 +499,46 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
+            // The parts of the page that are the same for all requests
+            Document templateDocument = indexHtmlDocument.clone();
+            configureErrorDialogStyles(templateDocument);
+            setupPwa(templateDocument, service);
+            template = IndexHtmlTemplate.compile(templateDocument);
         }
 
         private Document getDocument() {
             return this.indexHtmlDocument.clone();
         }
+
+        private IndexHtmlTemplate getTemplate() {
+            return template;
+        }
+    }
+
+    /**
+     * Index HTML response which creates the document from the compiled
+     * template only if a listener asks for it.
+     */
+    private static final class TemplateIndexHtmlResponse
+            extends IndexHtmlResponse {
+        private final SerializableSupplier<String> html;
+        private Document document;
+
+        private TemplateIndexHtmlResponse(VaadinRequest request,
+                VaadinResponse response, UI ui,
+                SerializableSupplier<String> html) {
+            super(request, response, null, ui);
+            this.html = html;
+        }
+
+        @Override
+        public Document getDocument() {
+            if (document == null) {
+                document = Jsoup.parse(html.get());
+                document.outputSettings().prettyPrint(false);
+            }
+            return document;
+        }
     }
 
     private static Logger getLogger() {
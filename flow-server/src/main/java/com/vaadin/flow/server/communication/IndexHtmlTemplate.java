@@ -0,0 +1,300 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The <code>index.html</code> page serialized once into static segments
+ * separated by slots for the parts that differ between requests.
+ * <p>
+ * Writing a page only writes the pre-encoded segments and the values of the
+ * slots instead of modifying and serializing a DOM for every request.
+ * <p>
+ * The elements which {@link com.vaadin.flow.server.AppShellRegistry} replaces
+ * instead of adding another one, such as the title, are kept in slots of their
+ * own. Writing a value for such a slot replaces the element of the template.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class IndexHtmlTemplate implements Serializable {
+
+    /**
+     * A part of the page that is written separately for each request.
+     */
+    enum Slot {
+        /**
+         * Markup inserted before the original children of the head element.
+         */
+        HEAD_START,
+        /**
+         * The escaped value of the <code>href</code> attribute of the base
+         * element.
+         */
+        BASE_HREF,
+        /**
+         * The escaped context root relative path prepended to the URLs of the
+         * bundle scripts in the head element.
+         */
+        CONTEXT_ROOT,
+        /**
+         * Markup appended to the head element.
+         */
+        HEAD_END,
+        /**
+         * Markup inserted before the original children of the body element.
+         */
+        BODY_START,
+        /**
+         * Markup appended to the body element.
+         */
+        BODY_END,
+        /**
+         * Replacement for the base element.
+         */
+        BASE("base"),
+        /**
+         * Replacement for the viewport meta element.
+         */
+        VIEWPORT("meta[name=viewport]"),
+        /**
+         * Replacement for the description meta element.
+         */
+        DESCRIPTION("meta[name=description]"),
+        /**
+         * Replacement for the title element.
+         */
+        TITLE("title");
+
+        private final String elementQuery;
+
+        Slot() {
+            this(null);
+        }
+
+        Slot(String elementQuery) {
+            this.elementQuery = elementQuery;
+        }
+    }
+
+    private final byte[][] segments;
+
+    private final Slot[] slots;
+
+    // The index of the slot ending the element region started by a slot
+    private final int[] regionEnds;
+
+    // Not needed after deserialization, just like the cached document
+    private final transient Map<Slot, Element> uniqueElements;
+
+    private IndexHtmlTemplate(byte[][] segments, Slot[] slots,
+            Map<Slot, Element> uniqueElements) {
+        this.segments = segments;
+        this.slots = slots;
+        this.uniqueElements = uniqueElements;
+        regionEnds = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            regionEnds[i] = i;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].elementQuery != null) {
+                for (int end = i + 1; end < slots.length; end++) {
+                    if (slots[end] == slots[i]) {
+                        regionEnds[i] = end;
+                        i = end;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the given document into a template. The document is modified
+     * in the process.
+     * <p>
+     * A base element is added to the head unless there already is one. The
+     * original children of the head and the body are kept in between the
+     * start and end slots of the elements. The first element in the head for
+     * each replaceable element slot is surrounded by that slot.
+     *
+     * @param document
+     *            the document to compile, not <code>null</code>
+     * @return the compiled template, not <code>null</code>
+     */
+    static IndexHtmlTemplate compile(Document document) {
+        String token = "vaadin-slot-" + UUID.randomUUID() + "-";
+
+        Element head = document.head();
+        Elements base = head.getElementsByTag("base");
+        Element baseElement = base.isEmpty() ? head.prependElement("base")
+                : base.first();
+        baseElement.attr("href", marker(token, Slot.BASE_HREF));
+        for (Element bundleScript : head
+                .getElementsByAttributeValueStarting("src", "VAADIN/")) {
+            bundleScript.attr("src", marker(token, Slot.CONTEXT_ROOT)
+                    + bundleScript.attr("src"));
+        }
+        Map<Slot, Element> uniqueElements = new EnumMap<>(Slot.class);
+        for (Slot slot : Slot.values()) {
+            Element element = slot.elementQuery == null ? null
+                    : head.selectFirst(slot.elementQuery);
+            if (element != null) {
+                uniqueElements.put(slot, element.clone());
+                element.before(new Comment(marker(token, slot)));
+                element.after(new Comment(marker(token, slot)));
+            }
+        }
+
+        head.prependChild(new Comment(marker(token, Slot.HEAD_START)));
+        head.appendChild(new Comment(marker(token, Slot.HEAD_END)));
+        document.body()
+                .prependChild(new Comment(marker(token, Slot.BODY_START)));
+        document.body().appendChild(new Comment(marker(token, Slot.BODY_END)));
+
+        String html = document.html();
+        Matcher matcher = Pattern.compile(
+                "(?:<!--)?" + Pattern.quote(token) + "(\\d+)\\.(?:-->)?")
+                .matcher(html);
+        List<byte[]> segments = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int start = 0;
+        while (matcher.find()) {
+            segments.add(
+                    html.substring(start, matcher.start()).getBytes(UTF_8));
+            slots.add(Slot.values()[Integer.parseInt(matcher.group(1))]);
+            start = matcher.end();
+        }
+        segments.add(html.substring(start).getBytes(UTF_8));
+
+        return new IndexHtmlTemplate(segments.toArray(new byte[0][]),
+                slots.toArray(new Slot[0]), uniqueElements);
+    }
+
+    /**
+     * Gets copies of the elements of the template in the replaceable element
+     * slots.
+     *
+     * @return the elements by slot, not <code>null</code>
+     */
+    Map<Slot, Element> copyUniqueElements() {
+        Map<Slot, Element> copies = new EnumMap<>(Slot.class);
+        uniqueElements.forEach((slot, element) -> copies.put(slot,
+                element.clone()));
+        return copies;
+    }
+
+    /**
+     * Writes the page with the given slot values.
+     *
+     * @param outputStream
+     *            the stream to write to, not <code>null</code>
+     * @param values
+     *            the values of the slots, a missing value is written as an
+     *            empty string or as the template element for a replaceable
+     *            element slot
+     * @throws IOException
+     *             if writing to the stream fails
+     */
+    void write(OutputStream outputStream, Map<Slot, String> values)
+            throws IOException {
+        int i = 0;
+        while (i < slots.length) {
+            outputStream.write(segments[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                outputStream.write(value.getBytes(UTF_8));
+                // Skip the replaced element
+                i = regionEnds[i];
+            }
+            i++;
+        }
+        outputStream.write(segments[slots.length]);
+    }
+
+    /**
+     * Gets the page with the given slot values as a string.
+     *
+     * @param values
+     *            the values of the slots, a missing value is written as an
+     *            empty string or as the template element for a replaceable
+     *            element slot
+     * @return the page markup, not <code>null</code>
+     */
+    String toHtml(Map<Slot, String> values) {
+        StringBuilder html = new StringBuilder();
+        int i = 0;
+        while (i < slots.length) {
+            html.append(new String(segments[i], UTF_8));
+            String value = values.get(slots[i]);
+            if (value != null) {
+                html.append(value);
+                i = regionEnds[i];
+            }
+            i++;
+        }
+        html.append(new String(segments[slots.length], UTF_8));
+        return html.toString();
+    }
+
+    /**
+     * Escapes a value for a double quoted attribute the same way as Jsoup does
+     * when serializing a document.
+     *
+     * @param value
+     *            the value to escape, not <code>null</code>
+     * @return the escaped value, not <code>null</code>
+     */
+    static String escapeAttribute(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '&') {
+                escaped.append("&amp;");
+            } else if (c == '"') {
+                escaped.append("&quot;");
+            } else if (c == '\u00A0') {
+                escaped.append("&nbsp;");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String marker(String token, Slot slot) {
+        return token + slot.ordinal() + ".";
+    }
+}
@@ -19,6 +19,8 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,8 +29,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -193,6 +198,18 @@ public class ServerRpcHandler implements Serializable {
 
     private static final int MAX_BUFFER_SIZE = 64 * 1024;
 
+    private static final int MAX_CHECKSUMMED_LENGTH = 64 * 1024;
+
+    /**
+     * The maximum number of pipelined messages held back while waiting for a
+     * message sent before them.
+     */
+    private static final int MAX_PENDING_MESSAGES = 64;
+
+    private static final int SHA_256_LENGTH = 32;
+
+    private static final int CHECKSUM_LENGTH = 8;
+
     /**
      * Exception thrown then the security key sent by the client does not match
      * the expected one.
@@ -245,6 +262,8 @@ public class ServerRpcHandler implements Serializable {
             throws IOException, InvalidUIDLSecurityKeyException {
         ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
 
+        boolean pipelined = request.getService().getDeploymentConfiguration()
+                .isPipelinedRpc();
         String changeMessage = getMessage(reader);
 
         if (changeMessage == null || changeMessage.equals("")) {
@@ -254,97 +273,225 @@ public class ServerRpcHandler implements Serializable {
 
         RpcRequest rpcRequest = new RpcRequest(changeMessage, request);
 
-        // Security: double cookie submission pattern unless disabled by
-        // property
-        if (!VaadinService.isCsrfTokenValid(ui, rpcRequest.getCsrfToken())) {
-            throw new InvalidUIDLSecurityKeyException();
-        }
+        checkCsrfToken(ui, rpcRequest.getCsrfToken());
 
-        String hashMessage = changeMessage;
-        if (hashMessage.length() > 64 * 1024) {
-            hashMessage = changeMessage.substring(0, 64 * 1024);
+        if (pipelined && holdBackMessage(ui, rpcRequest.getClientToServerId(),
+                rpcRequest.getRawJson(),
+                () -> getMessageChecksum(changeMessage))) {
+            return;
         }
-        byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
 
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
-        int requestId = rpcRequest.getClientToServerId();
-
-        if (requestId != -1 && requestId != expectedId) {
-            // Invalid message id, skip RPC processing but force a full
-            // re-synchronization of the client as it might have not received
-            // the previous response (e.g. due to a bad connection)
-
-            // Must resync also for duplicate messages because the server might
-            // have generated a response for the first message but the response
-            // did not reach the client. When the client re-sends the message,
-            // it would only get an empty response (because the dirty flags have
-            // been cleared on the server) and would be out of sync
-
-            if (requestId == expectedId - 1 && Arrays.equals(messageHash,
-                    ui.getInternals().getLastProcessedMessageHash())) {
-                /*
-                 * Last message was received again. This indicates that this
-                 * situation is most likely triggered by a timeout or such
-                 * causing a message to be resent.
-                 */
-                getLogger().info(
-                        "Ignoring old duplicate message from the client. Expected: "
-                                + expectedId + ", got: " + requestId);
-            } else {
-                /*
-                 * If the reason for ending up here is intermittent, then we
-                 * should just issue a full resync since we cannot know the
-                 * state of the client engine.
-                 *
-                 * There are reasons to believe that there are deterministic
-                 * issues that trigger this condition, and we'd like to collect
-                 * more data to uncover anything such before actually
-                 * implementing the resync that would thus hide most symptoms of
-                 * the actual root cause bugs.
-                 */
-                String messageDetails = getMessageDetails(rpcRequest);
-                getLogger().debug("Unexpected message id from the client."
-                        + " Expected sync id: " + expectedId + ", got "
-                        + requestId + ". Message start: " + messageDetails);
-                throw new UnsupportedOperationException(
-                        "Unexpected message id from the client."
-                                + " Expected sync id: " + expectedId + ", got "
-                                + requestId
-                                + ". more details logged on DEBUG level.");
-            }
-        } else {
+        if (isExpectedMessage(ui, rpcRequest.getClientToServerId(),
+                () -> isLastProcessedMessage(ui, changeMessage),
+                rpcRequest.getRpcInvocationsData())) {
             // Message id ok, process RPCs
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
-                    messageHash);
+                    getMessageChecksum(changeMessage));
             handleInvocations(ui, rpcRequest.getRpcInvocationsData());
         }
 
         if (rpcRequest.isResynchronize()) {
-            getLogger().warn("Resynchronizing UI by client's request. "
-                    + "A network message was lost before reaching the client and the client is reloading the full UI state. "
-                    + "This typically happens because of a bad network connection with packet loss or because of some part of"
-                    + " the network infrastructure (load balancer, proxy) terminating a push (websocket or long-polling) connection."
-                    + " If you are using push with a proxy, make sure the push timeout is set to be smaller than the proxy connection timeout");
+            resynchronize(ui);
+        }
+        if (pipelined) {
+            handlePendingMessages(ui);
+        }
+    }
+
+    /**
+     * Holds back a pipelined message which has arrived before the messages
+     * sent before it, so that the messages are processed in the order the
+     * client sent them.
+     *
+     * @return <code>true</code> if the message was held back,
+     *         <code>false</code> if it should be processed now
+     */
+    private static boolean holdBackMessage(UI ui, int requestId,
+            JsonObject message, Supplier<byte[]> checksum) {
+        int expectedId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        if (requestId <= expectedId) {
+            return false;
+        }
+        if (ui.getInternals()
+                .getPendingClientToServerMessageCount() >= MAX_PENDING_MESSAGES) {
+            getLogger().warn(
+                    "Too many messages from the client while waiting for message {}",
+                    expectedId);
+            return false;
+        }
+        getLogger().debug(
+                "Holding back message {} from the client until message {} has been received",
+                requestId, expectedId);
+        ui.getInternals().addPendingClientToServerMessage(requestId, message,
+                checksum.get());
+        return true;
+    }
+
+    /**
+     * Processes the held back messages which are next in turn after the
+     * message that was just processed.
+     */
+    private void handlePendingMessages(UI ui) {
+        JsonObject message;
+        while ((message = ui.getInternals().processPendingClientToServerMessage(
+                ui.getInternals().getLastProcessedClientToServerId()
+                        + 1)) != null) {
+            JsonValue invocations = message
+                    .get(ApplicationConstants.RPC_INVOCATIONS);
+            if (invocations instanceof JsonArray) {
+                handleInvocations(ui, (JsonArray) invocations);
+            }
+            if (message.hasKey(ApplicationConstants.RESYNCHRONIZE_ID) && message
+                    .getBoolean(ApplicationConstants.RESYNCHRONIZE_ID)) {
+                resynchronize(ui);
+            }
+        }
+    }
+
+    private static void checkCsrfToken(UI ui, String csrfToken)
+            throws InvalidUIDLSecurityKeyException {
+        if (csrfToken == null || csrfToken.isEmpty()) {
+            csrfToken = ApplicationConstants.CSRF_TOKEN_DEFAULT_VALUE;
+        }
+        // Security: double cookie submission pattern unless disabled by
+        // property
+        if (!VaadinService.isCsrfTokenValid(ui, csrfToken)) {
+            throw new InvalidUIDLSecurityKeyException();
+        }
+    }
+
+    /**
+     * Checks whether a message with the given id should be processed.
+     *
+     * @return <code>true</code> if the message should be processed,
+     *         <code>false</code> if it is a resent message which should be
+     *         ignored
+     * @throws UnsupportedOperationException
+     *             if the message id is unexpected
+     */
+    private boolean isExpectedMessage(UI ui, int requestId,
+            BooleanSupplier lastProcessedMessage, JsonArray invocations) {
+        int expectedId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        if (requestId == -1 || requestId == expectedId) {
+            return true;
+        }
+
+        // Invalid message id, skip RPC processing but force a full
+        // re-synchronization of the client as it might have not received
+        // the previous response (e.g. due to a bad connection)
+
+        // Must resync also for duplicate messages because the server might
+        // have generated a response for the first message but the response
+        // did not reach the client. When the client re-sends the message,
+        // it would only get an empty response (because the dirty flags have
+        // been cleared on the server) and would be out of sync
+
+        if (requestId == expectedId - 1
+                && lastProcessedMessage.getAsBoolean()) {
+            /*
+             * Last message was received again. This indicates that this
+             * situation is most likely triggered by a timeout or such causing
+             * a message to be resent.
+             */
+            getLogger().info(
+                    "Ignoring old duplicate message from the client. Expected: "
+                            + expectedId + ", got: " + requestId);
+            return false;
+        }
+        /*
+         * If the reason for ending up here is intermittent, then we should
+         * just issue a full resync since we cannot know the state of the
+         * client engine.
+         *
+         * There are reasons to believe that there are deterministic issues
+         * that trigger this condition, and we'd like to collect more data to
+         * uncover anything such before actually implementing the resync that
+         * would thus hide most symptoms of the actual root cause bugs.
+         */
+        String messageDetails = getMessageDetails(invocations);
+        getLogger().debug("Unexpected message id from the client."
+                + " Expected sync id: " + expectedId + ", got " + requestId
+                + ". Message start: " + messageDetails);
+        throw new UnsupportedOperationException(
+                "Unexpected message id from the client."
+                        + " Expected sync id: " + expectedId + ", got "
+                        + requestId + ". more details logged on DEBUG level.");
+    }
+
+    private static void resynchronize(UI ui) {
+        getLogger().warn("Resynchronizing UI by client's request. "
+                + "A network message was lost before reaching the client and the client is reloading the full UI state. "
+                + "This typically happens because of a bad network connection with packet loss or because of some part of"
+                + " the network infrastructure (load balancer, proxy) terminating a push (websocket or long-polling) connection."
+                + " If you are using push with a proxy, make sure the push timeout is set to be smaller than the proxy connection timeout");
+
+        // The client starts over from the id sent in the response, so any
+        // held back messages will never be in turn
+        ui.getInternals().clearPendingClientToServerMessages();
+
+        // Run detach listeners and re-attach all nodes again to the
+        // state tree, in order to send changes for a full re-build of
+        // the client-side state tree in the response
+        ui.getInternals().getStateTree().prepareForResync();
+
+        // At this point, make no assumptions about which dependencies have
+        // been accepted by the client
+        ui.getInternals().getDependencyList().clearPendingSendToClient();
+
+        // Signal by exception instead of return value to keep the method
+        // signature for source and binary compatibility
+        throw new ResynchronizationRequiredException();
+    }
 
-            // Run detach listeners and re-attach all nodes again to the
-            // state tree, in order to send changes for a full re-build of
-            // the client-side state tree in the response
-            ui.getInternals().getStateTree().prepareForResync();
+    /**
+     * Checks whether the given message is the same as the last processed
+     * message of the UI.
+     * <p>
+     * Only needed when a message is received with the id of the previous
+     * message, so any hashing is deferred until then.
+     */
+    private static boolean isLastProcessedMessage(UI ui, String message) {
+        byte[] lastMessageHash = ui.getInternals()
+                .getLastProcessedMessageHash();
+        if (lastMessageHash == null) {
+            return false;
+        }
+        if (lastMessageHash.length == SHA_256_LENGTH) {
+            // Hash stored by an older version of the UI, e.g. a deserialized
+            // session
+            return Arrays.equals(lastMessageHash,
+                    MessageDigestUtil.sha256(getChecksummedPart(message)));
+        }
+        return Arrays.equals(lastMessageHash, getMessageChecksum(message));
+    }
 
-            // At this point, make no assumptions about which dependencies have
-            // been accepted by the client
-            ui.getInternals().getDependencyList().clearPendingSendToClient();
+    /**
+     * Computes a checksum for detecting a resent message. Consists of the
+     * message length and a CRC-32C of the start of the message, which is much
+     * cheaper to compute than a cryptographic hash and sufficient for telling
+     * a resent message from a different one with the same id.
+     */
+    private static byte[] getMessageChecksum(String message) {
+        CRC32C crc = new CRC32C();
+        crc.update(getChecksummedPart(message)
+                .getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.allocate(CHECKSUM_LENGTH).putInt(message.length())
+                .putInt((int) crc.getValue()).array();
+    }
 
-            // Signal by exception instead of return value to keep the method
-            // signature for source and binary compatibility
-            throw new ResynchronizationRequiredException();
+    private static String getChecksummedPart(String message) {
+        if (message.length() > MAX_CHECKSUMMED_LENGTH) {
+            return message.substring(0, MAX_CHECKSUMMED_LENGTH);
         }
+        return message;
     }
 
-    private String getMessageDetails(RpcRequest rpcRequest) {
+    private String getMessageDetails(JsonArray rpcArray) {
         StringBuilder messageDetails = new StringBuilder();
-        JsonArray rpcArray = rpcRequest.getRpcInvocationsData();
         if (rpcArray == null) {
             return "{ no data }";
         }
@@ -19,16 +19,20 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.Part;
 
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.fileupload.FileItemIterator;
 import org.apache.commons.fileupload.FileItemStream;
@@ -38,8 +42,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.ChannelStreamVariable;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.NoInputStreamException;
@@ -69,7 +76,10 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class StreamReceiverHandler implements Serializable {
 
-    private static final int MAX_UPLOAD_BUFFER_SIZE = 4 * 1024;
+    private static final int MIN_UPLOAD_BUFFER_SIZE = 4 * 1024;
+
+    /* Maximum size of the buffer used for reading uploads. */
+    public static final int DEFAULT_MAX_UPLOAD_BUFFER_SIZE = 256 * 1024;
 
     /* Minimum interval which will be used for streaming progress events. */
     public static final int DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS = 500;
@@ -97,6 +107,71 @@ public class StreamReceiverHandler implements Serializable {
         OK, ERROR
     }
 
+    /**
+     * Delivers progress events of one upload to its stream variable.
+     * <p>
+     * When the UI of the upload is known, intermediate events are delivered
+     * through {@link UI#access(com.vaadin.flow.server.Command)} so that the
+     * upload thread never waits for the session lock. Only the latest event is
+     * delivered if the previous one has not been handled yet.
+     */
+    private static class ProgressDispatcher implements Serializable {
+        private final VaadinSession session;
+        private final UI ui;
+        private final StreamVariable streamVariable;
+        private final AtomicReference<StreamingProgressEventImpl> pending = new AtomicReference<>();
+        private volatile boolean finished;
+
+        private ProgressDispatcher(VaadinSession session, UI ui,
+                StreamVariable streamVariable) {
+            this.session = session;
+            this.ui = ui;
+            this.streamVariable = streamVariable;
+        }
+
+        private void dispatch(StreamingProgressEventImpl event) {
+            if (ui == null) {
+                notifyLocked(event);
+            } else if (pending.getAndSet(event) == null) {
+                try {
+                    ui.access(this::deliverPending);
+                } catch (UIDetachedException e) {
+                    pending.set(null);
+                    getLogger().debug(
+                            "Skipped upload progress event for a detached UI",
+                            e);
+                }
+            }
+        }
+
+        private void deliverPending() {
+            StreamingProgressEventImpl event = pending.getAndSet(null);
+            if (event != null && !finished) {
+                streamVariable.onProgress(event);
+            }
+        }
+
+        private void dispatchLast(StreamingProgressEventImpl event) {
+            finish();
+            notifyLocked(event);
+        }
+
+        private void finish() {
+            // Events still waiting for the UI would arrive after the end event
+            finished = true;
+            pending.set(null);
+        }
+
+        private void notifyLocked(StreamingProgressEventImpl event) {
+            session.lock();
+            try {
+                streamVariable.onProgress(event);
+            } finally {
+                session.unlock();
+            }
+        }
+    }
+
     /**
      * Handle reception of incoming stream from the client.
      *
@@ -366,6 +441,7 @@ public class StreamReceiverHandler implements Serializable {
             InputStream inputStream, StreamReceiver streamReceiver,
             String filename, String mimeType, long contentLength,
             StateNode node) throws UploadException {
+        UI ui;
         session.lock();
         try {
             if (node == null) {
@@ -376,13 +452,16 @@ public class StreamReceiverHandler implements Serializable {
                 throw new UploadException("Warning: file upload ignored for "
                         + node.getId() + " because the component was disabled");
             }
+            ui = node.getOwner() instanceof StateTree
+                    ? ((StateTree) node.getOwner()).getUI()
+                    : null;
         } finally {
             session.unlock();
         }
         try (InputStream handledStream = inputStream) {
             // Store ui reference so we can do cleanup even if node is
             // detached in some event handler
-            Pair<Boolean, UploadStatus> result = streamToReceiver(session,
+            Pair<Boolean, UploadStatus> result = streamToReceiver(session, ui,
                     handledStream, streamReceiver, filename, mimeType,
                     contentLength);
             if (result.getFirst()) {
@@ -413,7 +492,22 @@ public class StreamReceiverHandler implements Serializable {
         return DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS;
     }
 
-    static void tryToCloseStream(OutputStream out) {
+    /**
+     * Gets the maximum size of the buffer used for reading an upload. Uploads
+     * are read in small chunks first, and the buffer grows up to this size as
+     * long as the request keeps filling it, so that large uploads are copied
+     * with fewer reads and writes. Uploads which are known to be larger than
+     * this size use the maximum size from the start. To adjust this value
+     * override the method, and register your own handler in
+     * VaadinService.createRequestHandlers(). The default is 256 KiB.
+     *
+     * @return the maximum upload buffer size in bytes
+     */
+    protected int getMaxUploadBufferSize() {
+        return DEFAULT_MAX_UPLOAD_BUFFER_SIZE;
+    }
+
+    static void tryToCloseStream(Closeable out) {
         try {
             // try to close output stream (e.g. file handle)
             if (out != null) {
@@ -463,7 +557,7 @@ public class StreamReceiverHandler implements Serializable {
     }
 
     private final Pair<Boolean, UploadStatus> streamToReceiver(
-            VaadinSession session, final InputStream in,
+            VaadinSession session, UI ui, final InputStream in,
             StreamReceiver streamReceiver, String filename, String type,
             long contentLength) throws UploadException {
         StreamVariable streamVariable = streamReceiver.getStreamVariable();
@@ -473,6 +567,8 @@ public class StreamReceiverHandler implements Serializable {
         }
 
         OutputStream out = null;
+        WritableByteChannel channel = null;
+        ProgressDispatcher progress = null;
         long totalBytes = 0;
         StreamingStartEventImpl startedEvent = new StreamingStartEventImpl(
                 filename, type, contentLength);
@@ -482,14 +578,19 @@ public class StreamReceiverHandler implements Serializable {
             session.lock();
             try {
                 streamVariable.streamingStarted(startedEvent);
-                out = streamVariable.getOutputStream();
+                if (streamVariable instanceof ChannelStreamVariable) {
+                    channel = ((ChannelStreamVariable) streamVariable)
+                            .getChannel();
+                } else {
+                    out = streamVariable.getOutputStream();
+                }
                 listenProgress = streamVariable.listenProgress();
             } finally {
                 session.unlock();
             }
 
             // Gets the output target stream
-            if (out == null) {
+            if (out == null && channel == null) {
                 throw new NoOutputStreamException();
             }
 
@@ -498,20 +599,38 @@ public class StreamReceiverHandler implements Serializable {
                 throw new NoInputStreamException();
             }
 
-            final byte[] buffer = new byte[MAX_UPLOAD_BUFFER_SIZE];
+            if (listenProgress) {
+                progress = new ProgressDispatcher(session, ui, streamVariable);
+            }
+
+            int maxBufferSize = Math.max(MIN_UPLOAD_BUFFER_SIZE,
+                    getMaxUploadBufferSize());
+            byte[] buffer = new byte[contentLength >= maxBufferSize
+                    ? maxBufferSize
+                    : MIN_UPLOAD_BUFFER_SIZE];
             long lastStreamingEvent = 0;
             int bytesReadToBuffer;
             do {
                 bytesReadToBuffer = in.read(buffer);
                 if (bytesReadToBuffer > 0) {
-                    out.write(buffer, 0, bytesReadToBuffer);
+                    if (channel != null) {
+                        writeFully(channel, buffer, bytesReadToBuffer);
+                    } else {
+                        out.write(buffer, 0, bytesReadToBuffer);
+                    }
                     totalBytes += bytesReadToBuffer;
+                    if (bytesReadToBuffer == buffer.length
+                            && buffer.length < maxBufferSize) {
+                        // The request keeps up, read it in larger chunks
+                        buffer = new byte[Math.min(buffer.length * 2,
+                                maxBufferSize)];
+                    }
                 }
-                if (listenProgress) {
+                if (progress != null) {
                     StreamingProgressEventImpl progressEvent = new StreamingProgressEventImpl(
                             filename, type, contentLength, totalBytes);
 
-                    lastStreamingEvent = updateProgress(session, streamVariable,
+                    lastStreamingEvent = updateProgress(progress,
                             progressEvent, lastStreamingEvent,
                             bytesReadToBuffer);
                 }
@@ -521,7 +640,11 @@ public class StreamReceiverHandler implements Serializable {
             } while (bytesReadToBuffer > 0);
 
             // upload successful
-            out.close();
+            if (channel != null) {
+                channel.close();
+            } else {
+                out.close();
+            }
             StreamVariable.StreamingEndEvent event = new StreamingEndEventImpl(
                     filename, type, totalBytes);
             session.lock();
@@ -535,12 +658,14 @@ public class StreamReceiverHandler implements Serializable {
             // Download is either interrupted by application code or some
             // IOException happens
             onStreamingFailed(session, filename, type, contentLength,
-                    streamVariable, out, totalBytes, e);
+                    streamVariable, progress, channel != null ? channel : out,
+                    totalBytes, e);
             // Interrupted exception and IOEXception are not thrown forward:
             // it's enough to fire them via streamVariable
         } catch (final Exception e) {
             onStreamingFailed(session, filename, type, contentLength,
-                    streamVariable, out, totalBytes, e);
+                    streamVariable, progress, channel != null ? channel : out,
+                    totalBytes, e);
             // Throw not IOException and interrupted exception for terminal to
             // be handled (to be passed to terminalErrorHandler): such
             // exceptions mean mistakes in the implementation logic (not upload
@@ -553,7 +678,11 @@ public class StreamReceiverHandler implements Serializable {
 
     private void onStreamingFailed(VaadinSession session, String filename,
             String type, long contentLength, StreamVariable streamVariable,
-            OutputStream out, long totalBytes, final Exception exception) {
+            ProgressDispatcher progress, Closeable out, long totalBytes,
+            final Exception exception) {
+        if (progress != null) {
+            progress.finish();
+        }
         tryToCloseStream(out);
         session.lock();
         try {
@@ -564,26 +693,32 @@ public class StreamReceiverHandler implements Serializable {
         }
     }
 
-    private long updateProgress(VaadinSession session,
-            StreamVariable streamVariable,
+    private long updateProgress(ProgressDispatcher progress,
             StreamingProgressEventImpl progressEvent, long lastStreamingEvent,
             int bytesReadToBuffer) {
+        if (bytesReadToBuffer <= 0) {
+            // The end of the file is always reported before the end event
+            progress.dispatchLast(progressEvent);
+            return lastStreamingEvent;
+        }
         long now = System.currentTimeMillis();
         // to avoid excessive session locking and event storms,
         // events are sent in intervals, or at the end of the file.
-        if (lastStreamingEvent + getProgressEventInterval() <= now
-                || bytesReadToBuffer <= 0) {
-            session.lock();
-            try {
-                streamVariable.onProgress(progressEvent);
-            } finally {
-                session.unlock();
-            }
+        if (lastStreamingEvent + getProgressEventInterval() <= now) {
+            progress.dispatch(progressEvent);
             return now;
         }
         return lastStreamingEvent;
     }
 
+    private static void writeFully(WritableByteChannel channel, byte[] buffer,
+            int length) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+    }
+
     /**
      * The request.getContentLength() is limited to "int" by the Servlet
      * specification. To support larger file uploads manually evaluate the
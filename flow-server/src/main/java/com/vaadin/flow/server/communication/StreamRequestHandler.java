@@ -83,7 +83,7 @@ public class StreamRequestHandler implements RequestHandler {
         }
 
         Optional<AbstractStreamResource> abstractStreamResource;
-        session.lock();
+        session.lockShared();
         try {
             abstractStreamResource = StreamRequestHandler.getPathUri(pathInfo)
                     .flatMap(session.getResourceRegistry()::getResource);
@@ -93,7 +93,7 @@ public class StreamRequestHandler implements RequestHandler {
                 return true;
             }
         } finally {
-            session.unlock();
+            session.unlockShared();
         }
 
         if (abstractStreamResource.isPresent()) {
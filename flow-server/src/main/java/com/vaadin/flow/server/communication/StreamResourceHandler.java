@@ -60,7 +60,7 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
-        session.lock();
+        session.lockShared();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
@@ -79,7 +79,7 @@ public class StreamResourceHandler implements Serializable {
             throw exception;
 
         } finally {
-            session.unlock();
+            session.unlockShared();
         }
         // don't use here "try resource" syntax sugar because in case there is
         // an exception the {@code outputStream} will be closed before "catch"
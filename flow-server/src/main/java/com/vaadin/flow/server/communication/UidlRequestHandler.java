@@ -18,6 +18,7 @@ package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.concurrent.atomic.AtomicReference;
@@ -109,6 +110,10 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         }
 
+        if (isStreamingUidl(session)) {
+            return streamingHandleRequest(session, uI, request, response);
+        }
+
         StringWriter stringWriter = new StringWriter();
 
         try {
@@ -136,6 +141,50 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return true;
     }
 
+    private boolean streamingHandleRequest(VaadinSession session, UI uI,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        boolean resync = false;
+        try {
+            getRpcHandler(session).handleRpc(uI, request.getReader(), request);
+        } catch (JsonException e) {
+            getLogger().error("Error reading JSON from request", e);
+            // Refresh on client side
+            writeRefresh(response);
+            return true;
+        } catch (InvalidUIDLSecurityKeyException e) {
+            getLogger().warn("Invalid security key received from {}",
+                    request.getRemoteHost());
+            // Refresh on client side
+            writeRefresh(response);
+            return true;
+        } catch (ResynchronizationRequiredException e) { // NOSONAR
+            // Resync on the client side
+            resync = true;
+        }
+
+        ResponseWriter writer = new ResponseWriter(response);
+        try {
+            streamUidl(uI, writer, resync);
+        } catch (JsonException e) {
+            getLogger().error("Error writing JSON to response", e);
+            if (!writer.isCommitted()) {
+                // Refresh on client side
+                writeRefresh(response);
+            }
+            // else part of the response has been sent and the client fails to
+            // parse it
+            return true;
+        }
+
+        writer.close();
+        return true;
+    }
+
+    private static boolean isStreamingUidl(VaadinSession session) {
+        return session.getService().getDeploymentConfiguration()
+                .isStreamingUidl();
+    }
+
     private void writeRefresh(VaadinResponse response) throws IOException {
         String json = VaadinService.createCriticalNotificationJSON(null, null,
                 null, null);
@@ -154,6 +203,31 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         writer.write(responseString);
     }
 
+    /**
+     * Writes the UIDL response for the given UI to the writer, serializing the
+     * state changes as they are collected.
+     *
+     * @param ui
+     *            the UI whose changes to write
+     * @param writer
+     *            the writer to write to
+     * @param resync
+     *            whether the client should be asked to resynchronize
+     * @throws IOException
+     *             if writing fails
+     */
+    void streamUidl(UI ui, Writer writer, boolean resync) throws IOException {
+        // some dirt to prevent cross site scripting
+        writer.write("for(;;);[");
+        if (ui instanceof JavaScriptBootstrapUI) {
+            new UidlWriter().writeUidl(ui, false, resync, writer,
+                    this::removeOffendingMprHashFragment);
+        } else {
+            new UidlWriter().writeUidl(ui, false, resync, writer);
+        }
+        writer.write("]");
+    }
+
     JsonObject createUidl(UI ui, boolean resync) {
         return new UidlWriter().createUidl(ui, false, resync);
     }
@@ -162,6 +236,90 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return LoggerFactory.getLogger(UidlRequestHandler.class.getName());
     }
 
+    /**
+     * Writes a streamed UIDL response through a bounded buffer. Nothing is
+     * sent until the buffer fills up for the first time, so a response which
+     * fits in the buffer can still be replaced if its serialization fails. A
+     * larger response is sent in chunks while it is being serialized.
+     */
+    private static class ResponseWriter extends Writer {
+        private static final int BUFFER_SIZE = 32 * 1024;
+
+        private final VaadinResponse response;
+        private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+        private Writer out;
+
+        private ResponseWriter(VaadinResponse response) {
+            this.response = response;
+        }
+
+        /**
+         * Checks whether any part of the response has been sent.
+         *
+         * @return <code>true</code> if the headers and a part of the response
+         *         have been written, <code>false</code> otherwise
+         */
+        private boolean isCommitted() {
+            return out != null;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length)
+                throws IOException {
+            buffer.append(chars, offset, length);
+            writeFullBuffer();
+        }
+
+        @Override
+        public void write(String string, int offset, int length)
+                throws IOException {
+            buffer.append(string, offset, offset + length);
+            writeFullBuffer();
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            buffer.append((char) c);
+            writeFullBuffer();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Flushed only when the buffer is full or the writer is closed
+        }
+
+        /**
+         * Writes the rest of the response. A response which fits in the
+         * buffer is committed with its length like any other JSON response.
+         */
+        @Override
+        public void close() throws IOException {
+            if (out == null) {
+                commitJsonResponse(response, buffer.toString());
+            } else {
+                out.append(buffer);
+                // NOTE GateIn requires the buffers to be flushed to work
+                out.flush();
+            }
+            buffer.setLength(0);
+        }
+
+        private void writeFullBuffer() throws IOException {
+            if (buffer.length() < BUFFER_SIZE) {
+                return;
+            }
+            if (out == null) {
+                response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+                // Ensure that the browser does not cache UIDL responses.
+                response.setHeader("Cache-Control", "no-cache");
+                out = new OutputStreamWriter(response.getOutputStream(),
+                        UTF_8);
+            }
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -226,7 +384,10 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return;
         }
 
-        JsonArray exec = uidl.getArray(EXECUTE);
+        removeOffendingMprHashFragment(uidl.getArray(EXECUTE));
+    }
+
+    private void removeOffendingMprHashFragment(JsonArray exec) {
         String location = null;
         int idx = -1;
         for (int i = 0; i < exec.length(); i++) {
@@ -19,6 +19,8 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -43,6 +45,7 @@ import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.StateNode;
@@ -66,6 +69,7 @@ import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
 
 /**
  * Serializes pending server-side changes to UI state to JSON. This includes
@@ -79,6 +83,7 @@ import elemental.json.JsonValue;
  */
 public class UidlWriter implements Serializable {
     private static final String COULD_NOT_READ_URL_CONTENTS_ERROR_MESSAGE = "Could not read url %s contents";
+    private static final String CHANGES = "changes";
 
     /**
      * Provides context information for the resolve operations.
@@ -147,6 +152,134 @@ public class UidlWriter implements Serializable {
         // Paints components
         getLogger().debug("* Creating response to client");
 
+        populateHeader(response, ui, async, resync);
+
+        JsonArray stateChanges = Json.createArray();
+
+        encodeChanges(ui,
+                change -> stateChanges.set(stateChanges.length(), change));
+
+        populateDependencies(response, uiInternals.getDependencyList(),
+                new ResolveContext(service, session.getBrowser()));
+
+        populateConstants(response, uiInternals);
+        if (stateChanges.length() != 0) {
+            response.put(getChangesKey(service), stateChanges);
+        }
+
+        populateExecute(response, ui, executeList -> {
+        });
+        uiInternals.incrementServerId();
+        return response;
+    }
+
+    /**
+     * Writes all pending changes to the given UI as a JSON object directly to
+     * the given writer.
+     * <p>
+     * The written object contains the same data as the one returned by
+     * {@link #createUidl(UI, boolean, boolean)}, but the state changes are
+     * serialized one by one as they are collected from the state tree instead
+     * of first being gathered into a single JSON array. The memory needed for
+     * the response thus does not grow with the number of changed nodes.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param writer
+     *            the writer to write the UIDL response to, not {@code null}
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    public void writeUidl(UI ui, boolean async, boolean resync, Writer writer)
+            throws IOException {
+        writeUidl(ui, async, resync, writer, executeList -> {
+        });
+    }
+
+    /**
+     * Writes all pending changes to the given UI as a JSON object directly to
+     * the given writer, allowing the JavaScript invocations to be adjusted
+     * before they are written.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message
+     * @param resync
+     *            True iff the client should be asked to resynchronize
+     * @param writer
+     *            the writer to write the UIDL response to, not {@code null}
+     * @param executeProcessor
+     *            a callback receiving the encoded JavaScript invocations before
+     *            they are written
+     * @throws IOException
+     *             if writing to the writer fails
+     */
+    void writeUidl(UI ui, boolean async, boolean resync, Writer writer,
+            SerializableConsumer<JsonArray> executeProcessor)
+            throws IOException {
+        UIInternals uiInternals = ui.getInternals();
+
+        VaadinSession session = ui.getSession();
+        VaadinService service = session.getService();
+
+        // Purge pending access calls as they might produce additional changes
+        // to write out
+        service.runPendingAccessTasks(session);
+
+        getLogger().debug("* Writing response to client");
+
+        JsonObjectWriter responseWriter = new JsonObjectWriter(writer);
+
+        JsonObject header = Json.createObject();
+        populateHeader(header, ui, async, resync);
+        responseWriter.writeMembers(header);
+
+        String changesKey = getChangesKey(service);
+        try {
+            encodeChanges(ui,
+                    change -> responseWriter.writeChange(changesKey, change));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        responseWriter.endChanges();
+
+        JsonObject tail = Json.createObject();
+        populateDependencies(tail, uiInternals.getDependencyList(),
+                new ResolveContext(service, session.getBrowser()));
+        populateConstants(tail, uiInternals);
+        populateExecute(tail, ui, executeProcessor);
+        responseWriter.writeMembers(tail);
+
+        responseWriter.close();
+        uiInternals.incrementServerId();
+    }
+
+    /**
+     * Creates a JSON object containing all pending changes to the given UI.
+     *
+     * @param ui
+     *            The {@link UI} whose changes to write
+     * @param async
+     *            True if this message is sent by the server asynchronously,
+     *            false if it is a response to a client message.
+     * @return JSON object containing the UIDL response
+     */
+    public JsonObject createUidl(UI ui, boolean async) {
+        return createUidl(ui, async, false);
+    }
+
+    private static void populateHeader(JsonObject response, UI ui,
+            boolean async, boolean resync) {
+        UIInternals uiInternals = ui.getInternals();
+        VaadinService service = ui.getSession().getService();
+
         int syncId = service.getDeploymentConfiguration().isSyncIdCheckEnabled()
                 ? uiInternals.getServerSyncId()
                 : -1;
@@ -168,47 +301,38 @@ public class UidlWriter implements Serializable {
         if (meta.keys().length > 0) {
             response.put("meta", meta);
         }
+    }
 
-        JsonArray stateChanges = Json.createArray();
-
-        encodeChanges(ui, stateChanges);
-
-        populateDependencies(response, uiInternals.getDependencyList(),
-                new ResolveContext(service, session.getBrowser()));
+    private static String getChangesKey(VaadinService service) {
+        return service.getDeploymentConfiguration().isCompactUidl()
+                ? JsonConstants.UIDL_KEY_COMPACT_CHANGES
+                : CHANGES;
+    }
 
+    private static void populateConstants(JsonObject response,
+            UIInternals uiInternals) {
         if (uiInternals.getConstantPool().hasNewConstants()) {
             response.put("constants",
                     uiInternals.getConstantPool().dumpConstants());
         }
-        if (stateChanges.length() != 0) {
-            response.put("changes", stateChanges);
-        }
+    }
+
+    private void populateExecute(JsonObject response, UI ui,
+            SerializableConsumer<JsonArray> executeProcessor) {
+        UIInternals uiInternals = ui.getInternals();
 
         List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
                 .dumpPendingJavaScriptInvocations();
         if (!executeJavaScriptList.isEmpty()) {
-            response.put(JsonConstants.UIDL_KEY_EXECUTE,
-                    encodeExecuteJavaScriptList(executeJavaScriptList));
+            JsonArray executeList = encodeExecuteJavaScriptList(
+                    executeJavaScriptList);
+            executeProcessor.accept(executeList);
+            response.put(JsonConstants.UIDL_KEY_EXECUTE, executeList);
         }
-        if (service.getDeploymentConfiguration().isRequestTiming()) {
+        if (ui.getSession().getService().getDeploymentConfiguration()
+                .isRequestTiming()) {
             response.put("timings", createPerformanceData(ui));
         }
-        uiInternals.incrementServerId();
-        return response;
-    }
-
-    /**
-     * Creates a JSON object containing all pending changes to the given UI.
-     *
-     * @param ui
-     *            The {@link UI} whose changes to write
-     * @param async
-     *            True if this message is sent by the server asynchronously,
-     *            false if it is a response to a client message.
-     * @return JSON object containing the UIDL response
-     */
-    public JsonObject createUidl(UI ui, boolean async) {
-        return createUidl(ui, async, false);
     }
 
     private static void populateDependencies(JsonObject response,
@@ -379,16 +503,20 @@ public class UidlWriter implements Serializable {
      *
      * @param ui
      *            the UI
-     * @param stateChanges
-     *            a JSON array to put state changes into
+     * @param changeConsumer
+     *            a consumer receiving the encoded state changes in order
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui,
+            SerializableConsumer<JsonValue> changeConsumer) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
         stateTree.runExecutionsBeforeClientResponse();
 
+        boolean compact = ui.getSession().getService()
+                .getDeploymentConfiguration().isCompactUidl();
+
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
             if (attachesComponent(change)) {
@@ -398,8 +526,9 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            ConstantPool constantPool = uiInternals.getConstantPool();
+            changeConsumer.accept(compact ? change.toCompactJson(constantPool)
+                    : change.toJson(constantPool));
         });
 
         componentsWithDependencies
@@ -432,6 +561,60 @@ public class UidlWriter implements Serializable {
         return timings;
     }
 
+    /**
+     * Writes the members of a single JSON object to a writer as they become
+     * available, so that the object never needs to be built in memory as a
+     * whole.
+     */
+    private static class JsonObjectWriter implements Serializable {
+        private final transient Writer writer;
+        private boolean empty = true;
+        private boolean changesStarted;
+
+        private JsonObjectWriter(Writer writer) {
+            this.writer = Objects.requireNonNull(writer);
+        }
+
+        private void writeMembers(JsonObject object) throws IOException {
+            for (String key : object.keys()) {
+                writeKey(key);
+                writer.write(object.get(key).toJson());
+            }
+        }
+
+        private void writeChange(String changesKey, JsonValue change) {
+            try {
+                if (changesStarted) {
+                    writer.write(',');
+                } else {
+                    writeKey(changesKey);
+                    writer.write('[');
+                    changesStarted = true;
+                }
+                writer.write(change.toJson());
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private void endChanges() throws IOException {
+            if (changesStarted) {
+                writer.write(']');
+            }
+        }
+
+        private void close() throws IOException {
+            writer.write(empty ? "{}" : "}");
+        }
+
+        private void writeKey(String key) throws IOException {
+            writer.write(empty ? '{' : ',');
+            empty = false;
+            writer.write(JsonUtil.quote(key));
+            writer.write(':');
+        }
+    }
+
     private static final Logger getLogger() {
         return LoggerFactory.getLogger(UidlWriter.class.getName());
     }
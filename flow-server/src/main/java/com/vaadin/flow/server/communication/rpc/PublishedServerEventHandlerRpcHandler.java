@@ -16,13 +16,19 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,6 +43,7 @@ import com.vaadin.flow.component.template.internal.DeprecatedPolymerPublishedEve
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.ReflectTools;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ClientCallableHandlers;
@@ -66,6 +73,76 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static final Collection<RpcDecoder> DECODERS = loadDecoders();
 
+    static final ReflectionCache<Component, HandlerMethods> HANDLER_METHODS = new ReflectionCache<>(
+            HandlerMethods::new);
+
+    /**
+     * The event handler methods of a component class by name, collected once
+     * per class instead of scanning the declared methods of the class
+     * hierarchy for every invocation.
+     */
+    static class HandlerMethods {
+        private final Map<String, HandlerMethod> methods = new HashMap<>();
+        private final Set<String> ambiguous = new HashSet<>();
+
+        private HandlerMethods(Class<? extends Component> type) {
+            Class<?> clazz = type;
+            while (true) {
+                Map<String, List<Method>> declared = Stream
+                        .of(clazz.getDeclaredMethods())
+                        .filter(method -> hasMethodAnnotation(method))
+                        .collect(Collectors.groupingBy(Method::getName));
+                declared.forEach((name, candidates) -> {
+                    // A method in a sub class hides the super class methods
+                    if (methods.containsKey(name)
+                            || ambiguous.contains(name)) {
+                        return;
+                    }
+                    if (candidates.size() > 1) {
+                        ambiguous.add(name);
+                    } else {
+                        methods.put(name, new HandlerMethod(candidates.get(0)));
+                    }
+                });
+                if (Component.class.equals(clazz)) {
+                    break;
+                }
+                clazz = clazz.getSuperclass();
+            }
+        }
+    }
+
+    /**
+     * An event handler method with an invoker taking the instance and the
+     * decoded arguments as an array.
+     */
+    private static class HandlerMethod {
+        private static final MethodType INVOKER_TYPE = MethodType
+                .methodType(Object.class, Object.class, Object[].class);
+
+        private final Method method;
+        private final Class<?>[] parameterTypes;
+        private final boolean varArgs;
+        private final boolean allowInert;
+        private final MethodHandle invoker;
+
+        private HandlerMethod(Method method) {
+            this.method = method;
+            parameterTypes = method.getParameterTypes();
+            varArgs = method.isVarArgs();
+            allowInert = method.isAnnotationPresent(AllowInert.class);
+            method.setAccessible(true);
+            try {
+                invoker = MethodHandles.lookup().unreflect(method)
+                        .asFixedArity()
+                        .asSpreader(Object[].class, parameterTypes.length)
+                        .asType(INVOKER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
     @Override
     public String getRpcType() {
         return JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER;
@@ -144,7 +221,8 @@ public class PublishedServerEventHandlerRpcHandler
     static void invokeMethod(Component instance, Class<?> clazz,
             String methodName, JsonArray args, int promiseId, boolean inert) {
         assert instance != null;
-        Optional<Method> method = findMethod(instance, clazz, methodName);
+        Optional<HandlerMethod> method = findMethod(instance, clazz,
+                methodName);
         if (method.isPresent()) {
             invokeMethod(instance, method.get(), args, promiseId, inert);
         } else if (instance instanceof Composite) {
@@ -159,24 +237,18 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Optional<Method> findMethod(Component instance,
+    @SuppressWarnings("unchecked")
+    private static Optional<HandlerMethod> findMethod(Component instance,
             Class<?> clazz, String methodName) {
-        List<Method> methods = Stream.of(clazz.getDeclaredMethods())
-                .filter(method -> methodName.equals(method.getName()))
-                .filter(method -> hasMethodAnnotation(method))
-                .collect(Collectors.toList());
-        if (methods.size() > 1) {
+        HandlerMethods methods = HANDLER_METHODS
+                .get((Class<? extends Component>) clazz);
+        if (methods.ambiguous.contains(methodName)) {
             String msg = String.format("Class '%s' contains "
                     + "several event handler method with the same name '%s'",
                     instance.getClass().getName(), methodName);
             throw new IllegalStateException(msg);
-        } else if (methods.size() == 1) {
-            return Optional.of(methods.get(0));
-        } else if (!Component.class.equals(clazz)) {
-            return findMethod(instance, clazz.getSuperclass(), methodName);
-        } else {
-            return Optional.empty();
         }
+        return Optional.ofNullable(methods.methods.get(methodName));
     }
 
     private static boolean hasMethodAnnotation(Method method) {
@@ -187,9 +259,9 @@ public class PublishedServerEventHandlerRpcHandler
                 || method.isAnnotationPresent(ClientCallable.class);
     }
 
-    private static void invokeMethod(Component instance, Method method,
+    private static void invokeMethod(Component instance, HandlerMethod method,
             JsonArray args, int promiseId, boolean inert) {
-        if (inert && !method.isAnnotationPresent(AllowInert.class)) {
+        if (inert && !method.allowInert) {
             return;
         }
         if (promiseId == -1) {
@@ -215,27 +287,27 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Object invokeMethod(Component instance, Method method,
+    private static Object invokeMethod(Component instance, HandlerMethod method,
             JsonArray args) {
+        Object[] decoded = decodeArgs(instance, method, args);
         try {
-            method.setAccessible(true);
-            return method.invoke(instance, decodeArgs(instance, method, args));
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (InvocationTargetException e) {
+            return method.invoker.invokeExact((Object) instance, decoded);
+        } catch (Throwable e) { // NOSONAR
+            // Same as InvocationTargetException#getCause with Method#invoke
             LoggerFactory.getLogger(
                     PublishedServerEventHandlerRpcHandler.class.getName())
                     .debug(null, e);
-            throw new RuntimeException(e.getCause());
+            throw new RuntimeException(e);
         }
     }
 
-    private static Object[] decodeArgs(Component instance, Method method,
-            JsonArray argsFromClient) {
-        int methodArgs = method.getParameterCount();
+    private static Object[] decodeArgs(Component instance,
+            HandlerMethod handlerMethod, JsonArray argsFromClient) {
+        Method method = handlerMethod.method;
+        int methodArgs = handlerMethod.parameterTypes.length;
         int clientValuesCount = argsFromClient.length();
         JsonArray argValues;
-        if (method.isVarArgs()) {
+        if (handlerMethod.varArgs) {
             if (clientValuesCount >= methodArgs - 1) {
                 argValues = unwrapVarArgs(argsFromClient, method);
             } else {
@@ -261,13 +333,12 @@ public class PublishedServerEventHandlerRpcHandler
                 throw new IllegalArgumentException(msg);
             }
         }
-        List<Object> decoded = new ArrayList<>(method.getParameterCount());
-        Class<?>[] methodParameterTypes = method.getParameterTypes();
+        Object[] decoded = new Object[methodArgs];
         for (int i = 0; i < argValues.length(); i++) {
-            Class<?> type = methodParameterTypes[i];
-            decoded.add(decodeArg(instance, method, type, i, argValues.get(i)));
+            Class<?> type = handlerMethod.parameterTypes[i];
+            decoded[i] = decodeArg(instance, method, type, i, argValues.get(i));
         }
-        return decoded.toArray(new Object[method.getParameterCount()]);
+        return decoded;
     }
 
     private static JsonArray unwrapVarArgs(JsonArray argsFromClient,
@@ -346,9 +417,12 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static Optional<RpcDecoder> getDecoder(JsonValue value,
             Class<?> type) {
-        return DECODERS.stream()
-                .filter(decoder -> decoder.isApplicable(value, type))
-                .findFirst();
+        for (RpcDecoder decoder : DECODERS) {
+            if (decoder.isApplicable(value, type)) {
+                return Optional.of(decoder);
+            }
+        }
+        return Optional.empty();
     }
 
     private static Object decodeArray(Method method, Class<?> type, int index,
@@ -217,6 +217,12 @@ public class FrontendUtils {
      */
     public static final String FEATURE_FLAGS_FILE_NAME = "vaadin-featureflags.ts";
 
+    /**
+     * File name of the cache of class scanning results that is kept in the
+     * build directory in between builds.
+     */
+    public static final String SCAN_CACHE_FILE_NAME = "frontend-scan-cache.ser";
+
     /**
      * File name of the index.html in client side.
      */
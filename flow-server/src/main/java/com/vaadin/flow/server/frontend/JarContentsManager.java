@@ -243,6 +243,9 @@ public class JarContentsManager {
      * @param wildcardPathInclusions
      *            wildcard inclusions that are used to check each path against
      *            before copying
+     * @return the files in the output directory matching the included files
+     *         of the jar, whether they were copied or already had the same
+     *         content, not {@code null}
      * @throws IllegalArgumentException
      *             if jar file specified is not a file or does not exist or if
      *             output directory is not a directory or does not exist
@@ -252,7 +255,7 @@ public class JarContentsManager {
      *             if {@link IOException} occurs during the operation, for
      *             instance, when jar file specified is not a jar file
      */
-    public void copyIncludedFilesFromJarTrimmingBasePath(File jar,
+    public List<File> copyIncludedFilesFromJarTrimmingBasePath(File jar,
             String jarDirectoryToCopyFrom, File outputDirectory,
             String... wildcardPathInclusions) {
         requireFileExistence(jar);
@@ -266,12 +269,13 @@ public class JarContentsManager {
         String basePath = normalizeJarBasePath(jarDirectoryToCopyFrom);
 
         try (JarFile jarFile = new JarFile(jar, false)) {
-            jarFile.stream().filter(file -> !file.isDirectory())
+            return jarFile.stream().filter(file -> !file.isDirectory())
                     .filter(file -> file.getName().toLowerCase(Locale.ENGLISH)
                             .startsWith(basePath.toLowerCase(Locale.ENGLISH)))
                     .filter(file -> includeFile(file, wildcardPathInclusions))
-                    .forEach(jarEntry -> copyJarEntryTrimmingBasePath(jarFile,
-                            jarEntry, basePath, outputDirectory));
+                    .map(jarEntry -> copyJarEntryTrimmingBasePath(jarFile,
+                            jarEntry, basePath, outputDirectory))
+                    .collect(Collectors.toList());
         } catch (IOException e) {
             throw new UncheckedIOException(String.format(
                     "Failed to extract files from jarFile '%s' to directory '%s'",
@@ -300,7 +304,7 @@ public class JarContentsManager {
                 .wildcardMatch(filePath, inclusionRule));
     }
 
-    private void copyJarEntryTrimmingBasePath(JarFile jarFile,
+    private File copyJarEntryTrimmingBasePath(JarFile jarFile,
             ZipEntry jarEntry, String basePath, File outputDirectory) {
         String fullPath = jarEntry.getName();
         String relativePath = fullPath
@@ -315,6 +319,7 @@ public class JarContentsManager {
                 FileUtils.copyInputStreamToFile(
                         jarFile.getInputStream(jarEntry), target);
             }
+            return target;
         } catch (IOException e) {
             throw new UncheckedIOException(String.format(
                     "Failed to extract jar entry '%s' from jarFile", jarEntry),
@@ -24,10 +24,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.vaadin.experimental.FeatureFlags;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.server.Constants;
@@ -111,6 +121,8 @@ public class NodeTasks implements FallibleCommand {
 
         private boolean copyTemplates = false;
 
+        private boolean generatePwaIcons = false;
+
         /**
          * Directory for npm and folders and files.
          */
@@ -360,6 +372,21 @@ public class NodeTasks implements FallibleCommand {
             return this;
         }
 
+        /**
+         * Sets whether to render the PWA icons to
+         * {@code META-INF/VAADIN/config/pwa-icons} so that they are not
+         * rendered on application startup.
+         *
+         * @param generatePwaIcons
+         *            whether to render the PWA icons
+         *
+         * @return the builder
+         */
+        public Builder generatePwaIcons(boolean generatePwaIcons) {
+            this.generatePwaIcons = generatePwaIcons;
+            return this;
+        }
+
         /**
          * Sets whether to collect and package
          * {@link com.vaadin.flow.component.WebComponentExporter} dependencies.
@@ -713,10 +740,37 @@ public class NodeTasks implements FallibleCommand {
             TaskUpdateVite.class,
             TaskUpdateImports.class,
             TaskUpdateThemeImport.class,
-            TaskCopyTemplateFiles.class
+            TaskCopyTemplateFiles.class,
+            TaskGeneratePwaIcons.class
         ));
     // @formatter:on
 
+    // @formatter:off
+    // Tasks which only need the listed tasks to be done before they run
+    // instead of all the tasks before them in commandOrder. They write files
+    // that no task in between them and their prerequisites touches, so they
+    // can run concurrently with those tasks. The files copied from jars are
+    // linked as a package in node_modules, so the copy tasks wait for npm.
+    private static final Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>> independentCommands =
+        Map.of(
+            TaskGenerateIndexHtml.class, List.of(),
+            TaskGenerateTsConfig.class, List.of(),
+            TaskGenerateTsDefinitions.class, List.of(
+                TaskGenerateTsConfig.class),
+            TaskGenerateServiceWorker.class, List.of(),
+            TaskGeneratePwaIcons.class, List.of(),
+            TaskCopyFrontendFiles.class, List.of(
+                TaskGeneratePackageJson.class,
+                TaskUpdatePackages.class,
+                TaskRunNpmInstall.class),
+            TaskCopyLocalFrontendFiles.class, List.of(
+                TaskGeneratePackageJson.class,
+                TaskUpdatePackages.class,
+                TaskRunNpmInstall.class,
+                TaskCopyFrontendFiles.class)
+        );
+    // @formatter:on
+
     private final List<FallibleCommand> commands = new ArrayList<>();
 
     private NodeTasks(Builder builder) {
@@ -732,7 +786,10 @@ public class NodeTasks implements FallibleCommand {
             frontendDependencies = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!builder.useByteCodeScanner, classFinder,
                             builder.generateEmbeddableWebComponents,
-                            builder.useLegacyV14Bootstrap, featureFlags);
+                            builder.useLegacyV14Bootstrap, featureFlags, false,
+                            new File(new File(builder.npmFolder,
+                                    builder.buildDirectory),
+                                    FrontendUtils.SCAN_CACHE_FILE_NAME));
 
             if (builder.generateEmbeddableWebComponents) {
                 FrontendWebComponentGenerator generator = new FrontendWebComponentGenerator(
@@ -870,6 +927,13 @@ public class NodeTasks implements FallibleCommand {
             commands.add(new TaskCopyTemplateFiles(classFinder,
                     builder.npmFolder, builder.resourceOutputDirectory));
         }
+
+        if (builder.generatePwaIcons && frontendDependencies != null
+                && builder.resourceOutputDirectory != null) {
+            commands.add(new TaskGeneratePwaIcons(classFinder,
+                    builder.npmFolder, builder.resourceOutputDirectory,
+                    frontendDependencies.getPwaConfiguration()));
+        }
     }
 
     private void addBootstrapTasks(Builder builder) {
@@ -948,13 +1012,107 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
+    /**
+     * Runs the tasks in the pre-defined order. A task is started when the
+     * tasks before it in the order are done, except for the tasks which only
+     * depend on some of the tasks before them. Those are run concurrently with
+     * the other tasks as soon as their prerequisites are done.
+     * <p>
+     * If a task fails, the tasks depending on it are not run and the failure
+     * is thrown after the already running tasks are done.
+     *
+     * @throws ExecutionFailedException
+     *             if a task fails
+     */
     @Override
     public void execute() throws ExecutionFailedException {
         sortCommands(commands);
 
-        for (FallibleCommand command : commands) {
+        long start = System.nanoTime();
+        ClassLoader contextClassLoader = Thread.currentThread()
+                .getContextClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable,
+                    "vaadin-node-tasks-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+        List<CompletableFuture<Void>> results = new ArrayList<>(
+                commands.size());
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                FallibleCommand command = commands.get(i);
+                List<CompletableFuture<Void>> prerequisites = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    if (isPrerequisite(commands.get(j), command)) {
+                        prerequisites.add(results.get(j));
+                    }
+                }
+                results.add(CompletableFuture
+                        .allOf(prerequisites
+                                .toArray(new CompletableFuture[0]))
+                        .thenRunAsync(() -> executeTimed(command), executor));
+            }
+            // Let the tasks which are already running finish before
+            // reporting a failure
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                    .exceptionally(throwable -> null).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // The first failed task in the order is the cause of the failures of
+        // the tasks depending on it
+        for (CompletableFuture<Void> result : results) {
+            try {
+                result.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedExecutionFailedException) {
+                    throw ((UncheckedExecutionFailedException) cause)
+                            .getCause();
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+        getLogger().debug("Executed {} tasks in {} ms", commands.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void executeTimed(FallibleCommand command) {
+        long start = System.nanoTime();
+        try {
             command.execute();
+        } catch (ExecutionFailedException e) {
+            throw new UncheckedExecutionFailedException(e);
         }
+        getLogger().debug("{} took {} ms", command.getClass().getSimpleName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Checks whether a task must be done before another task which is after
+     * it in the pre-defined order is started.
+     *
+     * @param earlier
+     *            the task which is earlier in the order
+     * @param later
+     *            the task which is later in the order
+     * @return <code>true</code> if the later task has to wait for the earlier
+     *         one, <code>false</code> if they can run concurrently
+     */
+    private boolean isPrerequisite(FallibleCommand earlier,
+            FallibleCommand later) {
+        List<Class<? extends FallibleCommand>> prerequisites = independentCommands
+                .get(commandOrder.get(getIndex(later)));
+        return prerequisites == null || prerequisites.stream()
+                .anyMatch(type -> type.isInstance(earlier));
     }
 
     /**
@@ -988,4 +1146,25 @@ public class NodeTasks implements FallibleCommand {
                 .findFirst()
                 .orElseThrow(() -> new UnknownTaskException(command));
     }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(NodeTasks.class);
+    }
+
+    /**
+     * Carries the failure of a task through the completion stages.
+     */
+    private static class UncheckedExecutionFailedException
+            extends RuntimeException {
+
+        private UncheckedExecutionFailedException(
+                ExecutionFailedException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ExecutionFailedException getCause() {
+            return (ExecutionFailedException) super.getCause();
+        }
+    }
 }
@@ -16,13 +16,23 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import elemental.json.Json;
+import elemental.json.JsonException;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
 import static com.vaadin.flow.server.Constants.COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.RESOURCES_JAR_DEFAULT;
@@ -30,6 +40,11 @@ import static com.vaadin.flow.server.Constants.RESOURCES_JAR_DEFAULT;
 /**
  * Copies JavaScript and CSS files from JAR files into a given folder.
  * <p>
+ * The size and modification time of each jar and the files copied from it are
+ * kept in a manifest next to the folder. A jar which has not changed since the
+ * previous execution is not opened again as long as the files copied from it
+ * are still there.
+ * <p>
  * For internal use only. May be renamed or removed in a future release.
  *
  * @since 2.0
@@ -39,6 +54,10 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
             "**/*.js", "**/*.js.map", "**/*.css", "**/*.css.map", "**/*.ts",
             "**/*.ts.map", "**/*.tsx", "**/*.tsx.map" };
     private static final String WILDCARD_INCLUSION_APP_THEME_JAR = "**/themes/**/*";
+    private static final String MANIFEST_SUFFIX = "-jars.json";
+    private static final String SIZE = "size";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String FILES = "files";
     private File targetDirectory;
     private Set<File> resourceLocations = null;
 
@@ -66,6 +85,11 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
         log().info("Copying frontend resources from jar files ...");
         TaskCopyLocalFrontendFiles.createTargetFolder(targetDirectory);
         JarContentsManager jarContentsManager = new JarContentsManager();
+        File manifestFile = new File(targetDirectory.getParentFile(),
+                targetDirectory.getName() + MANIFEST_SUFFIX);
+        JsonObject manifest = readManifest(manifestFile);
+        JsonObject updatedManifest = Json.createObject();
+        int skipped = 0;
         for (File location : resourceLocations) {
             if (location.isDirectory()) {
                 TaskCopyLocalFrontendFiles.copyLocalResources(
@@ -75,21 +99,94 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
                         new File(location,
                                 COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT),
                         targetDirectory);
+                continue;
+            }
+            String key = location.getAbsolutePath();
+            JsonObject entry = manifest.hasKey(key) ? manifest.getObject(key)
+                    : null;
+            if (entry != null && isUnchanged(location, entry)) {
+                skipped++;
             } else {
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_FRONTEND_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
-                        targetDirectory, WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_JAR_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSION_APP_THEME_JAR);
+                List<File> files = new ArrayList<>();
+                files.addAll(jarContentsManager
+                        .copyIncludedFilesFromJarTrimmingBasePath(location,
+                                RESOURCES_FRONTEND_DEFAULT, targetDirectory,
+                                WILDCARD_INCLUSIONS));
+                files.addAll(jarContentsManager
+                        .copyIncludedFilesFromJarTrimmingBasePath(location,
+                                COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
+                                targetDirectory, WILDCARD_INCLUSIONS));
+                files.addAll(jarContentsManager
+                        .copyIncludedFilesFromJarTrimmingBasePath(location,
+                                RESOURCES_JAR_DEFAULT, targetDirectory,
+                                WILDCARD_INCLUSION_APP_THEME_JAR));
+                entry = createManifestEntry(location, files);
             }
+            updatedManifest.put(key, entry);
         }
+        writeManifest(manifestFile, manifest, updatedManifest);
         long ms = (System.nanoTime() - start) / 1000000;
-        log().info("Visited {} resources. Took {} ms.",
-                resourceLocations.size(), ms);
+        log().info(
+                "Visited {} resources, skipped {} unchanged jars. Took {} ms.",
+                resourceLocations.size(), skipped, ms);
+    }
+
+    private boolean isUnchanged(File jar, JsonObject entry) {
+        if (!entry.hasKey(SIZE) || !entry.hasKey(LAST_MODIFIED)
+                || !entry.hasKey(FILES)
+                || jar.length() != entry.getNumber(SIZE)
+                || jar.lastModified() != entry.getNumber(LAST_MODIFIED)) {
+            return false;
+        }
+        // The copied files may have been removed or modified since
+        JsonObject files = entry.getObject(FILES);
+        for (String path : files.keys()) {
+            File file = new File(targetDirectory, path);
+            if (!file.isFile() || file.length() != files.getNumber(path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonObject createManifestEntry(File jar, List<File> copiedFiles) {
+        JsonObject files = Json.createObject();
+        for (File file : copiedFiles) {
+            files.put(targetDirectory.toPath().relativize(file.toPath())
+                    .toString().replace(File.separatorChar, '/'),
+                    file.length());
+        }
+        JsonObject entry = Json.createObject();
+        entry.put(SIZE, jar.length());
+        entry.put(LAST_MODIFIED, jar.lastModified());
+        entry.put(FILES, files);
+        return entry;
+    }
+
+    private JsonObject readManifest(File manifestFile) {
+        if (manifestFile.isFile()) {
+            try {
+                return Json.parse(FileUtils.readFileToString(manifestFile,
+                        StandardCharsets.UTF_8));
+            } catch (IOException | JsonException e) {
+                log().debug("Unable to read {}, copying all files",
+                        manifestFile, e);
+            }
+        }
+        return Json.createObject();
+    }
+
+    private void writeManifest(File manifestFile, JsonObject manifest,
+            JsonObject updatedManifest) {
+        String content = JsonUtil.stringify(updatedManifest, 2);
+        if (content.equals(JsonUtil.stringify(manifest, 2))) {
+            return;
+        }
+        try {
+            FileUtils.write(manifestFile, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log().debug("Unable to write {}", manifestFile, e);
+        }
     }
 
     private Logger log() {
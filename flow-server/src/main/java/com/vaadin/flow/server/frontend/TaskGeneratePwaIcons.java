@@ -0,0 +1,109 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.BootstrapHandler;
+import com.vaadin.flow.server.ExecutionFailedException;
+import com.vaadin.flow.server.PwaConfiguration;
+import com.vaadin.flow.server.PwaRegistry;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+/**
+ * Renders the PWA icons into the resource output folder so that they don't
+ * need to be rendered from the icon image when the application starts.
+ * <p>
+ * The icon image is looked up the same way as at runtime: from the web
+ * application folder first, then from {@code META-INF/resources} in the class
+ * path, and finally the default Vaadin logo is used.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+public class TaskGeneratePwaIcons implements FallibleCommand {
+
+    private static final String WEBAPP_DIRECTORY = "src/main/webapp";
+    private static final String META_INF_RESOURCES = "META-INF/resources/";
+
+    private final ClassFinder classFinder;
+    private final File projectDirectory;
+    private final File resourceOutputDirectory;
+    private final PwaConfiguration pwaConfiguration;
+
+    /**
+     * Create a task to render the PWA icons.
+     *
+     * @param classFinder
+     *            the class finder to look up the icon image with
+     * @param projectDirectory
+     *            the project root directory
+     * @param resourceOutputDirectory
+     *            the directory to output generated non-served resources to
+     * @param pwaConfiguration
+     *            the PWA configuration of the application
+     */
+    TaskGeneratePwaIcons(ClassFinder classFinder, File projectDirectory,
+            File resourceOutputDirectory, PwaConfiguration pwaConfiguration) {
+        this.classFinder = classFinder;
+        this.projectDirectory = projectDirectory;
+        this.resourceOutputDirectory = resourceOutputDirectory;
+        this.pwaConfiguration = pwaConfiguration;
+    }
+
+    @Override
+    public void execute() throws ExecutionFailedException {
+        if (!pwaConfiguration.isEnabled()) {
+            return;
+        }
+        String iconPath = pwaConfiguration.getIconPath();
+        try {
+            PwaRegistry.writePrerenderedIcons(iconPath, getLogoData(iconPath),
+                    resourceOutputDirectory);
+        } catch (IOException e) {
+            throw new ExecutionFailedException(
+                    "Unable to render the PWA icons for " + iconPath, e);
+        }
+    }
+
+    private byte[] getLogoData(String iconPath) throws IOException {
+        File webappLogo = new File(new File(projectDirectory, WEBAPP_DIRECTORY),
+                iconPath);
+        if (webappLogo.isFile()) {
+            return Files.readAllBytes(webappLogo.toPath());
+        }
+        URL resource = classFinder.getResource(META_INF_RESOURCES + iconPath);
+        if (resource == null) {
+            log().debug("No icon image found for '{}', using the default logo",
+                    iconPath);
+            resource = BootstrapHandler.class.getResource("default-logo.png");
+        }
+        try (InputStream stream = resource.openStream()) {
+            return IOUtils.toByteArray(stream);
+        }
+    }
+
+    Logger log() {
+        return LoggerFactory.getLogger(getClass());
+    }
+}
@@ -18,14 +18,25 @@ package com.vaadin.flow.server.frontend.scanner;
 import static com.vaadin.flow.server.frontend.scanner.FrontendClassVisitor.VALUE;
 import static com.vaadin.flow.server.frontend.scanner.FrontendClassVisitor.VERSION;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -33,6 +44,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -52,6 +68,7 @@ import com.vaadin.flow.server.PWA;
 import com.vaadin.flow.server.PwaConfiguration;
 import com.vaadin.flow.server.UIInitListener;
 import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.Version;
 import com.vaadin.flow.theme.AbstractTheme;
 import com.vaadin.flow.theme.NoTheme;
 import com.vaadin.flow.theme.ThemeDefinition;
@@ -67,6 +84,18 @@ import net.bytebuddy.jar.asm.ClassReader;
  */
 public class FrontendDependencies extends AbstractDependenciesScanner {
 
+    // @formatter:off
+    private static final Pattern NON_VISITABLE_CLASSES = Pattern.compile(
+            "(^$|"
+            + ".*(slf4j).*|"
+            // #5803
+            + "^(java|sun|elemental|javax|org.(apache|atmosphere|jsoup|jboss|w3c|spring|joda|hibernate|glassfish|hsqldb)|com.(helger|spring|gwt|lowagie|fasterxml)|net.(sf|bytebuddy)).*|"
+            + ".*(Exception)$"
+            + ")"); // @formatter:on
+
+    // Increment when the information kept for a class changes
+    private static final int SCAN_CACHE_VERSION = 1;
+
     private final HashMap<String, EndPointData> endPoints = new HashMap<>();
     private ThemeDefinition themeDefinition;
     private AbstractTheme themeInstance;
@@ -75,6 +104,80 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     private final boolean useV14Bootstrap;
     private PwaConfiguration pwaConfiguration;
 
+    // Classes reachable from the entry points are read in parallel before
+    // visiting the entry points one by one using the results
+    private final Set<String> scanned = ConcurrentHashMap.newKeySet();
+    private final Map<String, ClassScan> classScans = new ConcurrentHashMap<>();
+
+    // Results of the previous run, used for the classes that have not changed
+    private final Map<String, ClassScan> cachedScans;
+
+    /**
+     * The information found in a class when it is neither the entry point
+     * class nor its layout, which is the same for every entry point.
+     */
+    private static final class ClassScan implements Serializable {
+        // CRC-32 of the class file, or -1 if not known
+        private final long checksum;
+        private final List<String> modules;
+        private final List<String> scripts;
+        private final List<CssData> css;
+        private final List<String> children;
+
+        private ClassScan(long checksum, EndPointData data,
+                Collection<String> children) {
+            this.checksum = checksum;
+            modules = new ArrayList<>(data.modules);
+            scripts = new ArrayList<>(data.scripts);
+            css = new ArrayList<>(data.css);
+            this.children = new ArrayList<>(children);
+        }
+
+        private void addTo(EndPointData endPoint, boolean themeScope) {
+            if (themeScope) {
+                endPoint.themeModules.addAll(modules);
+            } else {
+                endPoint.modules.addAll(modules);
+            }
+            endPoint.scripts.addAll(scripts);
+            endPoint.css.addAll(css);
+        }
+    }
+
+    /**
+     * Reads the given classes and the classes reachable from them, forking a
+     * task for the children of each class.
+     */
+    private final class ScanTask extends RecursiveAction {
+        private final Collection<String> classNames;
+
+        private ScanTask(Collection<String> classNames) {
+            this.classNames = classNames;
+        }
+
+        @Override
+        protected void compute() {
+            List<ScanTask> tasks = new ArrayList<>();
+            for (String className : classNames) {
+                if (!isVisitable(className) || !scanned.add(className)) {
+                    continue;
+                }
+                URL url = getUrl(className);
+                if (url == null) {
+                    continue;
+                }
+                try {
+                    ClassScan scan = scanClass(className, url);
+                    classScans.put(className, scan);
+                    tasks.add(new ScanTask(scan.children));
+                } catch (Exception e) { // NOSONAR
+                    // Reported when the class is visited
+                }
+            }
+            invokeAll(tasks);
+        }
+    }
+
     /**
      * Default Constructor.
      *
@@ -121,8 +224,40 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents, boolean useV14Bootstrap,
             FeatureFlags featureFlags) {
+        this(finder, generateEmbeddableWebComponents, useV14Bootstrap,
+                featureFlags, null);
+    }
+
+    /**
+     * Constructor, which allows keeping the byte code scanning results in a
+     * file in between runs.
+     * <p>
+     * Classes which have not changed since the results were written are not
+     * read again. A class is considered unchanged if the CRC-32 checksum of
+     * its class file is the same. For classes in a JAR file the checksum is
+     * taken from the JAR entry.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies. {@code true} is default for
+     *            {@link FrontendDependencies#FrontendDependencies(ClassFinder)}
+     * @param useV14Bootstrap
+     *            whether we are in legacy V14 bootstrap mode
+     * @param featureFlags
+     *            available feature flags and their status
+     * @param scanCacheFile
+     *            the file to keep the scanning results in, or {@code null} to
+     *            not keep them
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, boolean useV14Bootstrap,
+            FeatureFlags featureFlags, File scanCacheFile) {
         super(finder, featureFlags);
         this.useV14Bootstrap = useV14Bootstrap;
+        cachedScans = readScanCache(scanCacheFile);
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
         long start = System.nanoTime();
@@ -135,6 +270,9 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             computeApplicationTheme();
             computePackages();
             computePwaConfiguration();
+            writeScanCache(scanCacheFile);
+            scanned.clear();
+            classScans.clear();
             long ms = (System.nanoTime() - start) / 1000000;
             log().info("Visited {} classes. Took {} ms.", visited.size(), ms);
         } catch (ClassNotFoundException | InstantiationException
@@ -263,37 +401,43 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
      * @throws IOException
      */
     private void computeEndpoints() throws ClassNotFoundException, IOException {
+        List<Class<?>> entries = new ArrayList<>();
         // Because of different classLoaders we need compare against class
         // references loaded by the specific class finder loader
         Class<? extends Annotation> routeClass = getFinder()
                 .loadClass(Route.class.getName());
-        for (Class<?> route : getFinder().getAnnotatedClasses(routeClass)) {
-            collectEndpoints(route);
-        }
+        entries.addAll(getFinder().getAnnotatedClasses(routeClass));
 
-        for (Class<?> initListener : getFinder().getSubTypesOf(
-                getFinder().loadClass(UIInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(UIInitListener.class.getName())));
 
-        for (Class<?> initListener : getFinder().getSubTypesOf(getFinder()
-                .loadClass(VaadinServiceInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
+        entries.addAll(getFinder().getSubTypesOf(getFinder()
+                .loadClass(VaadinServiceInitListener.class.getName())));
 
-        for (Class<?> appShell : getFinder().getSubTypesOf(
-                getFinder().loadClass(AppShellConfigurator.class.getName()))) {
-            collectEndpoints(appShell);
-        }
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(AppShellConfigurator.class.getName())));
 
-        for (Class<?> errorParameters : getFinder().getSubTypesOf(
-                getFinder().loadClass(HasErrorParameter.class.getName()))) {
-            collectEndpoints(errorParameters);
-        }
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(HasErrorParameter.class.getName())));
 
         // UI should always be collected as it contains 'ConnectionIndicator.js'
         // which else goes into fallback making it always load.
-        collectEndpoints(UI.class);
+        entries.add(UI.class);
+
+        scanClasses(entries.stream().map(Class::getName)
+                .collect(Collectors.toList()));
+        for (Class<?> entry : entries) {
+            collectEndpoints(entry);
+        }
+    }
+
+    /**
+     * Reads the given classes and all classes reachable from them in parallel.
+     * The entry points are still visited one at a time in a fixed order, so
+     * the results do not depend on the order in which the classes are read.
+     */
+    private void scanClasses(Collection<String> classNames) {
+        ForkJoinPool.commonPool().invoke(new ScanTask(classNames));
     }
 
     private void collectEndpoints(Class<?> entry) throws IOException {
@@ -537,6 +681,8 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         if (exporterClasses.isEmpty()) {
             return;
         }
+        scanClasses(exporterClasses.stream().map(Class::getName)
+                .collect(Collectors.toList()));
 
         HashMap<String, EndPointData> exportedPoints = new HashMap<>();
 
@@ -595,27 +741,23 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         }
         endPoint.getClasses().add(className);
 
-        URL url = getUrl(className);
-        if (url == null) {
-            return endPoint;
-        }
-
-        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
-                endPoint, themeScope);
-        try (InputStream is = url.openStream()) {
-            ClassReader cr = new ClassReader(is);
-            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+        Collection<String> children;
+        try {
+            children = readClass(className, endPoint, themeScope);
         } catch (Exception e) {
             log().error(
                     "Visiting class {} failed with {}.\nThis might be a broken class in the project.",
                     className, e.getMessage());
             throw e;
         }
+        if (children == null) {
+            return endPoint;
+        }
 
         // all classes visited by the scanner, used for performance (#5933)
         visited.add(className);
 
-        for (String clazz : visitor.getChildren()) {
+        for (String clazz : children) {
             // Since we only have an entry point for the app, it is all right to
             // skip the visit to the the same class in other end-points, because
             // we output all dependencies at once. When we implement
@@ -628,6 +770,124 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         return endPoint;
     }
 
+    /**
+     * Updates the end-point with the information in the class and returns the
+     * classes used by it, or <code>null</code> if the class is not found.
+     */
+    private Collection<String> readClass(String className,
+            EndPointData endPoint,
+            boolean themeScope) throws IOException {
+        if (className.equals(endPoint.getName())
+                || className.equals(endPoint.getLayout())) {
+            // The annotations of these classes configure the end-point itself
+            URL url = getUrl(className);
+            if (url == null) {
+                return null;
+            }
+            FrontendClassVisitor visitor = new FrontendClassVisitor(className,
+                    endPoint, themeScope);
+            readClass(url, visitor);
+            return visitor.getChildren();
+        }
+        ClassScan scan = classScans.get(className);
+        if (scan == null) {
+            URL url = getUrl(className);
+            if (url == null) {
+                return null;
+            }
+            scan = scanClass(className, url);
+            classScans.put(className, scan);
+        }
+        scan.addTo(endPoint, themeScope);
+        return scan.children;
+    }
+
+    private ClassScan scanClass(String className, URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        byte[] bytes = null;
+        long checksum;
+        if (connection instanceof JarURLConnection) {
+            checksum = ((JarURLConnection) connection).getJarEntry().getCrc();
+        } else {
+            try (InputStream is = connection.getInputStream()) {
+                bytes = is.readAllBytes();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            checksum = crc.getValue();
+        }
+
+        ClassScan cached = cachedScans.get(className);
+        if (checksum != -1 && cached != null && cached.checksum == checksum) {
+            return cached;
+        }
+
+        if (bytes == null) {
+            try (InputStream is = connection.getInputStream()) {
+                bytes = is.readAllBytes();
+            }
+        }
+        EndPointData data = new EndPointData((String) null);
+        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
+                data, false);
+        new ClassReader(bytes).accept(visitor, ClassReader.EXPAND_FRAMES);
+        return new ClassScan(checksum, data, visitor.getChildren());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ClassScan> readScanCache(File file) {
+        if (file == null || !file.isFile()) {
+            return Collections.emptyMap();
+        }
+        try (ObjectInputStream stream = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            stream.setObjectInputFilter(ObjectInputFilter.Config.createFilter(
+                    "java.lang.*;java.util.*;" + ClassScan.class.getName()
+                            + ";" + CssData.class.getName() + ";!*"));
+            if (stream.readInt() == SCAN_CACHE_VERSION
+                    && Version.getFullVersion().equals(stream.readUTF())) {
+                return (Map<String, ClassScan>) stream.readObject();
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log().debug("Unable to read class scanning results from {}", file,
+                    e);
+        }
+        return Collections.emptyMap();
+    }
+
+    private void writeScanCache(File file) {
+        if (file == null) {
+            return;
+        }
+        HashMap<String, ClassScan> scans = new HashMap<>();
+        classScans.forEach((className, scan) -> {
+            if (scan.checksum != -1) {
+                scans.put(className, scan);
+            }
+        });
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (ObjectOutputStream stream = new ObjectOutputStream(
+                    new BufferedOutputStream(
+                            Files.newOutputStream(file.toPath())))) {
+                stream.writeInt(SCAN_CACHE_VERSION);
+                stream.writeUTF(Version.getFullVersion());
+                stream.writeObject(scans);
+            }
+        } catch (IOException e) {
+            log().debug("Unable to write class scanning results to {}", file,
+                    e);
+        }
+    }
+
+    private static void readClass(URL url, FrontendClassVisitor visitor)
+            throws IOException {
+        try (InputStream is = url.openStream()) {
+            ClassReader cr = new ClassReader(is);
+            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+        }
+    }
+
     private boolean isVisitable(String className) {
         // We should visit only those classes that might have NpmPackage,
         // JsImport, JavaScript and HtmlImport annotations, basically
@@ -635,15 +895,8 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         // factories. This is the reason of having just a blacklist of some
         // common name-spaces that would not have components.
         // We also exclude Feature-Flag classes
-        return className != null && // @formatter:off
-                !isExperimental(className) &&
-                !className.matches(
-                    "(^$|"
-                    + ".*(slf4j).*|"
-                    // #5803
-                    + "^(java|sun|elemental|javax|org.(apache|atmosphere|jsoup|jboss|w3c|spring|joda|hibernate|glassfish|hsqldb)|com.(helger|spring|gwt|lowagie|fasterxml)|net.(sf|bytebuddy)).*|"
-                    + ".*(Exception)$"
-                    + ")"); // @formatter:on
+        return className != null && !isExperimental(className)
+                && !NON_VISITABLE_CLASSES.matcher(className).matches();
     }
 
     private URL getUrl(String className) {
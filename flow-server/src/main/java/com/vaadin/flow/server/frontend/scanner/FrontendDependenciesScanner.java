@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -121,6 +122,41 @@ public interface FrontendDependenciesScanner extends Serializable {
                 boolean generateEmbeddableWebComponents,
                 boolean useV14Bootstrap, FeatureFlags featureFlags,
                 boolean fallback) {
+            return createScanner(allDependenciesScan, finder,
+                    generateEmbeddableWebComponents, useV14Bootstrap,
+                    featureFlags, fallback, null);
+        }
+
+        /**
+         * Produces scanner implementation based on {@code allDependenciesScan}
+         * value.
+         * <p>
+         *
+         * @param allDependenciesScan
+         *            if {@code true} then full classpath scanning strategy is
+         *            used, otherwise byte scanning strategy is produced
+         * @param finder
+         *            a class finder
+         * @param generateEmbeddableWebComponents
+         *            checks {@code WebComponentExporter} classes for
+         *            dependencies if {@code true}, doesn't check otherwise
+         * @param useV14Bootstrap
+         *            whether we are in legacy V14 bootstrap mode
+         * @param featureFlags
+         *            available feature flags and their status
+         * @param fallback
+         *            whether FullDependenciesScanner is used as fallback
+         * @param scanCacheFile
+         *            the file to keep the byte code scanning results in between
+         *            runs, or {@code null} to not keep them
+         * @return a scanner implementation strategy
+         *
+         */
+        public FrontendDependenciesScanner createScanner(
+                boolean allDependenciesScan, ClassFinder finder,
+                boolean generateEmbeddableWebComponents,
+                boolean useV14Bootstrap, FeatureFlags featureFlags,
+                boolean fallback, File scanCacheFile) {
             if (allDependenciesScan) {
                 // this dep scanner can't distinguish embeddable web component
                 // frontend related annotations
@@ -129,7 +165,7 @@ public interface FrontendDependenciesScanner extends Serializable {
             } else {
                 return new FrontendDependencies(finder,
                         generateEmbeddableWebComponents, useV14Bootstrap,
-                        featureFlags);
+                        featureFlags, scanCacheFile);
             }
         }
     }
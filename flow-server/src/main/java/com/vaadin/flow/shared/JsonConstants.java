@@ -64,6 +64,11 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_TYPE_SPLICE = "splice";
 
+    /**
+     * Change type for moving an item inside a list.
+     */
+    public static final String CHANGE_TYPE_MOVE = "move";
+
     /**
      * Change type for map put changes.
      */
@@ -114,6 +119,12 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_SPLICE_INDEX = "index";
 
+    /**
+     * Key holding the index an item is moved from in a move change. The index
+     * the item is moved to is in {@link #CHANGE_SPLICE_INDEX}.
+     */
+    public static final String CHANGE_MOVE_FROM = "from";
+
     /**
      * Key holding the value of a put change.
      */
@@ -124,6 +135,70 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Key used for state tree changes in the compact format in UIDL messages.
+     * Each compact change is an array starting with the change type id and the
+     * node id, followed by the type specific values in a fixed order.
+     */
+    public static final String UIDL_KEY_COMPACT_CHANGES = "compactChanges";
+
+    /**
+     * Compact change type id for attaching a node: {@code [type, node]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_ATTACH = 0;
+
+    /**
+     * Compact change type id for detaching a node: {@code [type, node]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_DETACH = 1;
+
+    /**
+     * Compact change type id for putting a value to a map:
+     * {@code [type, node, feat, key, value]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_PUT = 2;
+
+    /**
+     * Compact change type id for putting a node to a map:
+     * {@code [type, node, feat, key, nodeValue]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_PUT_NODE = 3;
+
+    /**
+     * Compact change type id for removing a value from a map:
+     * {@code [type, node, feat, key]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_REMOVE = 4;
+
+    /**
+     * Compact change type id for a list splice with optional values to add:
+     * {@code [type, node, feat, index, remove, add?]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE = 5;
+
+    /**
+     * Compact change type id for a list splice adding nodes:
+     * {@code [type, node, feat, index, remove, addNodes]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_SPLICE_NODES = 6;
+
+    /**
+     * Compact change type id for clearing a list: {@code [type, node, feat]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_CLEAR = 7;
+
+    /**
+     * Compact change type id for populating an empty feature:
+     * {@code [type, node, feat, featType]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_NOOP = 8;
+
+    /**
+     * Compact change type id for moving an item inside a list:
+     * {@code [type, node, feat, from, index]}.
+     */
+    public static final int COMPACT_CHANGE_TYPE_MOVE = 9;
+
     /**
      * Key holding the type in of messages sent from the client.
      */
@@ -2096,7 +2096,7 @@ public class ElementTest extends AbstractNodeTest {
         div.setAttribute("pin", "");
 
         Assert.assertEquals(
-                "<div pin foo=\"bar\" style=\"width:20px\" class=\"cls\"></div>",
+                "<div foo=\"bar\" pin style=\"width:20px\" class=\"cls\"></div>",
                 div.getOuterHTML());
     }
 
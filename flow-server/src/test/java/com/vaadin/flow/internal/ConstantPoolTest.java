@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.internal;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -80,4 +81,40 @@ public class ConstantPoolTest {
         constantPoolKey.export(message);
         Assert.assertTrue(message.hasKey(constantPoolKey.getId()));
     }
+
+    @Test
+    public void intern_equalValues_sameKey() {
+        JsonObject value = Json.createObject();
+        value.put("foo", "bar");
+        JsonObject equalValue = Json.createObject();
+        equalValue.put("foo", "bar");
+
+        ConstantPoolKey key = ConstantPoolKey.intern(value);
+
+        Assert.assertSame(key, ConstantPoolKey.intern(equalValue));
+        Assert.assertNotSame(key,
+                ConstantPoolKey.intern(Json.createArray()));
+        Assert.assertEquals(new ConstantPoolKey(equalValue).getId(),
+                key.getId());
+    }
+
+    @Test
+    public void intern_sharedKey_sentOncePerConstantPool() {
+        ConstantPool otherPool = new ConstantPool();
+        ConstantPoolKey key = ConstantPoolKey.intern(Json.createObject());
+
+        constantPool.getConstantId(key);
+        constantPool.dumpConstants();
+        otherPool.getConstantId(ConstantPoolKey.intern(Json.createObject()));
+
+        Assert.assertFalse(constantPool.hasNewConstants());
+        Assert.assertEquals(1, otherPool.dumpConstants().keys().length);
+    }
+
+    @Test
+    public void intern_deserializedKey_sameKey() throws Exception {
+        ConstantPoolKey key = ConstantPoolKey.intern(Json.createObject());
+
+        Assert.assertSame(key, SerializationUtils.roundtrip(key));
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.nodefeature.ElementData;
+
+public class DirtyNodeSetTest {
+
+    private final DirtyNodeSet set = new DirtyNodeSet();
+
+    @Test
+    public void add_keepsInsertionOrderAndIgnoresDuplicates() {
+        List<StateNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            nodes.add(new StateNode(ElementData.class));
+        }
+
+        for (StateNode node : nodes) {
+            Assert.assertTrue(set.add(node));
+        }
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            Assert.assertFalse(set.add(nodes.get(i)));
+        }
+
+        Assert.assertEquals(nodes.size(), set.size());
+        Assert.assertEquals(nodes, new ArrayList<>(set));
+        Assert.assertTrue(set.contains(nodes.get(500)));
+        Assert.assertFalse(set.contains(new StateNode(ElementData.class)));
+        Assert.assertFalse(set.contains("foo"));
+    }
+
+    @Test
+    public void serialize_orderPreservedAndLookupWorks() {
+        for (int i = 0; i < 20; i++) {
+            set.add(new StateNode(ElementData.class));
+        }
+
+        DirtyNodeSet copy = SerializationUtils.roundtrip(set);
+
+        Assert.assertEquals(20, copy.size());
+        for (StateNode node : copy) {
+            Assert.assertTrue(copy.contains(node));
+            Assert.assertFalse(copy.add(node));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.nodefeature.ElementData;
+
+public class NodeIdMapTest {
+
+    private final NodeIdMap map = new NodeIdMap();
+
+    @Test
+    public void putGetRemove_sameAsHashMap() {
+        Map<Integer, StateNode> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int id = 1 + random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertSame(expected.remove(id), map.remove(id));
+            } else {
+                StateNode node = new StateNode(ElementData.class);
+                Assert.assertSame(expected.put(id, node), map.put(id, node));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        for (int id = 0; id <= 2001; id++) {
+            Assert.assertSame(expected.get(id), map.get(id));
+            Assert.assertEquals(expected.containsKey(id), map.containsKey(id));
+        }
+    }
+
+    @Test
+    public void get_unknownId_null() {
+        Assert.assertNull(map.get(1));
+        Assert.assertNull(map.get(0));
+        Assert.assertNull(map.get(-1));
+        Assert.assertNull(map.remove(-1));
+    }
+
+    @Test
+    public void serialize_nodesPreserved() {
+        for (int id = 1; id <= 100; id++) {
+            map.put(id, new StateNode(ElementData.class));
+        }
+
+        NodeIdMap copy = SerializationUtils.roundtrip(map);
+
+        Assert.assertEquals(100, copy.size());
+        for (int id = 1; id <= 100; id++) {
+            Assert.assertNotNull(copy.get(id));
+        }
+    }
+}
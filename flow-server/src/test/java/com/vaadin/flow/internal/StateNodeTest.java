@@ -33,6 +33,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.junit.Assert;
@@ -1673,4 +1674,27 @@ public class StateNodeTest {
 
         Assert.assertEquals(0, changes.size());
     }
+
+    @Test
+    public void serialize_featuresPreserved_featureSetShared()
+            throws Exception {
+        StateNode node = new StateNode(
+                Arrays.asList(ElementAttributeMap.class), ElementData.class,
+                ElementPropertyMap.class);
+        node.getFeature(ElementAttributeMap.class).set("foo", "bar");
+
+        StateNode copy = SerializationUtils.roundtrip(node);
+
+        Assert.assertTrue(copy.hasFeature(ElementData.class));
+        Assert.assertTrue(copy.hasFeature(ElementPropertyMap.class));
+        Assert.assertFalse(copy.hasFeature(ElementClassList.class));
+        Assert.assertTrue(copy.isReportedFeature(ElementAttributeMap.class));
+        Assert.assertFalse(copy.isReportedFeature(ElementData.class));
+        Assert.assertEquals("bar",
+                copy.getFeature(ElementAttributeMap.class).get("foo"));
+
+        Field featureSet = StateNode.class.getDeclaredField("featureSet");
+        featureSet.setAccessible(true);
+        Assert.assertSame(featureSet.get(node), featureSet.get(copy));
+    }
 }
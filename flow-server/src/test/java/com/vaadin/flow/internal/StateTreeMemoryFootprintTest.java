@@ -0,0 +1,91 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.lang.ref.Reference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.testcategory.SlowTests;
+
+/**
+ * Measures the retained heap per attached element. The numbers are logged so
+ * that changes in the footprint can be followed, and the assertion only guards
+ * against large regressions since heap measurements are not exact.
+ */
+@Category(SlowTests.class)
+public class StateTreeMemoryFootprintTest {
+
+    private static final int ELEMENT_COUNT = 20000;
+
+    // Generous limit, an element with a few attributes and properties
+    // retains well below this
+    private static final long MAX_BYTES_PER_ELEMENT = 4000;
+
+    @Test
+    public void attachedElements_bytesPerElementBelowLimit() {
+        UI ui = new UI();
+        StateTree tree = ui.getInternals().getStateTree();
+        Element container = new Element("div");
+        ui.getElement().appendChild(container);
+        tree.collectChanges(change -> {
+        });
+
+        long before = usedMemory();
+        for (int i = 0; i < ELEMENT_COUNT; i++) {
+            Element element = new Element("span");
+            element.setAttribute("class", "item");
+            element.setAttribute("title", "Item " + i);
+            element.setProperty("value", i);
+            element.getStyle().set("color", "red");
+            container.appendChild(element);
+        }
+        tree.collectChanges(change -> {
+        });
+        long after = usedMemory();
+
+        long bytesPerElement = (after - before) / ELEMENT_COUNT;
+        LoggerFactory.getLogger(StateTreeMemoryFootprintTest.class).info(
+                "Retained {} bytes per attached element", bytesPerElement);
+
+        Assert.assertEquals(ELEMENT_COUNT, container.getChildCount());
+        Assert.assertTrue(
+                "Expected at most " + MAX_BYTES_PER_ELEMENT
+                        + " bytes per element but was " + bytesPerElement,
+                bytesPerElement <= MAX_BYTES_PER_ELEMENT);
+        Reference.reachabilityFence(ui);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
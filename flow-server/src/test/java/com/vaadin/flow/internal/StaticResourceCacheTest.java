@@ -0,0 +1,280 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+
+public class StaticResourceCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private ByteArrayOutputStream out;
+    private ResponseWriter responseWriter;
+    private File webapp;
+
+    @Before
+    public void setUp() throws IOException {
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(request.getServletContext())
+                .thenReturn(Mockito.mock(ServletContext.class));
+        out = new ByteArrayOutputStream();
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        out.write(b);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                    }
+                });
+        responseWriter = new ResponseWriter(
+                Mockito.mock(DeploymentConfiguration.class));
+
+        webapp = temporaryFolder.newFolder("classes", "META-INF", "VAADIN",
+                "webapp");
+    }
+
+    @Test
+    public void create_resourcesInDirectory_indexed() throws IOException {
+        writeFile("VAADIN/build/app.js", "app");
+        writeFile("sw.js", "sw");
+
+        StaticResourceCache cache = createCache(1024);
+
+        Assert.assertNotNull(cache.getResource("VAADIN/build/app.js"));
+        Assert.assertNotNull(cache.getResource("sw.js"));
+        Assert.assertNull(cache.getResource("VAADIN/build"));
+        Assert.assertNull(cache.getResource("missing.js"));
+    }
+
+    @Test
+    public void create_resourcesInJar_indexed() throws IOException {
+        File jar = temporaryFolder.newFile("resources.jar");
+        try (JarOutputStream stream = new JarOutputStream(
+                Files.newOutputStream(jar.toPath()))) {
+            stream.putNextEntry(new ZipEntry("META-INF/VAADIN/webapp/"));
+            stream.closeEntry();
+            stream.putNextEntry(
+                    new ZipEntry("META-INF/VAADIN/webapp/VAADIN/build/"));
+            stream.closeEntry();
+            stream.putNextEntry(new ZipEntry(
+                    "META-INF/VAADIN/webapp/VAADIN/build/chunk.js"));
+            stream.write("chunk".getBytes(StandardCharsets.UTF_8));
+            stream.closeEntry();
+        }
+        StaticResourceCache cache = StaticResourceCache.create(
+                new URLClassLoader(new URL[] { jar.toURI().toURL() }, null),
+                responseWriter, 1024);
+
+        Assert.assertNull(cache.getResource("VAADIN/build/"));
+        Assert.assertNotNull(cache.getResource("VAADIN/build/chunk.js"));
+
+        cache.writeResponseContents("/VAADIN/build/chunk.js",
+                cache.getResource("VAADIN/build/chunk.js"), request, response);
+        Assert.assertEquals("chunk", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void create_jarEntryWithReservedCharacters_servedWithEncodedUrl()
+            throws IOException {
+        File jar = temporaryFolder.newFile("resources.jar");
+        try (JarOutputStream stream = new JarOutputStream(
+                Files.newOutputStream(jar.toPath()))) {
+            stream.putNextEntry(new ZipEntry("META-INF/VAADIN/webapp/"));
+            stream.closeEntry();
+            stream.putNextEntry(
+                    new ZipEntry("META-INF/VAADIN/webapp/a#b?c d.js"));
+            stream.write("reserved".getBytes(StandardCharsets.UTF_8));
+            stream.closeEntry();
+        }
+        StaticResourceCache cache = StaticResourceCache.create(
+                new URLClassLoader(new URL[] { jar.toURI().toURL() }, null),
+                responseWriter, 1024);
+
+        cache.writeResponseContents("/a#b?c d.js",
+                cache.getResource("a#b?c d.js"), request, response);
+        Assert.assertEquals("reserved", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeResponseContents_smallFile_contentsCached()
+            throws IOException {
+        File file = writeFile("VAADIN/build/app.js", "app");
+        StaticResourceCache cache = createCache(1024);
+
+        cache.writeResponseContents("/VAADIN/build/app.js",
+                cache.getResource("VAADIN/build/app.js"), request, response);
+        Assert.assertEquals("app", out.toString(StandardCharsets.UTF_8));
+        Mockito.verify(response).setContentLengthLong(3);
+
+        // The cached contents are served even though the file is gone
+        Assert.assertTrue(file.delete());
+        out.reset();
+        cache.writeResponseContents("/VAADIN/build/app.js",
+                cache.getResource("VAADIN/build/app.js"), request, response);
+        Assert.assertEquals("app", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeResponseContents_cacheFull_leastRecentlyUsedEvicted()
+            throws IOException {
+        File first = writeFile("first.js", "1234");
+        File second = writeFile("second.js", "5678");
+        StaticResourceCache cache = createCache(6);
+
+        cache.writeResponseContents("/first.js",
+                cache.getResource("first.js"), request, response);
+        cache.writeResponseContents("/second.js",
+                cache.getResource("second.js"), request, response);
+        Assert.assertTrue(first.delete());
+        Assert.assertTrue(second.delete());
+
+        out.reset();
+        cache.writeResponseContents("/second.js",
+                cache.getResource("second.js"), request, response);
+        Assert.assertEquals("5678", out.toString(StandardCharsets.UTF_8));
+
+        out.reset();
+        cache.writeResponseContents("/first.js",
+                cache.getResource("first.js"), request, response);
+        Assert.assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeResponseContents_largeFile_transferredFromFile()
+            throws IOException {
+        byte[] contents = new byte[StaticResourceCache.MAX_CACHED_FILE_SIZE
+                * 3];
+        Arrays.fill(contents, (byte) 'x');
+        Path file = webapp.toPath().resolve("large.js");
+        Files.write(file, contents);
+        StaticResourceCache cache = createCache(1024 * 1024);
+
+        cache.writeResponseContents("/large.js",
+                cache.getResource("large.js"), request, response);
+
+        Assert.assertArrayEquals(contents, out.toByteArray());
+        Mockito.verify(response).setContentLengthLong(contents.length);
+    }
+
+    @Test
+    public void writeResponseContents_gzipAccepted_compressedSiblingServed()
+            throws IOException {
+        writeFile("app.js", "plain");
+        writeFile("app.js.gz", "gzipped");
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        StaticResourceCache cache = createCache(1024);
+
+        StaticResourceCache.Resource resource = cache.getResource("app.js");
+        StaticResourceCache.Resource variant = cache.selectVariant(request,
+                resource);
+
+        Assert.assertTrue(resource.hasVariants());
+        Assert.assertEquals("gzip", variant.getEncoding());
+        Assert.assertNotEquals(resource.getETag(), variant.getETag());
+        Assert.assertNotEquals(cache.getResource("app.js.gz").getETag(),
+                variant.getETag());
+
+        cache.writeResponseContents("/app.js", variant, request, response);
+
+        Assert.assertEquals("gzipped", out.toString(StandardCharsets.UTF_8));
+        Mockito.verify(response).setHeader("Content-Encoding", "gzip");
+    }
+
+    @Test
+    public void selectVariant_encodingNotAcceptedOrRangeRequest_uncompressedSelected()
+            throws IOException {
+        writeFile("app.js", "plain");
+        writeFile("app.js.gz", "gzipped");
+        StaticResourceCache cache = createCache(1024);
+        StaticResourceCache.Resource resource = cache.getResource("app.js");
+
+        Assert.assertSame(resource, cache.selectVariant(request, resource));
+
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=0-1");
+        Assert.assertSame(resource, cache.selectVariant(request, resource));
+        Assert.assertNull(resource.getEncoding());
+    }
+
+    @Test
+    public void browserHasResource_matchingETag_true() throws IOException {
+        writeFile("app.js", "app");
+        StaticResourceCache cache = createCache(1024);
+        StaticResourceCache.Resource resource = cache.getResource("app.js");
+
+        Assert.assertFalse(cache.browserHasResource(request, resource));
+
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"other\", " + resource.getETag());
+        Assert.assertTrue(cache.browserHasResource(request, resource));
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn("\"other\"");
+        Assert.assertFalse(cache.browserHasResource(request, resource));
+    }
+
+    private StaticResourceCache createCache(long maxCacheSize)
+            throws IOException {
+        File classes = webapp.getParentFile().getParentFile().getParentFile();
+        return StaticResourceCache.create(
+                new URLClassLoader(new URL[] { classes.toURI().toURL() },
+                        null),
+                responseWriter, maxCacheSize);
+    }
+
+    private File writeFile(String path, String contents) throws IOException {
+        File file = new File(webapp, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -81,4 +81,73 @@ public class ListChangeTest {
 
         Assert.assertFalse(json.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES));
     }
+
+    @Test
+    public void testCompactJson() {
+        StateNode child1 = StateNodeTest.createEmptyNode("child1");
+        StateNode child2 = StateNodeTest.createEmptyNode("child2");
+        ListAddChange<StateNode> change = new ListAddChange<>(feature, true, 3,
+                Arrays.asList(child1, child2));
+
+        JsonArray json = (JsonArray) change.toCompactJson(null);
+
+        Assert.assertEquals(6, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE_NODES,
+                (int) json.getNumber(0));
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals(3, (int) json.getNumber(3));
+        Assert.assertEquals(0, (int) json.getNumber(4));
+
+        JsonArray addNodes = json.getArray(5);
+        Assert.assertEquals(2, addNodes.length());
+        Assert.assertEquals(child1.getId(), (int) addNodes.getNumber(0));
+        Assert.assertEquals(child2.getId(), (int) addNodes.getNumber(1));
+    }
+
+    @Test
+    public void testCompactRemoveJson() {
+        ListRemoveChange<StateNode> change = new ListRemoveChange<>(feature, 2,
+                StateNodeTest.createEmptyNode("child"));
+
+        JsonArray json = (JsonArray) change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_SPLICE,
+                (int) json.getNumber(0));
+        Assert.assertEquals(2, (int) json.getNumber(3));
+        Assert.assertEquals(1, (int) json.getNumber(4));
+    }
+
+    @Test
+    public void testMoveJson() {
+        ListMoveChange<StateNode> change = new ListMoveChange<>(feature, 4, 1,
+                StateNodeTest.createEmptyNode("child"));
+
+        JsonObject json = change.toJson(null);
+
+        Assert.assertEquals(JsonConstants.CHANGE_TYPE_MOVE,
+                json.getString(JsonConstants.CHANGE_TYPE));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(JsonConstants.CHANGE_FEATURE));
+        Assert.assertEquals(4,
+                (int) json.getNumber(JsonConstants.CHANGE_MOVE_FROM));
+        Assert.assertEquals(1,
+                (int) json.getNumber(JsonConstants.CHANGE_SPLICE_INDEX));
+    }
+
+    @Test
+    public void testCompactMoveJson() {
+        ListMoveChange<StateNode> change = new ListMoveChange<>(feature, 4, 1,
+                StateNodeTest.createEmptyNode("child"));
+
+        JsonArray json = (JsonArray) change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_MOVE,
+                (int) json.getNumber(0));
+        Assert.assertEquals(4, (int) json.getNumber(3));
+        Assert.assertEquals(1, (int) json.getNumber(4));
+    }
 }
@@ -28,6 +28,7 @@ import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
@@ -93,4 +94,31 @@ public class MapPutChangeTest {
         return json.get(JsonConstants.CHANGE_PUT_VALUE);
     }
 
+    @Test
+    public void testCompactJson() {
+        MapPutChange change = new MapPutChange(feature, "some", "string");
+
+        JsonArray json = (JsonArray) change.toCompactJson(null);
+
+        Assert.assertEquals(5, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                (int) json.getNumber(0));
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals("some", json.getString(3));
+        Assert.assertEquals("string", json.getString(4));
+    }
+
+    @Test
+    public void testCompactNodeValueType() {
+        StateNode value = StateNodeTest.createEmptyNode("value");
+        MapPutChange change = new MapPutChange(feature, "myKey", value);
+
+        JsonArray json = (JsonArray) change.toCompactJson(null);
+
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_PUT_NODE,
+                (int) json.getNumber(0));
+        Assert.assertEquals(value.getId(), (int) json.getNumber(4));
+    }
 }
@@ -19,12 +19,14 @@ package com.vaadin.flow.internal.change;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.nodefeature.AbstractNodeFeatureTest;
 import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 
 public class MapRemoveChangeTest {
@@ -47,4 +49,33 @@ public class MapRemoveChangeTest {
                 json.getString(JsonConstants.CHANGE_MAP_KEY));
     }
 
+    @Test
+    public void testCompactJson() {
+        MapRemoveChange change = new MapRemoveChange(feature, "some");
+
+        JsonArray json = (JsonArray) change.toCompactJson(null);
+
+        Assert.assertEquals(4, json.length());
+        Assert.assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_REMOVE,
+                (int) json.getNumber(0));
+        Assert.assertEquals(change.getNode().getId(), (int) json.getNumber(1));
+        Assert.assertEquals(NodeFeatureRegistry.getId(feature.getClass()),
+                (int) json.getNumber(2));
+        Assert.assertEquals("some", json.getString(3));
+    }
+
+    @Test
+    public void testCompactJson_noCompactType_objectJson() {
+        MapRemoveChange change = new MapRemoveChange(feature, "some") {
+            @Override
+            protected int getCompactType() {
+                // Like a custom change without a compact representation
+                return -1;
+            }
+        };
+
+        JsonObject json = (JsonObject) change.toCompactJson(null);
+
+        Assert.assertTrue(JsonUtils.jsonEquals(change.toJson(null), json));
+    }
 }
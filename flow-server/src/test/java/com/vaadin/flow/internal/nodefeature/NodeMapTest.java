@@ -392,6 +392,81 @@ public class NodeMapTest
         Assert.assertTrue(nodeMap.usesSingleMap());
     }
 
+    @Test
+    public void put_fewKeys_usesArrayMap() {
+        for (int i = 0; i < 8; i++) {
+            nodeMap.put("key" + i, "value" + i);
+            Assert.assertEquals(i == 0, nodeMap.usesSingleMap());
+            Assert.assertEquals(i > 0, nodeMap.usesArrayMap());
+        }
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals("value" + i, nodeMap.get("key" + i));
+        }
+        Assert.assertEquals(8, nodeMap.keySet().size());
+        Assert.assertTrue(nodeMap.keySet().contains("key3"));
+    }
+
+    @Test
+    public void put_manyKeys_switchesFromArrayMapToHashMap() {
+        for (int i = 0; i < 9; i++) {
+            nodeMap.put("key" + i, "value" + i);
+        }
+        Assert.assertFalse(nodeMap.usesArrayMap());
+        Assert.assertFalse(nodeMap.usesSingleMap());
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals("value" + i, nodeMap.get("key" + i));
+        }
+    }
+
+    @Test
+    public void remove_singleValue_otherKeyIgnored() {
+        nodeMap.put("foo", "bar");
+
+        Assert.assertNull(nodeMap.remove("baz"));
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("bar", nodeMap.get("foo"));
+
+        Assert.assertEquals("bar", nodeMap.remove("foo"));
+        Assert.assertFalse(nodeMap.contains("foo"));
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+
+        nodeMap.put("foo", "baz");
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("baz", nodeMap.get("foo"));
+    }
+
+    @Test
+    public void remove_arrayMap_remainingValuesKept() {
+        nodeMap.put("a", "1");
+        nodeMap.put("b", "2");
+        nodeMap.put("c", "3");
+
+        Assert.assertEquals("2", nodeMap.remove("b"));
+
+        Assert.assertTrue(nodeMap.usesArrayMap());
+        Assert.assertFalse(nodeMap.contains("b"));
+        Assert.assertEquals("1", nodeMap.get("a"));
+        Assert.assertEquals("3", nodeMap.get("c"));
+        Assert.assertEquals(2, nodeMap.keySet().size());
+
+        nodeMap.remove("a");
+        nodeMap.remove("c");
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+    }
+
+    @Test
+    public void serialize_arrayMap_valuesPreserved() {
+        nodeMap.put("a", "1");
+        nodeMap.put("b", "2");
+
+        ElementStylePropertyMap copy = SerializationUtils
+                .roundtrip(nodeMap.getNode())
+                .getFeature(ElementStylePropertyMap.class);
+
+        Assert.assertEquals("1", copy.get("a"));
+        Assert.assertEquals("2", copy.get("b"));
+    }
+
     @Test
     public void streamSingleNullValue() {
         nodeMap.put("foo", null);
@@ -18,6 +18,7 @@ package com.vaadin.flow.internal.nodefeature;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -27,6 +28,7 @@ import org.junit.Test;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.ListAddChange;
+import com.vaadin.flow.internal.change.ListMoveChange;
 import com.vaadin.flow.internal.change.ListRemoveChange;
 import com.vaadin.flow.internal.change.NodeChange;
 
@@ -178,4 +180,96 @@ public class StateNodeNodeListTest
         }
 
     }
+
+    @Test
+    public void indexOf_afterInsertAndRemove_positionsUpdated() {
+        List<StateNode> nodes = addNodes(5);
+        Assert.assertEquals(3, nodeList.indexOf(nodes.get(3)));
+
+        StateNode inserted = StateNodeTest.createEmptyNode("inserted");
+        nodeList.add(1, inserted);
+        Assert.assertEquals(1, nodeList.indexOf(inserted));
+        Assert.assertEquals(4, nodeList.indexOf(nodes.get(3)));
+
+        nodeList.remove(0);
+        Assert.assertEquals(-1, nodeList.indexOf(nodes.get(0)));
+        Assert.assertEquals(0, nodeList.indexOf(inserted));
+        Assert.assertEquals(3, nodeList.indexOf(nodes.get(3)));
+
+        nodeList.clear();
+        Assert.assertEquals(-1, nodeList.indexOf(inserted));
+    }
+
+    @Test
+    public void reverseChildren_onlyMoveChangesCollected() {
+        List<StateNode> nodes = addNodes(10000);
+        collectChanges(nodeList);
+
+        List<StateNode> reversed = new ArrayList<>(nodes);
+        Collections.reverse(reversed);
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeList.remove(0);
+        }
+        reversed.forEach(nodeList::add);
+
+        List<NodeChange> changes = collectChanges(nodeList);
+
+        Assert.assertEquals(nodes.size() - 1, changes.size());
+        Assert.assertTrue(changes.stream()
+                .allMatch(change -> change instanceof ListMoveChange<?>));
+        Assert.assertEquals(reversed, applyChanges(nodes, changes));
+    }
+
+    @Test
+    public void replaceAndReorderChildren_changesTransformClientList() {
+        List<StateNode> nodes = addNodes(100);
+        collectChanges(nodeList);
+
+        List<StateNode> expected = new ArrayList<>(nodes.subList(50, 100));
+        for (int i = 0; i < 20; i++) {
+            expected.add(i * 2, StateNodeTest.createEmptyNode("new" + i));
+        }
+        expected.addAll(nodes.subList(10, 30));
+        while (nodeList.size() > 0) {
+            nodeList.remove(nodeList.size() - 1);
+        }
+        expected.forEach(nodeList::add);
+
+        List<NodeChange> changes = collectChanges(nodeList);
+
+        Assert.assertEquals(expected, applyChanges(nodes, changes));
+        Assert.assertEquals(30, changes.stream()
+                .filter(change -> change instanceof ListRemoveChange<?>)
+                .count());
+    }
+
+    private List<StateNode> addNodes(int count) {
+        List<StateNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StateNode node = StateNodeTest.createEmptyNode("node" + i);
+            nodes.add(node);
+            nodeList.add(node);
+        }
+        return nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<StateNode> applyChanges(List<StateNode> clientList,
+            List<NodeChange> changes) {
+        List<StateNode> result = new ArrayList<>(clientList);
+        for (NodeChange change : changes) {
+            if (change instanceof ListAddChange<?>) {
+                ListAddChange<?> add = (ListAddChange<?>) change;
+                result.addAll(add.getIndex(),
+                        (List<StateNode>) add.getNewItems());
+            } else if (change instanceof ListRemoveChange<?>) {
+                result.remove(((ListRemoveChange<?>) change).getIndex());
+            } else {
+                ListMoveChange<?> move = (ListMoveChange<?>) change;
+                result.add(move.getIndex(),
+                        result.remove(move.getFromIndex()));
+            }
+        }
+        return result;
+    }
 }
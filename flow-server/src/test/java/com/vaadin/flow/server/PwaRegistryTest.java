@@ -17,18 +17,26 @@ package com.vaadin.flow.server;
 
 import javax.servlet.ServletContext;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import com.vaadin.experimental.FeatureFlags;
+import com.vaadin.flow.di.Lookup;
+import com.vaadin.flow.di.ResourceProvider;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 
 @PWA(name = "foo", shortName = "bar")
@@ -44,6 +52,9 @@ public class PwaRegistryTest {
 
     private static List<PwaIcon> splashIconsForAppleDevices;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @BeforeClass
     public static void initPwaWithCustomIconPath() throws IOException {
         PwaRegistry registry = preparePwaRegistry(
@@ -75,8 +86,87 @@ public class PwaRegistryTest {
         Assert.assertEquals(26, stream.toByteArray()[36]);
     }
 
+    @Test
+    public void prerenderedIconsMatchIconImage_prerenderedIconsAreServed()
+            throws IOException {
+        File outputDirectory = temporaryFolder.newFolder();
+        PwaRegistry.writePrerenderedIcons("icons/icon.png",
+                readResource("/META-INF/resources/icons/icon.png"),
+                outputDirectory);
+        // Replace a rendered icon to see that the file is served as is
+        byte[] prerendered = { 1, 2, 3 };
+        Files.write(new File(outputDirectory,
+                Constants.PWA_ICONS_DIRECTORY + "32x32.png").toPath(),
+                prerendered);
+
+        PwaRegistry registry = preparePwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class), false,
+                mockContextWithResources(outputDirectory));
+        Assert.assertEquals(
+                PwaRegistry.getIconTemplates("icons/icon.png").size(),
+                registry.getIcons().size());
+        PwaIcon pwaIcon = registry.getIcons().stream()
+                .filter(icon -> icon.getWidth() == 32).findFirst().get();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        pwaIcon.write(stream);
+        Assert.assertArrayEquals(prerendered, stream.toByteArray());
+    }
+
+    @Test
+    public void prerenderedIconsFromOtherImage_iconsAreRenderedOnStartup()
+            throws IOException {
+        File outputDirectory = temporaryFolder.newFolder();
+        PwaRegistry.writePrerenderedIcons("icons/icon.png",
+                readResource("/com/vaadin/flow/server/default-logo.png"),
+                outputDirectory);
+
+        PwaRegistry registry = preparePwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class), false,
+                mockContextWithResources(outputDirectory));
+        PwaIcon pwaIcon = registry.getIcons().stream()
+                .filter(icon -> icon.getWidth() == 32).findFirst().get();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        pwaIcon.write(stream);
+        // rendered from the class path icon, not from the default logo
+        Assert.assertEquals(26, stream.toByteArray()[36]);
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        try (InputStream stream = PwaRegistryTest.class
+                .getResourceAsStream(path)) {
+            return IOUtils.toByteArray(stream);
+        }
+    }
+
+    private static ServletContext mockContextWithResources(
+            File outputDirectory) {
+        ServletContext context = Mockito.mock(ServletContext.class);
+        Lookup lookup = Mockito.mock(Lookup.class);
+        ResourceProvider resourceProvider = Mockito
+                .mock(ResourceProvider.class);
+        Mockito.when(context.getAttribute(Lookup.class.getName()))
+                .thenReturn(lookup);
+        Mockito.when(lookup.lookup(ResourceProvider.class))
+                .thenReturn(resourceProvider);
+        Mockito.when(resourceProvider.getApplicationResource(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    String path = invocation.getArgument(0);
+                    File file = new File(outputDirectory, path.substring(
+                            Constants.VAADIN_SERVLET_RESOURCES.length()));
+                    return file.exists() ? file.toURI().toURL() : null;
+                });
+        return context;
+    }
+
     private static PwaRegistry preparePwaRegistry(PWA pwa,
             boolean webpackEnabled) throws IOException {
+        return preparePwaRegistry(pwa, webpackEnabled,
+                Mockito.mock(ServletContext.class));
+    }
+
+    private static PwaRegistry preparePwaRegistry(PWA pwa,
+            boolean webpackEnabled, ServletContext context)
+            throws IOException {
         try (MockedStatic<VaadinService> vaadinService = Mockito
                 .mockStatic(VaadinService.class);
                 MockedStatic<ApplicationConfiguration> configuration = Mockito
@@ -104,7 +194,6 @@ public class PwaRegistryTest {
             featureFlags.when(() -> FeatureFlags.get(Mockito.any()))
                     .thenReturn(flags);
 
-            ServletContext context = Mockito.mock(ServletContext.class);
             return new PwaRegistry(pwa, context);
         }
     }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.di.Lookup;
+import com.vaadin.flow.function.DeploymentConfiguration;
+
+public class ReadWriteSessionLockTest {
+
+    private final ReadWriteSessionLock lock = new ReadWriteSessionLock();
+
+    @Test
+    public void lock_exclusiveLockHeldByCurrentThread() {
+        lock.lock();
+        try {
+            Assert.assertTrue(lock.isHeldByCurrentThread());
+            Assert.assertTrue(lock.isReadOrWriteHeldByCurrentThread());
+            Assert.assertTrue(lock.isLocked());
+            Assert.assertEquals(1, lock.getHoldCount());
+        } finally {
+            lock.unlock();
+        }
+        Assert.assertFalse(lock.isLocked());
+        Assert.assertEquals(0, lock.getHoldCount());
+    }
+
+    @Test
+    public void readLock_onlySharedLockHeldByCurrentThread() {
+        lock.readLock().lock();
+        try {
+            Assert.assertFalse(lock.isHeldByCurrentThread());
+            Assert.assertTrue(lock.isReadOrWriteHeldByCurrentThread());
+            Assert.assertFalse(lock.isLocked());
+        } finally {
+            lock.readLock().unlock();
+        }
+        Assert.assertFalse(lock.isReadOrWriteHeldByCurrentThread());
+    }
+
+    @Test
+    public void readLock_heldByOtherThread_sharedLockCanBeAcquired()
+            throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> {
+            lock.readLock().lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+        try {
+            Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(lock.readLock().tryLock());
+            lock.readLock().unlock();
+            Assert.assertFalse(lock.tryLock());
+        } finally {
+            release.countDown();
+            other.get(5, TimeUnit.SECONDS);
+        }
+        Assert.assertTrue(lock.tryLock());
+        lock.unlock();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lock_sharedLockHeld_throws() {
+        lock.readLock().lock();
+        try {
+            lock.lock();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Test
+    public void readLock_exclusiveLockHeld_canBeDowngraded() {
+        lock.lock();
+        try {
+            lock.readLock().lock();
+            lock.readLock().unlock();
+        } finally {
+            lock.unlock();
+        }
+        Assert.assertFalse(lock.isReadOrWriteHeldByCurrentThread());
+    }
+
+    @Test
+    public void lock_otherThreadWaiting_reportedByReentrantLockMethods()
+            throws Exception {
+        lock.lock();
+        CompletableFuture<Void> other;
+        try {
+            other = CompletableFuture.runAsync(() -> {
+                lock.lock();
+                lock.unlock();
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!lock.hasQueuedThreads() && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            Assert.assertTrue(lock.hasQueuedThreads());
+            Assert.assertEquals(1, lock.getQueueLength());
+        } finally {
+            lock.unlock();
+        }
+        other.get(5, TimeUnit.SECONDS);
+        Assert.assertFalse(lock.hasQueuedThreads());
+    }
+
+    @Test
+    public void conditionAwait_sharedLockCanBeAcquiredWhileWaiting()
+            throws Exception {
+        Condition condition = lock.newCondition();
+        CompletableFuture<Void> reader = new CompletableFuture<>();
+        lock.lock();
+        try {
+            CompletableFuture.runAsync(() -> {
+                lock.readLock().lock();
+                lock.readLock().unlock();
+                lock.lock();
+                try {
+                    condition.signal();
+                } finally {
+                    lock.unlock();
+                }
+                reader.complete(null);
+            });
+            Assert.assertTrue(condition.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(lock.isHeldByCurrentThread());
+            Assert.assertFalse(lock.hasWaiters(condition));
+        } finally {
+            lock.unlock();
+        }
+        reader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void createSessionLockStrategy_readWriteSessionLockEnabled_readWriteLockCreated() {
+        VaadinService service = mockService(null, true);
+
+        ReentrantLock created = service.getSessionLockStrategy()
+                .createLock(Mockito.mock(WrappedSession.class));
+        Assert.assertTrue(created instanceof ReadWriteSessionLock);
+    }
+
+    @Test
+    public void createSessionLockStrategy_defaultConfiguration_reentrantLockCreated() {
+        VaadinService service = mockService(null, false);
+
+        ReentrantLock created = service.getSessionLockStrategy()
+                .createLock(Mockito.mock(WrappedSession.class));
+        Assert.assertEquals(ReentrantLock.class, created.getClass());
+    }
+
+    @Test
+    public void createSessionLockStrategy_strategyInLookup_lookupStrategyUsed() {
+        ReentrantLock custom = new ReentrantLock();
+        Lookup lookup = Mockito.mock(Lookup.class);
+        Mockito.when(lookup.lookup(SessionLockStrategy.class))
+                .thenReturn(wrappedSession -> custom);
+        VaadinService service = mockService(lookup, true);
+
+        Assert.assertSame(custom, service.getSessionLockStrategy()
+                .createLock(Mockito.mock(WrappedSession.class)));
+    }
+
+    @Test
+    public void getSessionLockStrategy_concurrentCalls_createdOnce()
+            throws Exception {
+        VaadinService service = mockService(null, true);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SessionLockStrategy>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.getSessionLockStrategy();
+                }));
+            }
+            start.countDown();
+
+            SessionLockStrategy first = results.get(0).get(5,
+                    TimeUnit.SECONDS);
+            for (Future<SessionLockStrategy> result : results) {
+                Assert.assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            Mockito.verify(service, Mockito.times(1))
+                    .createSessionLockStrategy();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static VaadinService mockService(Lookup lookup,
+            boolean readWriteSessionLock) {
+        VaadinService service = Mockito.mock(VaadinService.class,
+                Mockito.CALLS_REAL_METHODS);
+        VaadinContext context = Mockito.mock(VaadinContext.class);
+        Mockito.when(context.getAttribute(Lookup.class)).thenReturn(lookup);
+        DeploymentConfiguration configuration = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(configuration.isReadWriteSessionLock())
+                .thenReturn(readWriteSessionLock);
+        Mockito.doReturn(context).when(service).getContext();
+        Mockito.doReturn(configuration).when(service)
+                .getDeploymentConfiguration();
+        return service;
+    }
+}
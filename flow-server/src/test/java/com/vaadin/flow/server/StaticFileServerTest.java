@@ -30,6 +30,7 @@ import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
 import java.nio.charset.StandardCharsets;
@@ -1151,6 +1152,93 @@ public class StaticFileServerTest implements Serializable {
         Assert.assertFalse(fileServer.serveStaticResource(request, response));
     }
 
+    @Test
+    public void serveStaticResource_resourceCacheEnabled_servedFromIndex()
+            throws IOException {
+        final TemporaryFolder folder = TemporaryFolder.builder().build();
+        folder.create();
+        File webapp = folder.newFolder("META-INF", "VAADIN", "webapp",
+                "VAADIN", "build");
+        String fileData = "function() {eval('foo');};";
+        Files.write(new File(webapp, "app.js").toPath(),
+                fileData.getBytes(StandardCharsets.UTF_8));
+        ClassLoader classLoader = new URLClassLoader(
+                new URL[] { folder.getRoot().toURI().toURL() }, null);
+        Mockito.doReturn(classLoader).when(servletService).getClassLoader();
+        Mockito.when(configuration.getStaticResourceCacheSize())
+                .thenReturn(1024);
+        fileServer = new OverrideableStaticFileServer(servletService,
+                configuration);
+        Mockito.clearInvocations(servletService);
+
+        setupRequestURI("", "", "/VAADIN/build/app.js");
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(fileData, out.getOutputString());
+        String eTag = headers.get("ETag");
+        Assert.assertNotNull(eTag);
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(HttpStatusCode.NOT_MODIFIED.getCode(),
+                responseCode.get());
+        Assert.assertEquals(0, out.getOutput().length);
+
+        Mockito.verify(servletService, Mockito.never()).getClassLoader();
+
+        // Resources missing from the index are looked up through the class
+        // loader, e.g. when they are in a root which cannot be indexed
+        Files.write(new File(webapp, "unindexed.js").toPath(),
+                fileData.getBytes(StandardCharsets.UTF_8));
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(null);
+        setupRequestURI("", "", "/VAADIN/build/unindexed.js");
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(fileData, out.getOutputString());
+
+        setupRequestURI("", "", "/VAADIN/build/missing.js");
+        Assert.assertFalse(fileServer.serveStaticResource(request, response));
+        folder.delete();
+    }
+
+    @Test
+    public void serveStaticResource_resourceCacheEnabled_compressedVariantHasOwnETag()
+            throws IOException {
+        final TemporaryFolder folder = TemporaryFolder.builder().build();
+        folder.create();
+        File webapp = folder.newFolder("META-INF", "VAADIN", "webapp",
+                "VAADIN", "build");
+        Files.write(new File(webapp, "app.js").toPath(),
+                "plain".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(webapp, "app.js.gz").toPath(),
+                "gzipped".getBytes(StandardCharsets.UTF_8));
+        ClassLoader classLoader = new URLClassLoader(
+                new URL[] { folder.getRoot().toURI().toURL() }, null);
+        Mockito.doReturn(classLoader).when(servletService).getClassLoader();
+        Mockito.when(configuration.getStaticResourceCacheSize())
+                .thenReturn(1024);
+        fileServer = new OverrideableStaticFileServer(servletService,
+                configuration);
+
+        setupRequestURI("", "", "/VAADIN/build/app.js");
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals("plain", out.getOutputString());
+        String plainETag = headers.get("ETag");
+        Assert.assertEquals("Accept-Encoding", headers.get("Vary"));
+
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(plainETag);
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals("gzipped", out.getOutputString());
+        Assert.assertEquals("gzip", headers.get("Content-Encoding"));
+        Assert.assertNotEquals(plainETag, headers.get("ETag"));
+        folder.delete();
+    }
+
     @Test
     public void getStaticResource_delegateToVaadinService()
             throws MalformedURLException {
@@ -26,7 +26,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -270,6 +273,60 @@ public class VaadinServiceTest {
                 "Original value", CurrentInstance.get(String.class));
     }
 
+    @Test
+    public void accessSession_asyncAccessTasks_taskRunByExecutor()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_ACCESS_TASKS, "true");
+        VaadinService service = new MockVaadinServletService(configuration);
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        AtomicReference<Thread> taskThread = new AtomicReference<>();
+        AtomicBoolean hadLock = new AtomicBoolean();
+        Future<Void> future = service.accessSession(session, () -> {
+            taskThread.set(Thread.currentThread());
+            hadLock.set(session.hasLock());
+        });
+
+        future.get(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(taskThread.get());
+        Assert.assertNotSame(Thread.currentThread(), taskThread.get());
+        Assert.assertTrue(hadLock.get());
+        service.destroy();
+    }
+
+    @Test
+    public void accessSession_asyncAccessTasks_concurrentSessions_allTasksRun()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ASYNC_ACCESS_TASKS, "true");
+        VaadinService service = new MockVaadinServletService(configuration);
+        List<MockVaadinSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            sessions.add(new MockVaadinSession(service));
+        }
+
+        int tasksPerSession = 20;
+        AtomicInteger runCount = new AtomicInteger();
+        List<Future<Void>> futures = Collections
+                .synchronizedList(new ArrayList<>());
+        sessions.parallelStream().forEach(session -> {
+            for (int i = 0; i < tasksPerSession; i++) {
+                futures.add(service.accessSession(session,
+                        runCount::incrementAndGet));
+            }
+        });
+
+        for (Future<Void> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(sessions.size() * tasksPerSession,
+                runCount.get());
+        service.destroy();
+    }
+
     @Test
     public void testBootstrapListenersCreation() throws ServiceException {
         // in this test the actual behavior of the listeners is not evaluated.
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.tests.util.MockUI;
+
+public class CoalescingPushSchedulerTest {
+
+    private VaadinSession session;
+    private MockUI ui;
+    private PushConnection connection;
+    private ExecutorService pushExecutor;
+    private CoalescingPushScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        session = new MockVaadinSession(new MockVaadinServletService());
+        session.lock();
+        ui = new MockUI(session);
+        ui.getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+        connection = Mockito.mock(PushConnection.class);
+        ui.getInternals().setPushConnection(connection);
+        pushExecutor = Executors.newCachedThreadPool();
+        scheduler = new CoalescingPushScheduler(10, pushExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+        pushExecutor.shutdownNow();
+        if (session.hasLock()) {
+            session.unlock();
+        }
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void schedulePush_severalChangesWithinWindow_pushedOnce() {
+        for (int i = 0; i < 10; i++) {
+            ui.getElement().setProperty("value", i);
+            scheduler.schedulePush(ui);
+        }
+        session.unlock();
+
+        Mockito.verify(connection, Mockito.timeout(5000)).push();
+        Assert.assertEquals(1, scheduler.getPushCount());
+        Assert.assertEquals(9, scheduler.getCoalescedPushCount());
+        Assert.assertTrue(scheduler.getAddedLatencyNanos() > 0);
+    }
+
+    @Test
+    public void schedulePush_afterPreviousPush_pushedAgain() {
+        ui.getElement().setProperty("value", 1);
+        scheduler.schedulePush(ui);
+        session.unlock();
+        Mockito.verify(connection, Mockito.timeout(5000)).push();
+
+        session.lock();
+        ui.getElement().setProperty("value", 2);
+        scheduler.schedulePush(ui);
+        session.unlock();
+
+        Mockito.verify(connection, Mockito.timeout(5000).times(2)).push();
+        Assert.assertEquals(2, scheduler.getPushCount());
+        Assert.assertEquals(0, scheduler.getCoalescedPushCount());
+    }
+
+    @Test
+    public void schedulePush_pushedUsingPushExecutor() throws Exception {
+        CompletableFuture<String> pushThread = new CompletableFuture<>();
+        Mockito.doAnswer(invocation -> {
+            pushThread.complete(Thread.currentThread().getName());
+            return null;
+        }).when(connection).push();
+
+        scheduler.schedulePush(ui);
+        session.unlock();
+
+        Assert.assertNotEquals("vaadin-push-coalescer",
+                pushThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nonPositiveWindow_throws() {
+        new CoalescingPushScheduler(0, pushExecutor);
+    }
+}
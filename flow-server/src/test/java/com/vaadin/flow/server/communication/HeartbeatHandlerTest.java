@@ -16,12 +16,16 @@
 package com.vaadin.flow.server.communication;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.HeartbeatListener;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
@@ -54,4 +58,36 @@ public class HeartbeatHandlerTest {
         Mockito.verify(ui.getInternals(), times(1))
                 .setLastHeartbeatTimestamp(anyLong());
     }
+
+    @Test
+    public void synchronizedHandleRequest_sharedLockAndHeartbeatListeners_timestampSetThroughAccess()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        VaadinRequest request = mock(VaadinRequest.class);
+        VaadinResponse response = mock(VaadinResponse.class);
+        UI ui = mock(UI.class);
+        UIInternals uiInternals = mock(UIInternals.class);
+
+        when(ui.getInternals()).thenReturn(uiInternals);
+        when(uiInternals.getListeners(HeartbeatListener.class))
+                .thenReturn(Collections.singletonList(event -> {
+                }));
+        when(session.getService()).thenReturn(service);
+        when(session.hasLock()).thenReturn(false);
+        when(service.findUI(request)).thenReturn(ui);
+
+        HeartbeatHandler handler = new HeartbeatHandler();
+        handler.synchronizedHandleRequest(session, request, response);
+
+        ArgumentCaptor<Command> command = ArgumentCaptor
+                .forClass(Command.class);
+        Mockito.verify(ui).access(command.capture());
+        Mockito.verify(uiInternals, Mockito.never())
+                .setLastHeartbeatTimestamp(anyLong());
+
+        command.getValue().execute();
+        Mockito.verify(uiInternals, times(1))
+                .setLastHeartbeatTimestamp(anyLong());
+    }
 }
@@ -777,6 +777,76 @@ public class IndexHtmlRequestHandlerTest {
         assertEquals(1, bodyInlineElements.size());
     }
 
+    @Test
+    public void productionMode_pageFromTemplate_sameAsModifiedDocument()
+            throws Exception {
+        AppShellRegistry registry = AppShellRegistry.getInstance(context);
+        registry.setShell(MyAppShellWithConfigurator.class);
+        mocks.setAppShellRegistry(registry);
+        deploymentConfiguration.setProductionMode(true);
+
+        // Enabled dev tools make the handler modify a copy of the document
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        Document modifiedDocument = Jsoup.parse(
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+        modifiedDocument.head().getElementsByTag("script").stream()
+                .filter(script -> script.data().contains("ConsoleErrors")
+                        || script.data().contains("VaadinLicenseChecker"))
+                .forEach(Element::remove);
+
+        responseOutput.reset();
+        deploymentConfiguration.setDevToolsEnabled(false);
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        Document templateDocument = Jsoup.parse(
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+
+        assertEquals(modifiedDocument.html(), templateDocument.html());
+        Element base = templateDocument.head().getElementsByTag("base")
+                .first();
+        assertEquals("./..", base.attr("href"));
+    }
+
+    @Test
+    public void productionMode_pageFromTemplate_listenerModificationsWritten()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        deploymentConfiguration.setDevToolsEnabled(false);
+        service.addIndexHtmlRequestListener(evt -> evt.getDocument().body()
+                .appendElement("div").attr("id", "from-listener"));
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+
+        Document document = Jsoup.parse(
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+        Assert.assertNotNull(document.getElementById("from-listener"));
+        Assert.assertTrue(document.html().contains(".v-system-error"));
+    }
+
+    @Test
+    public void productionMode_pageFromTemplate_initialUidlAndTitleIncluded()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        deploymentConfiguration.setDevToolsEnabled(false);
+        deploymentConfiguration.setEagerServerLoad(true);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+
+        String indexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+        Document document = Jsoup.parse(indexHtml);
+        Element initialScript = document.head().getElementsByTag("script")
+                .first();
+        Assert.assertTrue(initialScript.data()
+                .startsWith("window.Vaadin = window.Vaadin || {};"
+                        + "window.Vaadin.TypeScript= {\"initial\":"));
+        assertEquals("Flow Test CCDM",
+                UI.getCurrent().getInternals().getAppShellTitle());
+    }
+
     @Test
     public void should_store_IndexHtmltitleToUI_When_LoadingServerEagerly()
             throws IOException {
@@ -3,12 +3,23 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.UI;
@@ -21,7 +32,11 @@ import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.JsonObject;
 
 public class ServerRpcHandlerTest {
     private VaadinRequest request;
@@ -30,6 +45,7 @@ public class ServerRpcHandlerTest {
     private UI ui;
     private UIInternals uiInternals;
     private DependencyList dependencyList;
+    private DeploymentConfiguration deploymentConfiguration;
 
     private StateTree uiTree;
     final private String csrfToken = "";
@@ -55,8 +71,7 @@ public class ServerRpcHandlerTest {
         Mockito.when(ui.getSession()).thenReturn(session);
         Mockito.when(ui.getCsrfToken()).thenReturn(csrfToken);
 
-        DeploymentConfiguration deploymentConfiguration = Mockito
-                .mock(DeploymentConfiguration.class);
+        deploymentConfiguration = Mockito.mock(DeploymentConfiguration.class);
         Mockito.when(service.getDeploymentConfiguration())
                 .thenReturn(deploymentConfiguration);
 
@@ -110,6 +125,187 @@ public class ServerRpcHandlerTest {
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
     }
 
+    @Test
+    public void handleRpc_processedMessageResent_noHashComputedAndDoNotThrow()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        String msg = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID
+                + "\":0, \"" + ApplicationConstants.RPC_INVOCATIONS
+                + "\":[]}";
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return msg;
+            };
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        try (MockedStatic<MessageDigestUtil> util = Mockito
+                .mockStatic(MessageDigestUtil.class)) {
+            handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+            Assert.assertEquals(0,
+                    ui.getInternals().getLastProcessedClientToServerId());
+
+            // Resent message is recognized without a cryptographic hash
+            handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+            util.verifyNoInteractions();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void handleRpc_differentMessageWithPreviousId_throw()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        AtomicReference<String> msg = new AtomicReference<>("{\""
+                + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":0, \""
+                + ApplicationConstants.RPC_INVOCATIONS + "\":[]}");
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return msg.get();
+            };
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+
+        msg.set("{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":0, \""
+                + ApplicationConstants.RPC_INVOCATIONS + "\":[ ]}");
+        handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+    }
+
+    @Test
+    public void handleRpc_pipelinedResynchronize_heldBackMessagesDiscarded()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        Mockito.when(deploymentConfiguration.isPipelinedRpc()).thenReturn(true);
+        List<JsonObject> handled = new ArrayList<>();
+        ServerRpcHandler handler = createHandler(handled::add);
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        handler.handleRpc(ui, new StringReader(pipelinedMessage(2)), request);
+        Assert.assertEquals(1,
+                ui.getInternals().getPendingClientToServerMessageCount());
+        Assert.assertTrue(handled.isEmpty());
+
+        try {
+            handler.handleRpc(ui, new StringReader("{\""
+                    + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":0, \""
+                    + ApplicationConstants.RESYNCHRONIZE_ID + "\":true, \""
+                    + ApplicationConstants.RPC_INVOCATIONS + "\":[]}"),
+                    request);
+            Assert.fail("Resynchronization should be required");
+        } catch (ServerRpcHandler.ResynchronizationRequiredException e) {
+            // expected
+        }
+        Assert.assertEquals(0,
+                ui.getInternals().getPendingClientToServerMessageCount());
+        Assert.assertTrue(handled.isEmpty());
+    }
+
+    @Test
+    public void handleRpc_pipelinedMessagesArriveOutOfOrder_handledInSentOrder()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        Mockito.when(deploymentConfiguration.isPipelinedRpc()).thenReturn(true);
+        List<Integer> handled = new ArrayList<>();
+        ServerRpcHandler handler = createHandler(invocation -> handled.add(
+                (int) invocation.getNumber(JsonConstants.RPC_PROPERTY_VALUE)));
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        // Messages sent every 10ms over a link with 50-300ms latency
+        LatencyInjectingChannel channel = new LatencyInjectingChannel(50, 300);
+        int messageCount = 100;
+        for (int i = 0; i < messageCount; i++) {
+            channel.send(i * 10, pipelinedMessage(i));
+        }
+        List<String> arrived = channel.receiveAll();
+        Assert.assertNotEquals("The harness should reorder the messages",
+                IntStream.range(0, messageCount)
+                        .mapToObj(this::pipelinedMessage)
+                        .collect(Collectors.toList()),
+                arrived);
+
+        for (String message : arrived) {
+            handler.handleRpc(ui, new StringReader(message), request);
+        }
+
+        Assert.assertEquals(IntStream.range(0, messageCount).boxed()
+                .collect(Collectors.toList()), handled);
+        Assert.assertEquals(messageCount - 1,
+                ui.getInternals().getLastProcessedClientToServerId());
+        Assert.assertEquals(0,
+                ui.getInternals().getPendingClientToServerMessageCount());
+    }
+
+    private String pipelinedMessage(int clientToServerId) {
+        return "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":"
+                + clientToServerId + ", \""
+                + ApplicationConstants.RPC_INVOCATIONS
+                + "\":[{\"type\":\"mSync\", \""
+                + JsonConstants.RPC_PROPERTY_VALUE + "\":" + clientToServerId
+                + "}]}";
+    }
+
+    /**
+     * Simulates a link with varying latency between the client and the
+     * server. Each message arrives after a random delay from the time it was
+     * sent, so messages sent in quick succession may arrive in a different
+     * order, as pipelined requests sent over separate connections can.
+     */
+    private static class LatencyInjectingChannel {
+        private final Random random = new Random(42);
+        private final int minLatency;
+        private final int maxLatency;
+        private final List<Map.Entry<Integer, String>> inFlight = new ArrayList<>();
+
+        private LatencyInjectingChannel(int minLatency, int maxLatency) {
+            this.minLatency = minLatency;
+            this.maxLatency = maxLatency;
+        }
+
+        private void send(int sendTime, String message) {
+            int latency = minLatency
+                    + random.nextInt(maxLatency - minLatency + 1);
+            inFlight.add(Map.entry(sendTime + latency, message));
+        }
+
+        private List<String> receiveAll() {
+            List<String> arrived = inFlight.stream()
+                    .sorted(Map.Entry.comparingByKey()).map(Map.Entry::getValue)
+                    .collect(Collectors.toList());
+            inFlight.clear();
+            return arrived;
+        }
+    }
+
+    private static ServerRpcHandler createHandler(
+            Consumer<JsonObject> mapSyncHandler) {
+        RpcInvocationHandler invocationHandler = new RpcInvocationHandler() {
+            @Override
+            public String getRpcType() {
+                return JsonConstants.RPC_TYPE_MAP_SYNC;
+            }
+
+            @Override
+            public Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
+                mapSyncHandler.accept(invocationJson);
+                return Optional.empty();
+            }
+        };
+        return new ServerRpcHandler() {
+            @Override
+            protected Map<String, RpcInvocationHandler> getInvocationHandlers() {
+                return Collections.singletonMap(
+                        JsonConstants.RPC_TYPE_MAP_SYNC, invocationHandler);
+            }
+        };
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void handleRpc_unexpectedMessage_throw()
             throws InvalidUIDLSecurityKeyException, IOException {
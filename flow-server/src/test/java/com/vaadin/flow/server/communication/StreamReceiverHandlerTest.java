@@ -6,10 +6,12 @@ import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.Part;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +30,8 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.ChannelStreamVariable;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.ErrorHandler;
 import com.vaadin.flow.server.HttpStatusCode;
 import com.vaadin.flow.server.MockVaadinServletService;
@@ -429,4 +433,73 @@ public class StreamReceiverHandlerTest {
         Mockito.verifyNoInteractions(errorHandler);
     }
 
+
+    @Test
+    public void handleFileUploadValidationAndData_largeUpload_allBytesWritten()
+            throws UploadException {
+        byte[] content = new byte[1024 * 1024 + 17];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        outputStream = new ByteArrayOutputStream();
+
+        handler.handleFileUploadValidationAndData(session,
+                new ByteArrayInputStream(content), streamReceiver, "file",
+                "application/octet-stream", -1, stateNode);
+
+        Assert.assertArrayEquals(content,
+                ((ByteArrayOutputStream) outputStream).toByteArray());
+        Mockito.verify(streamVariable).streamingFinished(Mockito.any());
+    }
+
+    @Test
+    public void handleFileUploadValidationAndData_channelStreamVariable_bytesWrittenToChannel()
+            throws Exception {
+        ChannelStreamVariable channelVariable = mock(
+                ChannelStreamVariable.class);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        when(channelVariable.getChannel())
+                .thenReturn(Channels.newChannel(target));
+        when(streamReceiver.getStreamVariable()).thenReturn(channelVariable);
+
+        handler.handleFileUploadValidationAndData(session,
+                createInputStream("foobar"), streamReceiver, "file",
+                "text/plain", 6, stateNode);
+
+        Assert.assertEquals("foobar", new String(target.toByteArray()));
+        Mockito.verify(channelVariable, Mockito.never()).getOutputStream();
+        Mockito.verify(channelVariable).streamingFinished(Mockito.any());
+    }
+
+    @Test
+    public void handleFileUploadValidationAndData_uiKnown_progressDeliveredThroughAccess_staleEventsDropped()
+            throws UploadException {
+        handler = new StreamReceiverHandler() {
+            @Override
+            protected int getProgressEventInterval() {
+                return 0;
+            }
+        };
+        when(stateNode.getOwner()).thenReturn(stateTree);
+        when(stateTree.getUI()).thenReturn(ui);
+        when(streamVariable.listenProgress()).thenReturn(true);
+        List<Command> accessTasks = new ArrayList<>();
+        when(ui.access(Mockito.any())).thenAnswer(invocation -> {
+            accessTasks.add(invocation.getArgument(0));
+            return null;
+        });
+
+        handler.handleFileUploadValidationAndData(session,
+                createInputStream("foobar"), streamReceiver, "file",
+                "text/plain", 6, stateNode);
+
+        // Only the first event is scheduled while it is pending
+        Assert.assertEquals(1, accessTasks.size());
+        // The end of the file is reported right away
+        Mockito.verify(streamVariable).onProgress(Mockito.any());
+
+        // A pending event does not arrive after the upload has ended
+        accessTasks.get(0).execute();
+        Mockito.verify(streamVariable).onProgress(Mockito.any());
+    }
 }
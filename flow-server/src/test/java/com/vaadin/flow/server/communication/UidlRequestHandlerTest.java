@@ -17,9 +17,11 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Properties;
 
@@ -28,7 +30,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.MockVaadinContext;
@@ -41,9 +45,12 @@ import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.shared.ApplicationConstants;
 
+import elemental.json.JsonException;
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
+import static com.vaadin.flow.shared.JsonConstants.JSON_CONTENT_TYPE;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -121,6 +128,87 @@ public class UidlRequestHandlerTest {
                 responseContent);
     }
 
+    @Test
+    public void streamingUidl_serializationFails_refreshWritten()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        DeploymentConfiguration configuration = mock(
+                DeploymentConfiguration.class);
+        when(session.getService()).thenReturn(service);
+        when(service.getDeploymentConfiguration()).thenReturn(configuration);
+        when(configuration.isStreamingUidl()).thenReturn(true);
+        when(service.findUI(request)).thenReturn(mock(UI.class));
+
+        UidlRequestHandler handler = new UidlRequestHandler() {
+            @Override
+            protected ServerRpcHandler createRpcHandler() {
+                return mock(ServerRpcHandler.class);
+            }
+
+            @Override
+            void streamUidl(UI ui, Writer writer, boolean resync)
+                    throws IOException {
+                writer.write("for(;;);[{\"changes\":[");
+                throw new JsonException("Serialization failed");
+            }
+        };
+
+        boolean result = handler.synchronizedHandleRequest(session, request,
+                response);
+        Assert.assertTrue("Result should be true", result);
+
+        String responseContent = CommunicationUtil
+                .getStringWhenWriteString(outputStream);
+        Assert.assertEquals("Invalid response",
+                VaadinService.createCriticalNotificationJSON(null, null, null,
+                        null),
+                responseContent);
+    }
+
+    @Test
+    public void streamingUidl_largeResponse_writtenWhileSerializing()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        DeploymentConfiguration configuration = mock(
+                DeploymentConfiguration.class);
+        when(session.getService()).thenReturn(service);
+        when(service.getDeploymentConfiguration()).thenReturn(configuration);
+        when(configuration.isStreamingUidl()).thenReturn(true);
+        when(service.findUI(request)).thenReturn(mock(UI.class));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(out);
+
+        StringBuilder expected = new StringBuilder("for(;;);[{\"changes\":[");
+        for (int i = 0; i < 10000; i++) {
+            expected.append("{\"node\":").append(i).append("},");
+        }
+        UidlRequestHandler handler = new UidlRequestHandler() {
+            @Override
+            protected ServerRpcHandler createRpcHandler() {
+                return mock(ServerRpcHandler.class);
+            }
+
+            @Override
+            void streamUidl(UI ui, Writer writer, boolean resync)
+                    throws IOException {
+                writer.write(expected.toString());
+                Assert.assertTrue(
+                        "Response should be written before serialization ends",
+                        out.size() > 0);
+                writer.write("{}]}]");
+            }
+        };
+
+        handler.synchronizedHandleRequest(session, request, response);
+
+        Assert.assertEquals(expected + "{}]}]", out.toString(UTF_8));
+        Mockito.verify(response).setContentType(JSON_CONTENT_TYPE);
+        Mockito.verify(response, Mockito.never())
+                .setContentLength(Mockito.anyInt());
+    }
+
     @Test
     public void should_not_modifyUidl_when_MPR_nonJavaScriptBootstrapUI()
             throws Exception {
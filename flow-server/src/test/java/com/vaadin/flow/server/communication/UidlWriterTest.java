@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,18 +48,22 @@ import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RoutePathProvider;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.BootstrapHandlerTest;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.MockVaadinContext.RoutePathProviderImpl;
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.impl.JsonUtil;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
@@ -289,6 +294,91 @@ public class UidlWriterTest {
                 response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
     }
 
+    @Test
+    public void writeUidl_changesAndDependenciesWrittenToWriter()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        ui.add(new ActualComponent());
+
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, false, writer);
+        JsonObject response = JsonUtil.parse(writer.toString());
+
+        assertEquals(0, (int) response
+                .getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        assertTrue(response.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID));
+        assertTrue(response.getArray("changes").length() > 0);
+
+        Map<String, JsonObject> dependenciesMap = getDependenciesMap(response);
+        assertEquals(4, dependenciesMap.size());
+        assertDependency(CSS_STYLE_NAME, CSS_STYLE_NAME, dependenciesMap);
+
+        writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, true, writer);
+        response = JsonUtil.parse(writer.toString());
+
+        assertEquals(1, (int) response
+                .getNumber(ApplicationConstants.SERVER_SYNC_ID));
+        assertTrue(response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+        assertFalse("No changes should be written when nothing has changed",
+                response.hasKey("changes"));
+    }
+
+    @Test
+    public void writeUidl_sameChangesAsCreateUidl() throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        Element element = ElementFactory.createDiv("foo");
+        ui.getElement().appendChild(element);
+        // Flush the initial state
+        uidlWriter.createUidl(ui, false);
+
+        element.setAttribute("bar", "qux");
+        JsonObject expected = uidlWriter.createUidl(ui, false);
+
+        element.setAttribute("bar", "baz");
+        uidlWriter.createUidl(ui, false);
+
+        element.setAttribute("bar", "qux");
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, false, writer);
+        JsonObject written = JsonUtil.parse(writer.toString());
+
+        assertTrue(JsonUtils.jsonEquals(expected.getArray("changes"),
+                written.getArray("changes")));
+    }
+
+    @Test
+    public void createUidl_compactUidlEnabled_changesWrittenAsArrays()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_COMPACT_UIDL, "true");
+        UidlWriter uidlWriter = new UidlWriter();
+        ui.add(new ActualComponent());
+
+        JsonObject response = uidlWriter.createUidl(ui, false);
+
+        assertFalse(response.hasKey("changes"));
+        JsonArray changes = response
+                .getArray(JsonConstants.UIDL_KEY_COMPACT_CHANGES);
+        assertTrue(changes.length() > 0);
+        for (int i = 0; i < changes.length(); i++) {
+            assertEquals(JsonType.ARRAY, changes.get(i).getType());
+        }
+
+        ui.getElement().setAttribute("foo", "bar");
+        StringWriter writer = new StringWriter();
+        uidlWriter.writeUidl(ui, false, false, writer);
+        response = JsonUtil.parse(writer.toString());
+
+        changes = response.getArray(JsonConstants.UIDL_KEY_COMPACT_CHANGES);
+        assertEquals(1, changes.length());
+        assertEquals(JsonConstants.COMPACT_CHANGE_TYPE_PUT,
+                (int) changes.getArray(0).getNumber(0));
+    }
+
     private void assertInlineDependencies(List<JsonObject> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));
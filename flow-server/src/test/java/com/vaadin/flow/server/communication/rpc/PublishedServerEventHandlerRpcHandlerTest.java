@@ -483,6 +483,29 @@ public class PublishedServerEventHandlerRpcHandlerTest {
                 component.getClass(), "operation1", Json.createArray(), -1);
     }
 
+    @Test
+    public void methodIsInvokedSeveralTimes_handlerMethodsResolvedOnce() {
+        PublishedServerEventHandlerRpcHandler.HANDLER_METHODS.clear();
+        ComponentWithCompute component = new ComponentWithCompute();
+
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "method", Json.createArray(), -1);
+        Assert.assertTrue(PublishedServerEventHandlerRpcHandler.HANDLER_METHODS
+                .contains(ComponentWithCompute.class));
+        PublishedServerEventHandlerRpcHandler.HandlerMethods methods = PublishedServerEventHandlerRpcHandler.HANDLER_METHODS
+                .get(ComponentWithCompute.class);
+
+        component.isInvoked = false;
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "methodThatCanBeCalledWhenInert",
+                Json.createArray(), -1);
+
+        Assert.assertTrue(component.isInvoked);
+        Assert.assertSame(methods,
+                PublishedServerEventHandlerRpcHandler.HANDLER_METHODS
+                        .get(ComponentWithCompute.class));
+    }
+
     @Test
     public void enabledElement_methodIsInvoked() {
         UI ui = new UI();
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -24,7 +25,8 @@ import com.vaadin.flow.server.ExecutionFailedException;
 import static com.vaadin.flow.server.Constants.TARGET;
 
 /**
- * Test that commands in NodeTasks are always executed in a predefined order.
+ * Test that commands in NodeTasks are always executed after the commands they
+ * depend on in a predefined order.
  */
 @RunWith(Parameterized.class)
 public class NodeTasksExecutionTest {
@@ -46,6 +48,7 @@ public class NodeTasksExecutionTest {
     private NodeTasks nodeTasks;
     private List<FallibleCommand> commandsMock;
     private List<Class<? extends FallibleCommand>> commandsOrder;
+    private Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>> independentCommands;
     private List<Class<? extends FallibleCommand>> executionOrder;
     private List<FallibleCommand> commands;
 
@@ -73,7 +76,14 @@ public class NodeTasksExecutionTest {
         commandsOrder = (List<Class<? extends FallibleCommand>>) commandOrderField
                 .get(nodeTasks);
 
-        executionOrder = new ArrayList<>(commandsOrder.size());
+        final Field independentCommandsField = NodeTasks.class
+                .getDeclaredField("independentCommands");
+        independentCommandsField.setAccessible(true);
+        independentCommands = (Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>>) independentCommandsField
+                .get(nodeTasks);
+
+        executionOrder = Collections
+                .synchronizedList(new ArrayList<>(commandsOrder.size()));
         commandsMock = mockCommandsRandomOrder(commandsOrder, executionOrder);
 
         // get the private commands list
@@ -99,7 +109,7 @@ public class NodeTasksExecutionTest {
     }
 
     @Test
-    public void nodeTasks_alwaysExecutedInDefinedOrder()
+    public void nodeTasks_alwaysExecutedAfterPrerequisites()
             throws ExecutionFailedException {
 
         // Assemble the command list with random order
@@ -109,8 +119,39 @@ public class NodeTasksExecutionTest {
 
         Assert.assertEquals("Amount of tasks executed was more than expected",
                 commandsOrder.size(), executionOrder.size());
-        Assert.assertEquals("Tasks were executed in an unexpected order",
-                commandsOrder, executionOrder);
+        for (int i = 0; i < commandsOrder.size(); i++) {
+            Class<? extends FallibleCommand> command = commandsOrder.get(i);
+            List<Class<? extends FallibleCommand>> prerequisites = independentCommands
+                    .getOrDefault(command, commandsOrder.subList(0, i));
+            for (Class<? extends FallibleCommand> prerequisite : prerequisites) {
+                Assert.assertTrue(
+                        command.getSimpleName() + " was executed before "
+                                + prerequisite.getSimpleName(),
+                        executionOrder.indexOf(prerequisite) < executionOrder
+                                .indexOf(command));
+            }
+        }
+    }
+
+    @Test
+    public void nodeTasks_taskFails_dependingTasksNotExecuted()
+            throws ExecutionFailedException {
+        commands.addAll(commandsMock);
+        ExecutionFailedException failure = new ExecutionFailedException(
+                "npm install failed");
+        FallibleCommand npmInstall = commandsMock.stream()
+                .filter(TaskRunNpmInstall.class::isInstance).findFirst()
+                .get();
+        Mockito.doThrow(failure).when(npmInstall).execute();
+
+        ExecutionFailedException thrown = Assert.assertThrows(
+                ExecutionFailedException.class, nodeTasks::execute);
+
+        Assert.assertSame(failure, thrown);
+        Assert.assertTrue(executionOrder.contains(TaskUpdatePackages.class));
+        Assert.assertFalse(
+                executionOrder.contains(TaskCopyFrontendFiles.class));
+        Assert.assertFalse(executionOrder.contains(TaskUpdateImports.class));
     }
 
     @Test
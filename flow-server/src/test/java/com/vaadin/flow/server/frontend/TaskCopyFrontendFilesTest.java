@@ -70,6 +70,31 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
                 "dir-with-modern-frontend");
     }
 
+    @Test
+    public void execute_unchangedJar_filesNotCopiedAgain() throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-modern-frontend.jar");
+        TaskCopyFrontendFiles task = new TaskCopyFrontendFiles(
+                frontendDepsFolder, jars(jar));
+        task.execute();
+        Assert.assertTrue(
+                new File(npmFolder, "target/frontend-deps-jars.json").isFile());
+
+        File copied = new File(frontendDepsFolder, "example.ts");
+        Assert.assertTrue(copied.setLastModified(1000));
+        task.execute();
+        Assert.assertEquals("Unchanged jar should not be copied again", 1000,
+                copied.lastModified());
+
+        Assert.assertTrue(copied.delete());
+        File other = new File(frontendDepsFolder, "inline.css");
+        Assert.assertTrue(other.setLastModified(1000));
+        task.execute();
+        Assert.assertTrue("Removed file should be copied again",
+                copied.isFile());
+        Assert.assertEquals("File with same content should not be rewritten",
+                1000, other.lastModified());
+    }
+
     @Test
     public void should_createPackageJson() throws IOException {
         TaskGeneratePackageJson task = new TaskGeneratePackageJson(npmFolder,
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.PWA;
+import com.vaadin.flow.server.PwaConfiguration;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class TaskGeneratePwaIconsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @PWA(name = "foo", shortName = "bar")
+    private static class PwaApp {
+    }
+
+    private File projectFolder;
+    private File outputFolder;
+    private ClassFinder classFinder;
+
+    @Before
+    public void setUp() throws IOException {
+        projectFolder = temporaryFolder.newFolder();
+        outputFolder = temporaryFolder.newFolder();
+        classFinder = Mockito.mock(ClassFinder.class);
+    }
+
+    @Test
+    public void should_renderIconsFromWebappIcon() throws Exception {
+        byte[] logo;
+        try (InputStream stream = getClass().getResourceAsStream(
+                "/com/vaadin/flow/server/default-logo.png")) {
+            logo = IOUtils.toByteArray(stream);
+        }
+        File webappIcon = new File(projectFolder,
+                "src/main/webapp/icons/icon.png");
+        webappIcon.getParentFile().mkdirs();
+        Files.write(webappIcon.toPath(), logo);
+
+        new TaskGeneratePwaIcons(classFinder, projectFolder, outputFolder,
+                new PwaConfiguration(PwaApp.class.getAnnotation(PWA.class)))
+                .execute();
+
+        File iconsFolder = new File(outputFolder,
+                Constants.PWA_ICONS_DIRECTORY);
+        JsonObject index = Json.parse(Files.readString(
+                new File(iconsFolder, "icons.json").toPath(),
+                StandardCharsets.UTF_8));
+        Assert.assertEquals("icons/icon.png", index.getString("iconPath"));
+        Assert.assertEquals(Arrays.hashCode(logo),
+                (int) index.getNumber("logoHash"));
+        Assert.assertTrue("Icon should be rendered for every icon size",
+                new File(iconsFolder, "512x512.png").isFile());
+        Mockito.verify(classFinder, Mockito.never())
+                .getResource(Mockito.anyString());
+    }
+
+    @Test
+    public void should_notRenderIcons_pwaDisabled() throws Exception {
+        new TaskGeneratePwaIcons(classFinder, projectFolder, outputFolder,
+                new PwaConfiguration()).execute();
+
+        Assert.assertFalse("Icons should not be rendered without PWA",
+                new File(outputFolder, Constants.PWA_ICONS_DIRECTORY)
+                        .exists());
+    }
+}
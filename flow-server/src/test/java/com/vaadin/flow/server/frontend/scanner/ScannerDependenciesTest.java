@@ -1,12 +1,19 @@
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.router.Route;
@@ -35,6 +42,9 @@ import static org.junit.Assert.assertTrue;
 
 public class ScannerDependenciesTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     static FrontendDependencies getFrontendDependencies(Class<?>... classes) {
         FrontendDependencies frontendDependencies = new FrontendDependencies(
                 new DefaultClassFinder(new HashSet<>(
@@ -42,6 +52,13 @@ public class ScannerDependenciesTest {
         return frontendDependencies;
     }
 
+    private static FrontendDependencies getFrontendDependencies(
+            File scanCacheFile, Class<?>... classes) {
+        return new FrontendDependencies(
+                new DefaultClassFinder(new HashSet<>(Arrays.asList(classes))),
+                true, false, null, scanCacheFile);
+    }
+
     @Test
     public void visitRouteEntryPoint_ExpectToAlsoVisitImplementedInterface() {
         FrontendDependencies deps = getFrontendDependencies(
@@ -56,6 +73,43 @@ public class ScannerDependenciesTest {
                 deps.getCss().iterator().next().value);
     }
 
+    @Test
+    public void visitEntryPoints_sharedClasses_sameResultsForEachScan() {
+        FrontendDependencies deps = getFrontendDependencies(FirstView.class,
+                SecondView.class, ThirdView.class, RoutedClass.class);
+
+        for (int i = 0; i < 5; i++) {
+            FrontendDependencies other = getFrontendDependencies(
+                    FirstView.class, SecondView.class, ThirdView.class,
+                    RoutedClass.class);
+            assertEquals(deps.getModules(), other.getModules());
+            assertEquals(new ArrayList<>(deps.getScripts()),
+                    new ArrayList<>(other.getScripts()));
+            assertEquals(deps.getClasses(), other.getClasses());
+        }
+    }
+
+    @Test
+    public void visitEntryPoints_scanCacheFile_sameResultsFromCache()
+            throws IOException {
+        File cacheFile = new File(temporaryFolder.getRoot(), "scan-cache");
+        FrontendDependencies deps = getFrontendDependencies(cacheFile,
+                FirstView.class, SecondView.class, RoutedClass.class);
+        Assert.assertTrue(cacheFile.isFile());
+
+        FrontendDependencies cached = getFrontendDependencies(cacheFile,
+                FirstView.class, SecondView.class, RoutedClass.class);
+        assertEquals(deps.getModules(), cached.getModules());
+        assertEquals(deps.getCss(), cached.getCss());
+        assertEquals(deps.getClasses(), cached.getClasses());
+
+        Files.write(cacheFile.toPath(),
+                "broken".getBytes(StandardCharsets.UTF_8));
+        FrontendDependencies rescanned = getFrontendDependencies(cacheFile,
+                FirstView.class, SecondView.class, RoutedClass.class);
+        assertEquals(deps.getModules(), rescanned.getModules());
+    }
+
     @Test
     public void should_extractClassesFromSignatures() {
         Set<String> classes = new HashSet<>();
@@ -145,8 +145,16 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.InlineTargets",
                 "com\\.vaadin\\.flow\\.server\\.AppShellSettings",
                 "com\\.vaadin\\.flow\\.server\\.communication\\.IndexHtmlResponse",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.IndexHtmlRequestHandler\\$TemplateIndexHtmlResponse",
+                "com\\.vaadin\\.flow\\.internal\\.ConstantPoolKey\\$InternedKey",
                 "com\\.vaadin\\.flow\\.server\\.communication\\.PushHandler(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.communication\\.PushRequestHandler(\\$.*)?",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.CoalescingPushScheduler",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.UidlRequestHandler\\$ResponseWriter",
+                // Per class metadata kept only in a static ReflectionCache,
+                // holds Method and MethodHandle instances
+                "com\\.vaadin\\.flow\\.server\\.communication\\.rpc\\.PublishedServerEventHandlerRpcHandler\\$HandlerMethods",
+                "com\\.vaadin\\.flow\\.server\\.communication\\.rpc\\.PublishedServerEventHandlerRpcHandler\\$HandlerMethod",
                 "com\\.vaadin\\.flow\\.server\\.communication\\.JavaScriptBootstrapHandler(\\$.*)?",
                 "com\\.vaadin\\.flow\\.templatemodel\\.PathLookup",
                 "com\\.vaadin\\.flow\\.server\\.startup\\.ErrorNavigationTargetInitializer",
@@ -179,6 +187,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.dom\\.ElementFactory",
                 "com\\.vaadin\\.flow\\.dom\\.NodeVisitor",
                 "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeList(\\$.*)?",
+                "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeListDiff(\\$.*)?",
                 "com\\.vaadin\\.flow\\.templatemodel\\.PropertyFilter",
                 "com\\.vaadin\\.flow\\.internal\\.ReflectTools(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.FutureAccess",
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.uitest.ui;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebInitParam;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.NativeButton;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+/**
+ * Servlet with pipelined RPC enabled which delays each UIDL request by a
+ * random time, so that concurrent requests reach the UI out of order.
+ */
+@WebServlet(urlPatterns = "/pipelined-rpc/*", initParams = @WebInitParam(
+        name = InitParameters.SERVLET_PARAMETER_PIPELINED_RPC, value = "true"))
+public class PipelinedRpcServlet extends VaadinServlet {
+
+    private static final int MIN_LATENCY = 100;
+    private static final int MAX_LATENCY = 300;
+
+    @Route("pipelined-rpc-view")
+    public static class PipelinedRpcView extends Div {
+        public static final int BUTTONS = 10;
+
+        public PipelinedRpcView() {
+            Div log = new Div();
+            log.setId("log");
+            for (int i = 0; i < BUTTONS; i++) {
+                String index = String.valueOf(i);
+                NativeButton button = new NativeButton(index,
+                        event -> log.add(new Span(index)));
+                button.setId("button-" + i);
+                add(button);
+            }
+            add(log);
+        }
+    }
+
+    @Override
+    protected void service(HttpServletRequest request,
+            HttpServletResponse response)
+            throws ServletException, IOException {
+        if (ApplicationConstants.REQUEST_TYPE_UIDL.equals(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(MIN_LATENCY,
+                        MAX_LATENCY));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.service(request, response);
+    }
+}
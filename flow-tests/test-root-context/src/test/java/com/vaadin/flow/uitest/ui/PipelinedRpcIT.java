@@ -0,0 +1,57 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.vaadin.flow.uitest.ui;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import com.vaadin.flow.testutil.ChromeBrowserTest;
+import com.vaadin.flow.uitest.ui.PipelinedRpcServlet.PipelinedRpcView;
+
+public class PipelinedRpcIT extends ChromeBrowserTest {
+
+    @Override
+    protected String getTestPath() {
+        return "/pipelined-rpc/pipelined-rpc-view";
+    }
+
+    @Test
+    public void clickButtonsRapidly_eventsHandledInClickOrder() {
+        open();
+
+        for (int i = 0; i < PipelinedRpcView.BUTTONS; i++) {
+            findElement(By.id("button-" + i)).click();
+        }
+
+        waitUntil(driver -> findElement(By.id("log"))
+                .findElements(By.tagName("span"))
+                .size() == PipelinedRpcView.BUTTONS);
+
+        List<String> log = findElement(By.id("log"))
+                .findElements(By.tagName("span")).stream()
+                .map(WebElement::getText).collect(Collectors.toList());
+        Assert.assertEquals(IntStream.range(0, PipelinedRpcView.BUTTONS)
+                .mapToObj(String::valueOf).collect(Collectors.toList()), log);
+        checkLogsForErrors();
+    }
+}